@@ -0,0 +1,168 @@
+/**
+ *+
+ *	ADateBench.java
+ *	1.0.0  2026-10-17  Leo Hinterlang
+ *-
+ */
+package com.fidelis.valface.bench;
+
+import java.nio.charset.Charset;
+import java.util.BitSet;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fidelis.valface.ADate;
+import com.fidelis.valface.ADateTime;
+import com.fidelis.valface.AFormat;
+import com.fidelis.valface.ATime;
+
+/**
+ * Day number conversions, ISO parsing, formatting with and without a compiled format, date-time
+ * comparison and arithmetic and the current date and time.
+ * The day numbers cycle over four centuries so that the conversions are
+ * not measured for a single, well predicted date.
+ *
+ * @version 1.0.0
+ * @author Leo Hinterlang
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ADateBench {
+	
+	private static final int CYCLE = 146097;
+	private static final int COUNT = 1024;
+	
+	private int[] days = new int[COUNT];
+	private ADate[] dates = new ADate[COUNT];
+	private ADateTime[] dateTimes = new ADateTime[COUNT];
+	private int index;
+	private ADate date;
+	private ATime time;
+	private AFormat dateFormat = ADate.compileFormat("year-mo-da");
+	private AFormat timeFormat = ATime.compileFormat("hh:mm:ss nano");
+	private StringBuilder sb = new StringBuilder(40);
+	private String line = "id=42,at=2014-09-18T14:37:49.987654321,ok";
+	private byte[] column;
+	private int[] starts = new int[COUNT];
+	private int[] ends = new int[COUNT];
+	private int[] columnDays = new int[COUNT];
+	private BitSet invalid = new BitSet(COUNT);
+	
+	@Setup
+	public void setUp () {
+		int firstDay = ADate.of(1800, 1, 1).getDays();
+		for (int n = 0; n < COUNT; n++) {
+			days[n] = firstDay + (int) ((n * 7919L) % CYCLE);
+			dates[n] = ADate.fromDays(days[n]);
+			dateTimes[n] = ADateTime.of(dates[n], ATime.ofSecondOfDay((n * 7919L) % 86400));
+		}
+		StringBuilder csv = new StringBuilder();
+		for (int n = 0; n < COUNT; n++) {
+			starts[n] = csv.length();
+			csv.append(dates[n]);
+			ends[n] = csv.length();
+			csv.append(',');
+		}
+		column = csv.toString().getBytes(Charset.forName("ISO-8859-1"));
+		date = ADate.of(2014, 9, 18);
+		time = ATime.of(14, 37, 49, 987654321);
+	}
+	
+	@Benchmark
+	public ADate fromDays () {
+		index = (index + 1) & (COUNT - 1);
+		return ADate.fromDays(days[index]);
+	}
+	
+	@Benchmark
+	public int getDays () {
+		index = (index + 1) & (COUNT - 1);
+		return dates[index].getDays();
+	}
+	
+	@Benchmark
+	public String formatDate () {
+		return date.format("year-mo-da");
+	}
+	
+	@Benchmark
+	public String formatDateText () {
+		return date.format("dowName, monthName Day, year");
+	}
+	
+	@Benchmark
+	public String formatTime () {
+		return time.format("hh:mm:ss nano");
+	}
+	
+	@Benchmark
+	public int formatDateCompiled () {
+		sb.setLength(0);
+		dateFormat.formatTo(date, sb);
+		return sb.length();
+	}
+	
+	@Benchmark
+	public int formatTimeCompiled () {
+		sb.setLength(0);
+		timeFormat.formatTo(time, sb);
+		return sb.length();
+	}
+	
+	@Benchmark
+	public ADate parseDate () {
+		return ADate.parse("2014-09-18");
+	}
+	
+	@Benchmark
+	public ATime parseTime () {
+		return ATime.parse("14:37:49.987654321");
+	}
+	
+	@Benchmark
+	public ADateTime parseDateTimeRange () {
+		return ADateTime.parse(line, 9, 38);
+	}
+	
+	@Benchmark
+	public int parseDaysColumn () {
+		return ADate.parseDays(column, starts, ends, COUNT, columnDays, invalid);
+	}
+	
+	@Benchmark
+	public int compareDateTime () {
+		index = (index + 1) & (COUNT - 1);
+		return dateTimes[index].compareTo(dateTimes[(index + 1) & (COUNT - 1)]);
+	}
+	
+	@Benchmark
+	public ADateTime plusMinutesDateTime () {
+		index = (index + 1) & (COUNT - 1);
+		return dateTimes[index].plusMinutes(index * 37 - 10000);
+	}
+	
+	@Benchmark
+	public ADate today () {
+		return ADate.now();
+	}
+	
+	@Benchmark
+	public ATime timeOfDay () {
+		return ATime.now();
+	}
+	
+}
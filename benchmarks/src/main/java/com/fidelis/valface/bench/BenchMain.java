@@ -0,0 +1,35 @@
+/**
+ *+
+ *	BenchMain.java
+ *	1.0.0  2026-10-17  Leo Hinterlang
+ *-
+ */
+package com.fidelis.valface.bench;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.openjdk.jmh.Main;
+
+/**
+ * Runs the valFace benchmarks.
+ * The arguments are those of the JMH command line. Unless another profiler
+ * is named, the GC profiler is added so that the allocation rate of each
+ * benchmark is reported along with its time.
+ *
+ * @version 1.0.0
+ * @author Leo Hinterlang
+ */
+public class BenchMain {
+	
+	public static void main (String... args) throws Exception {
+		List<String> list = new ArrayList<String>(Arrays.asList(args));
+		if (! list.contains("-prof")) {
+			list.add("-prof");
+			list.add("gc");
+		}
+		Main.main(list.toArray(new String[list.size()]));
+	}
+	
+}
@@ -0,0 +1,71 @@
+/**
+ *+
+ *	ValDataBench.java
+ *	1.0.0  2026-10-17  Leo Hinterlang
+ *-
+ */
+package com.fidelis.valface.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fidelis.valface.ValData;
+import com.fidelis.valface.ValType;
+
+/**
+ * Parsing of a value for each kind of definition type.
+ * The parse of text that is not valid is measured as well since that is
+ * the common case when validating untrusted input.
+ *
+ * @version 1.0.0
+ * @author Leo Hinterlang
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValDataBench {
+	
+	@Param({ "STRING", "INT", "LONG", "DOUBLE", "DATE", "TIME", "DATETIME" })
+	private ValType type;
+	
+	private String valid;
+	private String invalid;
+	
+	@Setup
+	public void setUp () {
+		switch (type) {
+		case INT:		valid = "4700";					invalid = "47x0";		break;
+		case LONG:		valid = "0x7FFFFFFF";			invalid = "0x7FFFFFFG";	break;
+		case DOUBLE:	valid = "1.25";					invalid = "1.2.5";		break;
+		case DATE:		valid = "2014-09-18";			invalid = "2014-02-30";	break;
+		case TIME:		valid = "10:30:00.999999999";	invalid = "25:30";		break;
+		case DATETIME:	valid = "2014-09-18T10:30";		invalid = "2014-09-18";	break;
+		default:		valid = "three";				invalid = null;			break;
+		}
+	}
+	
+	@Benchmark
+	public ValData parse () {
+		return ValData.parse(type, valid);
+	}
+	
+	@Benchmark
+	public ValData tryParseInvalid () {
+		return (invalid == null) ? null : ValData.tryParse(type, invalid);
+	}
+	
+}
@@ -0,0 +1,62 @@
+/**
+ *+
+ *	ValDateParserBench.java
+ *	1.0.0  2026-10-17  Leo Hinterlang
+ *-
+ */
+package com.fidelis.valface.bench;
+
+import java.util.Calendar;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fidelis.valface.ATime;
+import com.fidelis.valface.ValDateParser;
+import com.fidelis.valface.ValTimeParser;
+
+/**
+ * Parsing of absolute and relative date and time specifications.
+ *
+ * @version 1.0.0
+ * @author Leo Hinterlang
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValDateParserBench {
+	
+	@State(Scope.Benchmark)
+	public static class DateSpec {
+		@Param({ "2014-09-18", "today.minus.100.years", "next.month", "end.2025.June" })
+		private String dateSpec;
+	}
+	
+	@State(Scope.Benchmark)
+	public static class TimeSpec {
+		@Param({ "10:30:00.999999999", "noon.plus.6.hours" })
+		private String timeSpec;
+	}
+	
+	@Benchmark
+	public Calendar parseDate (DateSpec spec) {
+		return ValDateParser.parse(spec.dateSpec);
+	}
+	
+	@Benchmark
+	public ATime parseTime (TimeSpec spec) {
+		return ValTimeParser.parse(spec.timeSpec);
+	}
+	
+}
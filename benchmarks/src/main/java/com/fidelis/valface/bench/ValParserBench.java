@@ -0,0 +1,83 @@
+/**
+ *+
+ *	ValParserBench.java
+ *	1.0.0  2026-10-17  Leo Hinterlang
+ *-
+ */
+package com.fidelis.valface.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fidelis.valface.ValParser;
+
+/**
+ * Parsing of the validation text.
+ * The small specification is that of the sample program. The large one
+ * has two hundred definitions of every kind of item.
+ *
+ * @version 1.0.0
+ * @author Leo Hinterlang
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValParserBench {
+	
+	private static final String smallSpec =
+		"Values: " +
+			"<name> String ignoreCase = one | two | three | four | five; " +
+			"<value> int = 1 .. 99 | 101,000 | 201.8 | 301 | 4700 | 0xFF | #ABCDEF | 0376; " +
+			"<regex> String = @^[a-z]\\w*$ | true | false; " +
+			"-a Date = today.minus.100.years .. today.plus.1.month | 1980.plus.1.month | 2014; " +
+			"-t Time = noon .. noon.plus.6.hours | 10:30:00.999999999 | noon.nano.234;";
+	
+	private String largeSpec;
+	
+	@Setup
+	public void setUp () {
+		StringBuilder sb = new StringBuilder("Values:");
+		for (int n = 0; n < 40; n++) {
+			sb.append(" <name").append(n).append("> String ignoreCase =");
+			for (int i = 0; i < 10; i++) {
+				sb.append(i == 0 ? " " : " | ").append("word").append(n).append('x').append(i);
+			}
+			sb.append(';');
+			sb.append(" <value").append(n).append("> int = ")
+				.append(n).append(" .. ").append(n + 99).append(" | 101,000 | 0xFF;");
+			sb.append(" <regex").append(n).append("> String = @^[a-z]\\w*").append(n).append("$ | none;");
+			sb.append(" <date").append(n).append("> Date = today.minus.").append(n + 1)
+				.append(".years .. today | 2014-09-18;");
+			sb.append(" <time").append(n).append("> Time = noon .. noon.plus.")
+				.append(n % 11 + 1).append(".hours | 10:30;");
+		}
+		largeSpec = sb.toString();
+		if (! parseSmall() || ! parseLarge()) {
+			throw new IllegalStateException("Bad validation text");
+		}
+	}
+	
+	@Benchmark
+	public boolean parseSmall () {
+		return new ValParser().parse(smallSpec);
+	}
+	
+	@Benchmark
+	public boolean parseLarge () {
+		return new ValParser().parse(largeSpec);
+	}
+	
+}
@@ -0,0 +1,130 @@
+/**
+ *+
+ *	ValSchemaBench.java
+ *	1.0.0  2026-10-17  Leo Hinterlang
+ *-
+ */
+package com.fidelis.valface.bench;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fidelis.valface.ValBatch;
+import com.fidelis.valface.ValResult;
+import com.fidelis.valface.ValSchema;
+
+/**
+ * Fetching every value of a 300 definition result by name, by slot and
+ * as a primitive int by slot, and validating the values by name, in slot
+ * order, and as a batch of 100 records.
+ *
+ * @version 1.0.0
+ * @author Leo Hinterlang
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValSchemaBench {
+	
+	private static final int COUNT = 300;
+	private static final int RECORDS = 100;
+	
+	private ValSchema schema;
+	private ValResult result;
+	private String[] names = new String[COUNT];
+	private String[] values = new String[COUNT];
+	private Map<String, String> valueMap = new HashMap<String, String>();
+	private int[] slots;
+	private String[][] records = new String[RECORDS][];
+	
+	@Setup
+	public void setUp () {
+		String[] text = new String[COUNT + 1];
+		text[0] = "Values:";
+		for (int n = 0; n < COUNT; n++) {
+			names[n] = "<field" + n + ">";
+			text[n + 1] = names[n] + " int = 0 .. 1000;";
+			values[n] = String.valueOf(n);
+			valueMap.put(names[n], values[n]);
+		}
+		schema = ValSchema.compile(text);
+		result = schema.validate(values);
+		slots = schema.indexOf(names);
+		for (int n = 0; n < RECORDS; n++) {
+			records[n] = values;
+		}
+	}
+	
+	@Benchmark
+	public int fetchByName () {
+		int valid = 0;
+		for (String name : names) {
+			if (result.getData(name) != null) {
+				++valid;
+			}
+		}
+		return valid;
+	}
+	
+	@Benchmark
+	public int fetchBySlot () {
+		int valid = 0;
+		for (int slot : slots) {
+			if (result.getData(slot) != null) {
+				++valid;
+			}
+		}
+		return valid;
+	}
+	
+	@Benchmark
+	public long fetchIntBySlot () {
+		long sum = 0;
+		for (int slot : slots) {
+			sum += result.getInt(slot, 0);
+		}
+		return sum;
+	}
+	
+	@Benchmark
+	public ValResult validateByName () {
+		return schema.validate(valueMap);
+	}
+	
+	@Benchmark
+	public ValResult validateBySlot () {
+		return schema.validate(values);
+	}
+	
+	@Benchmark
+	public int validateRecords () {
+		int valid = 0;
+		for (String[] record : records) {
+			if (schema.validate(record).isValid()) {
+				++valid;
+			}
+		}
+		return valid;
+	}
+	
+	@Benchmark
+	public ValBatch validateBatch () {
+		return schema.validateBatch(records);
+	}
+	
+}
@@ -0,0 +1,103 @@
+/**
+ *+
+ *	ValidateBench.java
+ *	1.0.0  2026-10-17  Leo Hinterlang
+ *-
+ */
+package com.fidelis.valface.bench;
+
+import java.util.Calendar;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fidelis.argface.ArgFace;
+import com.fidelis.argface.ArgPrototype;
+import com.fidelis.valface.ATime;
+import com.fidelis.valface.ValPrototype;
+
+/**
+ * Validation of a value for each kind of definition.
+ * The values come from an {@code ArgFace} as they do in the sample
+ * program and the valid values are set in the model.
+ *
+ * @version 1.0.0
+ * @author Leo Hinterlang
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidateBench {
+	
+	private final String[] usageText = {
+			"Usage:",
+				"ValidateBench <value>"
+	};
+	
+	@Param({ "string", "int", "date", "pattern", "time" })
+	private String kind;
+	
+	private String name;
+	private Integer number;
+	private Calendar date;
+	private ATime time;
+	
+	private ArgFace argFace;
+	private String valText;
+	private ValPrototype valFace;
+	
+	@Setup
+	public void setUp () {
+		String def;
+		String value;
+		if (kind.equals("string")) {
+			def = "String name = one | two | three | four | five";
+			value = "four";
+		} else if (kind.equals("int")) {
+			def = "int number = 1 .. 99 | 101,000 | 301 | 4700 | 0xFF";
+			value = "4700";
+		} else if (kind.equals("date")) {
+			def = "Date date = today.minus.100.years .. today.plus.1.month | 2014";
+			value = "1980-05-17";
+		} else if (kind.equals("pattern")) {
+			def = "Date date = @MM/dd/yyyy | @dd-MMM-yyyy | @yyyy-MM-dd";
+			value = "1980-05-17";
+		} else {
+			def = "Time time = midnight .. noon.plus.6.hours | 22:30:00.999999999";
+			value = "14:15";
+		}
+		argFace = ArgPrototype.create(usageText, this);
+		if (argFace == null || argFace.parse(value) < 0) {
+			throw new IllegalStateException("Bad usage for: " + kind);
+		}
+		valText = "Values: <value> " + def + ";";
+		valFace = ValPrototype.create(valText, this);
+		if (valFace == null || ! valFace.validate(argFace)) {
+			throw new IllegalStateException("Bad validation for: " + kind);
+		}
+	}
+	
+	@Benchmark
+	public boolean validate () {
+		return valFace.validate(argFace);
+	}
+	
+	@Benchmark
+	public ValPrototype create () {
+		return ValPrototype.create(valText, this);
+	}
+	
+}
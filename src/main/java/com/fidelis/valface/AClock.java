@@ -0,0 +1,264 @@
+/**
+ *+
+ *	AClock.java
+ *	1.0.0  2026-10-17  Leo Hinterlang
+ *-
+ */
+package com.fidelis.valface;
+
+import java.util.TimeZone;
+
+/**
+ * The source of the current date and time for {@link ADate#now()} and {@link ATime#now()}.
+ * <p>
+ * The clock in use is selected with {@link #set(AClock) set}. It is the system clock unless
+ * another clock is set. A fixed clock is used to test code that depends on the current date
+ * or time. Any other source may be supplied by extending this class.
+ * <p>
+ * The system clock derives the date and time from {@code System.currentTimeMillis} and a time zone
+ * without creating a {@code Calendar}. The current day and the zone offset are cached. They are
+ * computed again only when the time passes midnight or a change of the zone offset.
+ *
+ * @version 1.0.0
+ * @author Leo Hinterlang
+ */
+public abstract class AClock {
+	
+	private static final AClock SYSTEM = new SystemClock(TimeZone.getDefault());
+	
+	private static volatile AClock current = SYSTEM;
+	
+	/**
+	 * Returns the current date of this clock.
+	 *
+	 * @return the current date
+	 */
+	public abstract ADate today ();
+	
+	/**
+	 * Returns the current time of day of this clock.
+	 *
+	 * @return the current time of day
+	 */
+	public abstract ATime time ();
+	
+	/**
+	 * Returns the clock in use.
+	 *
+	 * @return the clock used for the current date and time
+	 */
+	public static AClock get () {
+		return current;
+	}
+	
+	/**
+	 * Sets the clock to use for the current date and time.
+	 * A {@code null} clock restores the system clock.
+	 *
+	 * @param clock the clock to use
+	 */
+	public static void set (AClock clock) {
+		current = (clock == null) ? SYSTEM : clock;
+	}
+	
+	/**
+	 * Returns the system clock for the default time zone.
+	 * The time zone is the default when this class is loaded.
+	 *
+	 * @return the system clock
+	 */
+	public static AClock system () {
+		return SYSTEM;
+	}
+	
+	/**
+	 * Returns a system clock for the specified time zone.
+	 *
+	 * @param zone the time zone
+	 * @return a new system clock
+	 */
+	public static AClock system (TimeZone zone) {
+		return new SystemClock((TimeZone) zone.clone());
+	}
+	
+	/**
+	 * Returns a clock that always reports the same date and time.
+	 *
+	 * @param date the date to report
+	 * @param time the time of day to report
+	 * @return a new fixed clock
+	 */
+	public static AClock fixed (ADate date, ATime time) {
+		if (date == null || time == null) {
+			throw new IllegalArgumentException("Fixed clock requires a date and a time");
+		}
+		return new FixedClock(date, time);
+	}
+	
+	/**
+	 * Sets or clears a test value for the current date.
+	 * The current time of day is unchanged.
+	 *
+	 * @param date the test date or {@code null} to clear it
+	 */
+	static synchronized void setTestDate (ADate date) {
+		TestClock test = (current instanceof TestClock) ? (TestClock) current : null;
+		setTest(test, date, (test == null) ? null : test.time);
+	}
+	
+	/**
+	 * Sets or clears a test value for the current time of day.
+	 * The current date is unchanged.
+	 *
+	 * @param time the test time or {@code null} to clear it
+	 */
+	static synchronized void setTestTime (ATime time) {
+		TestClock test = (current instanceof TestClock) ? (TestClock) current : null;
+		setTest(test, (test == null) ? null : test.date, time);
+	}
+	
+	private static void setTest (TestClock test, ADate date, ATime time) {
+		AClock base = (test == null) ? current : test.base;
+		if (date == null && time == null) {
+			current = base;
+		} else {
+			current = new TestClock(base, date, time);
+		}
+	}
+	
+	/**
+	 * A clock that always reports the same date and time.
+	 */
+	private static final class FixedClock extends AClock {
+		private final ADate date;
+		private final ATime time;
+		
+		FixedClock (ADate date, ATime time) {
+			this.date = date;
+			this.time = time;
+		}
+		
+		public ADate today () {
+			return date;
+		}
+		
+		public ATime time () {
+			return time;
+		}
+	}
+	
+	/**
+	 * A clock set by the {@code nowTestSet} methods of {@link ADate} and {@link ATime}.
+	 * It reports a test date or time. A field without a test value is taken from a base clock.
+	 */
+	private static final class TestClock extends AClock {
+		private final AClock base;
+		private final ADate date;
+		private final ATime time;
+	
+		TestClock (AClock base, ADate date, ATime time) {
+			this.base = base;
+			this.date = date;
+			this.time = time;
+		}
+	
+		public ADate today () {
+			return (date != null) ? date : base.today();
+		}
+	
+		public ATime time () {
+			return (time != null) ? time : base.time();
+		}
+	}
+	
+	/**
+	 * The clock based on {@code System.currentTimeMillis} and a time zone.
+	 */
+	static final class SystemClock extends AClock {
+		private static final long NANOS_MILLI = 1000000L;
+	
+		private final TimeZone zone;
+		private volatile Day day;
+	
+		SystemClock (TimeZone zone) {
+			this.zone = zone;
+		}
+	
+		public ADate today () {
+			return today(System.currentTimeMillis());
+		}
+	
+		public ATime time () {
+			return time(System.currentTimeMillis());
+		}
+	
+		ADate today (long millis) {
+			return day(millis).date;
+		}
+	
+		ATime time (long millis) {
+			Day d = day(millis);
+			return ATime.ofNanoOfDay((millis + d.offset - d.localStart) * NANOS_MILLI);
+		}
+	
+		/**
+		 * Returns the cached day if it covers the time, otherwise computes the day.
+		 */
+		private Day day (long millis) {
+			Day d = day;
+			if (d == null || millis < d.from || millis >= d.until) {
+				d = new Day(zone, millis);
+				day = d;
+			}
+			return d;
+		}
+	}
+	
+	/**
+	 * A local day of a time zone: the range of times with the same date and zone offset.
+	 * The range ends at midnight or where the zone offset changes.
+	 */
+	static final class Day {
+		private static final long MILLIS_DAY = 24 * 60 * 60 * 1000L;
+	
+		final long from;
+		final long until;
+		final int offset;
+		final long localStart;
+		final ADate date;
+	
+		Day (TimeZone zone, long millis) {
+			offset = zone.getOffset(millis);
+			long local = millis + offset;
+			long days = local / MILLIS_DAY;
+			if (local % MILLIS_DAY < 0) {
+				--days;
+			}
+			localStart = days * MILLIS_DAY;
+			long start = localStart - offset;
+			from = (zone.getOffset(start) == offset) ? start : change(zone, start, millis);
+			long end = localStart + MILLIS_DAY - offset;
+			until = (zone.getOffset(end - 1) == offset) ? end : change(zone, millis, end - 1);
+			date = ADate.fromDays((int) (days + ADate.EPOCH_DAY));
+		}
+	
+		/**
+		 * Finds the first time at which the zone offset is the same as at {@code millis}
+		 * or the first time after it where the offset differs, depending on which end
+		 * of the range has the other offset. A binary search between the two times.
+		 */
+		private long change (TimeZone zone, long low, long high) {
+			boolean lowSame = zone.getOffset(low) == offset;
+			while (high - low > 1) {
+				long mid = low + (high - low) / 2;
+				if ((zone.getOffset(mid) == offset) == lowSame) {
+					low = mid;
+				} else {
+					high = mid;
+				}
+			}
+			return high;
+		}
+	}
+	
+}
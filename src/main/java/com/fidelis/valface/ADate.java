@@ -6,6 +6,8 @@
  */
 package com.fidelis.valface;
 
+import java.nio.CharBuffer;
+import java.util.BitSet;
 import java.util.Calendar;
 import java.util.Date;
 
@@ -61,7 +63,21 @@ public class ADate implements Comparable<ADate> {
 	private static String [ ] dowNames = {
 			"Mon", "Tue", "Wed", "Thu", "Fri", "Sat", "Sun"
 	};
-	private static ADate nowTest = null;
+	/** The number of days in each 400 year cycle of the calendar. */
+	private static final int DAYS_PER_ERA = 146097;
+	
+	/** The day number of March 1, 0000. */
+	private static final int MARCH_1 = 61;
+	
+	/** The day number of January 1, 0000, the first day of the timeline. */
+	public static final int MIN_DAYS = 1;
+	
+	/** The day number of December 31, 9999, the last day of the timeline. */
+	public static final int MAX_DAYS = 3652425;
+	
+	/** The day number of January 1, 1970. */
+	static final int EPOCH_DAY = 719529;
+	
 	private int year;
 	private int month;
 	private int day;
@@ -74,15 +90,12 @@ public class ADate implements Comparable<ADate> {
 	
 	/**
 	 * Produces an instance of {@code ADate} that is set to the current date.
-	 * The current date is retrieved from the system and used to set the year, month and day components.
+	 * The current date is retrieved from the clock in use, see {@link AClock}.
 	 * 
-	 * @return a new instance of {@code ADate} representing the current date.
+	 * @return an instance of {@code ADate} representing the current date.
 	 */
 	public static ADate now () {
-		if (nowTest != null) {
-			return nowTest;
-		}
-		return getNow();
+		return AClock.get().today();
 	}
 	
 	/**
@@ -91,9 +104,11 @@ public class ADate implements Comparable<ADate> {
 	 * 
 	 * @param now the date to set for testing
 	 * @see #nowTestClear
+	 * @deprecated Use {@link AClock#set(AClock)} with a fixed clock.
 	 */
+	@Deprecated
 	public static void nowTestSet (ADate now) {
-		nowTest = now;
+		AClock.setTestDate(now);
 	}
 	
 	/**
@@ -102,9 +117,11 @@ public class ADate implements Comparable<ADate> {
 	 * method.
 	 * 
 	 * @see #nowTestSet
+	 * @deprecated Use {@link AClock#set(AClock)} to restore the system clock.
 	 */
+	@Deprecated
 	public static void nowTestClear () {
-		nowTest = null;
+		AClock.setTestDate(null);
 	}
 	
 	/**
@@ -168,61 +185,275 @@ public class ADate implements Comparable<ADate> {
 	 * @throws IllegalArgumentException if the specified date String is not valid.
 	 */
 	public static ADate parse (String dateString) throws IllegalArgumentException {
-		boolean status = true;
-		String y = null;
-		String m = null;
-		String d = null;
-		if (dateString.contains("-")) {
-			String [ ] parts = dateString.split("\\-");
-			if (parts.length == 3) {
-				y = parts[0];
-				m = parts[1];
-				d = parts[2];
+		return parse(dateString, 0, dateString.length(), true);
+	}
+	
+	/**
+	 * Produces an instance of {@code ADate} from a range of characters.
+	 * The characters take the same forms as for {@link #parse(String)}.
+	 * This allows a date to be parsed from a buffer without first creating a String.
+	 * 
+	 * @param text the characters that specify the date components.
+	 * @param start the index of the first character.
+	 * @param end the index following the last character.
+	 * @return a new instance of {@code ADate}.
+	 * @throws IllegalArgumentException if the specified characters are not a valid date.
+	 * @throws IndexOutOfBoundsException if the range is not within the characters.
+	 */
+	public static ADate parse (CharSequence text, int start, int end) throws IllegalArgumentException {
+		return parse(text, start, end, true);
+	}
+	
+	/**
+	 * Produces an instance of {@code ADate} from the specified String without throwing.
+	 * The date String takes the same forms as for {@link #parse(String)}.
+	 * Instead of an exception, the value null is returned if the String is not valid.
+	 * 
+	 * @param dateString the String that specifies the date components.
+	 * @return a new instance of {@code ADate} or null if the String is not valid.
+	 */
+	public static ADate tryParse (String dateString) {
+		return parse(dateString, 0, dateString.length(), false);
+	}
+	
+	/**
+	 * Produces an instance of {@code ADate} from a range of characters without throwing.
+	 * The characters take the same forms as for {@link #parse(String)}.
+	 * 
+	 * @param text the characters that specify the date components.
+	 * @param start the index of the first character.
+	 * @param end the index following the last character.
+	 * @return a new instance of {@code ADate} or null if the characters are not a valid date.
+	 * @throws IndexOutOfBoundsException if the range is not within the characters.
+	 */
+	public static ADate tryParse (CharSequence text, int start, int end) {
+		return parse(text, start, end, false);
+	}
+	
+	/**
+	 * Parses the date characters. An invalid date either throws
+	 * an exception or returns null according to the strict flag.
+	 * 
+	 * @param text the characters that specify the date components.
+	 * @param start the index of the first character.
+	 * @param end the index following the last character.
+	 * @param strict true to throw an exception for an invalid date.
+	 * @return a new instance of {@code ADate} or null if not strict and not valid.
+	 * @throws IllegalArgumentException if strict and the date is not valid.
+	 */
+	private static ADate parse (CharSequence text, int start, int end, boolean strict)
+			throws IllegalArgumentException {
+		checkRange(text, start, end);
+		ADate date = new ADate();
+		boolean status = scan(text, start, end, date);
+		if (status) {
+			if (strict) {
+				checkYear(date.year);
+				checkMonth(date.month);
+				checkDay(date.year, date.month, date.day);
 			} else {
-				status = false;
+				status = isValid(date.year, date.month, date.day);
 			}
-		} else if (dateString.contains(".")) {
-			String [ ] parts = dateString.split("\\.");
-			if (parts.length == 3) {
-				y = parts[0];
-				m = parts[1];
-				d = parts[2];
-			} else {
-				status = false;
+		}
+		if (! status) {
+			if (! strict) {
+				return null;
+			}
+			throw new IllegalArgumentException("Invalid date String: " + text.subSequence(start, end));
+		}
+		return date;
+	}
+	
+	/**
+	 * Scans the date characters in a single pass and sets the fields of a date
+	 * without checking their values.
+	 * <p>
+	 * The fields are separated by dashes or, if there are no dashes, by dots.
+	 * Separators at the end are ignored as they are by {@code String.split}.
+	 * Otherwise, the year, month and day are the first 8 characters.
+	 * 
+	 * @param text the characters that specify the date components.
+	 * @param start the index of the first character.
+	 * @param end the index following the last character.
+	 * @param date the date to receive the fields.
+	 * @return true if the characters have the form of a date.
+	 */
+	private static boolean scan (CharSequence text, int start, int end, ADate date) {
+		long yearNumber;
+		long monthNumber;
+		long dayNumber;
+		char separator = 0;
+		if (indexOf(text, start, end, '-') >= 0) {
+			separator = '-';
+		} else if (indexOf(text, start, end, '.') >= 0) {
+			separator = '.';
+		}
+		if (separator != 0) {
+			int last = end;
+			while (last > start && text.charAt(last - 1) == separator) {
+				--last;
+			}
+			int first = indexOf(text, start, last, separator);
+			int second = (first < 0) ? -1 : indexOf(text, first + 1, last, separator);
+			if (second < 0 || indexOf(text, second + 1, last, separator) >= 0) {
+				return false;
 			}
-		} else if (dateString.length() >= 8) {
-			y = dateString.substring(0, 4);
-			m = dateString.substring(4, 6);
-			d = dateString.substring(6, 8);
+			yearNumber = ValDigits.parseInt(text, start, first);
+			monthNumber = ValDigits.parseInt(text, first + 1, second);
+			dayNumber = ValDigits.parseInt(text, second + 1, last);
+		} else if (end - start >= 8) {
+			yearNumber = ValDigits.parseInt(text, start, start + 4);
+			monthNumber = ValDigits.parseInt(text, start + 4, start + 6);
+			dayNumber = ValDigits.parseInt(text, start + 6, start + 8);
 		} else {
-			status = false;
+			return false;
 		}
-		int yearValue = 0;
-		int monthValue = 0;
-		int dayValue = 0;
-		if (status) {
-			try {
-				yearValue = Integer.parseInt(y);
-				monthValue = Integer.parseInt(m);
-				dayValue = Integer.parseInt(d);
-			} catch (NumberFormatException ex) {
-				status = false;
+		if (yearNumber == ValDigits.NONE || monthNumber == ValDigits.NONE ||
+				dayNumber == ValDigits.NONE) {
+			return false;
+		}
+		date.year = (int) yearNumber;
+		date.month = (int) monthNumber;
+		date.day = (int) dayNumber;
+		return true;
+	}
+	
+	/**
+	 * Parses a date from a range of characters to a day number.
+	 * The characters take the same forms as for {@link #parse(String)}.
+	 * No {@code ADate} is returned for the date. The result is the value that
+	 * {@link #getDays() getDays} would return for it.
+	 * 
+	 * @param text the characters that specify the date components.
+	 * @param start the index of the first character.
+	 * @param end the index following the last character.
+	 * @return the number of days since the start of the timeline or 0 if the date is not valid.
+	 * @throws IndexOutOfBoundsException if the range is not within the characters.
+	 */
+	public static int parseDays (CharSequence text, int start, int end) {
+		checkRange(text, start, end);
+		return parseDays(text, start, end, new ADate());
+	}
+	
+	/**
+	 * Parses a column of dates to day numbers.
+	 * Each value takes the same forms as for {@link #parse(String)}.
+	 * The day number of each valid date is stored in the corresponding element of
+	 * {@code days}. An invalid date, including a null value, stores 0 and sets the
+	 * corresponding bit of {@code invalid}. The bit of a valid date is cleared.
+	 * No object is created for a value.
+	 * 
+	 * @param values the date values.
+	 * @param days the array to receive the day numbers, at least as long as the values.
+	 * @param invalid the set of indexes of the values that are not valid dates.
+	 * @return the number of values that are not valid dates.
+	 */
+	public static int parseDays (CharSequence[] values, int[] days, BitSet invalid) {
+		ADate scratch = new ADate();
+		int failures = 0;
+		for (int n = 0; n < values.length; n++) {
+			CharSequence value = values[n];
+			int dayNumber = (value == null) ? 0 : parseDays(value, 0, value.length(), scratch);
+			days[n] = dayNumber;
+			invalid.set(n, dayNumber == 0);
+			if (dayNumber == 0) {
+				++failures;
 			}
 		}
-		if (status) {
-			checkYear(yearValue);
-			checkMonth(monthValue);
-			checkDay(yearValue, monthValue, dayValue);
+		return failures;
+	}
+	
+	/**
+	 * Parses a column of dates from a character buffer to day numbers.
+	 * Value {@code n} is the characters from {@code starts[n]} up to {@code ends[n]},
+	 * so the buffer may hold the values with any delimiters between them.
+	 * The results are stored as for {@link #parseDays(CharSequence[], int[], BitSet)}.
+	 * 
+	 * @param buffer the characters of the values.
+	 * @param starts the index of the first character of each value.
+	 * @param ends the index following the last character of each value.
+	 * @param count the number of values.
+	 * @param days the array to receive the day numbers.
+	 * @param invalid the set of indexes of the values that are not valid dates.
+	 * @return the number of values that are not valid dates.
+	 * @throws IndexOutOfBoundsException if a range is not within the buffer.
+	 */
+	public static int parseDays (char[] buffer, int[] starts, int[] ends, int count,
+			int[] days, BitSet invalid) {
+		return parseDays(CharBuffer.wrap(buffer), starts, ends, count, days, invalid);
+	}
+	
+	/**
+	 * Parses a column of dates from a byte buffer to day numbers.
+	 * Each byte is one ISO-8859-1 character, which includes all ASCII text.
+	 * The values are located and the results are stored as for
+	 * {@link #parseDays(char[], int[], int[], int, int[], BitSet)}.
+	 * 
+	 * @param buffer the bytes of the values.
+	 * @param starts the index of the first byte of each value.
+	 * @param ends the index following the last byte of each value.
+	 * @param count the number of values.
+	 * @param days the array to receive the day numbers.
+	 * @param invalid the set of indexes of the values that are not valid dates.
+	 * @return the number of values that are not valid dates.
+	 * @throws IndexOutOfBoundsException if a range is not within the buffer.
+	 */
+	public static int parseDays (byte[] buffer, int[] starts, int[] ends, int count,
+			int[] days, BitSet invalid) {
+		return parseDays(new ByteChars(buffer), starts, ends, count, days, invalid);
+	}
+	
+	private static int parseDays (CharSequence text, int[] starts, int[] ends, int count,
+			int[] days, BitSet invalid) {
+		ADate scratch = new ADate();
+		int failures = 0;
+		for (int n = 0; n < count; n++) {
+			int start = starts[n];
+			int end = ends[n];
+			checkRange(text, start, end);
+			int dayNumber = parseDays(text, start, end, scratch);
+			days[n] = dayNumber;
+			invalid.set(n, dayNumber == 0);
+			if (dayNumber == 0) {
+				++failures;
+			}
 		}
-		if (! status) {
-			throw new IllegalArgumentException("Invalid date String: " + dateString);
-		} else {
-			ADate date = new ADate();
-			date.year = yearValue;
-			date.month = monthValue;
-			date.day = dayValue;
-			return date;
+		return failures;
+	}
+	
+	/**
+	 * Parses a date to a day number using a scratch date for the fields.
+	 * 
+	 * @return the day number or 0 if the date is not valid.
+	 */
+	private static int parseDays (CharSequence text, int start, int end, ADate scratch) {
+		if (scan(text, start, end, scratch) && isValid(scratch.year, scratch.month, scratch.day)) {
+			return getDays(scratch.year, scratch.month, scratch.day);
+		}
+		return 0;
+	}
+	
+	/**
+	 * Checks that a range is within a sequence of characters.
+	 * 
+	 * @throws IndexOutOfBoundsException if the range is not valid.
+	 */
+	static void checkRange (CharSequence text, int start, int end) throws IndexOutOfBoundsException {
+		if (start < 0 || end > text.length() || start > end) {
+			throw new IndexOutOfBoundsException("Invalid range: " + start + " to " + end);
+		}
+	}
+	
+	/**
+	 * Returns the index of a character within a range or -1 if not found.
+	 */
+	private static int indexOf (CharSequence text, int from, int to, char c) {
+		for (int n = from; n < to; n++) {
+			if (text.charAt(n) == c) {
+				return n;
+			}
 		}
+		return -1;
 	}
 	
 	/**
@@ -305,6 +536,21 @@ public class ADate implements Comparable<ADate> {
 		return date;
 	}
 	
+	/**
+	 * Returns true if the year, month and day specify a valid date.
+	 * 
+	 * @param year the year number.
+	 * @param month the month number.
+	 * @param day the day of the month.
+	 * @return true if the date is valid.
+	 */
+	static boolean isValid (int year, int month, int day) {
+		if (0 > year || year > 9999 || 1 > month || month > 12) {
+			return false;
+		}
+		return 1 <= day && day <= lengthOfMonth(year, month);
+	}
+	
 	/**
 	 * Checks that a specified year value is valid.
 	 * If the year is outside the range 0 to 9999, an exception is thrown.
@@ -427,39 +673,12 @@ public class ADate implements Comparable<ADate> {
 	 * @throws IllegalArgumentException if the resulting date is not valid.
 	 */
 	public ADate plusDays (long days) throws IllegalArgumentException {
-		int dayValue = (int) (day + days);
-		ADate date = new ADate();
-		date.year = year;
-		date.month = month;
-		int max = lengthOfMonth(date.year, date.month);
-		if (1 <= dayValue && dayValue <= max) {
-			date.day = dayValue;
-		} else if (dayValue > max) {
-			int val = dayValue;
-			while (val > max) {
-				val -= max;
-				date.month++;
-				if (date.month > 12) {
-					date.year++;
-					date.month = 1;
-				}
-				max = lengthOfMonth(date.year, date.month);
-			}
-			date.day = val;
-		} else if (dayValue <= 0) {
-			int val = dayValue;
-			do {
-				if (--date.month == 0) {
-					date.month = 12;
-					date.year--;
-				}
-				max = lengthOfMonth(date.year, date.month);
-				val += max;
-			} while (val <= 0);
-			date.day = val;
+		long target = getDays() + Math.max(-Integer.MAX_VALUE, Math.min(Integer.MAX_VALUE, days));
+		if (target < 1 || target > MAX_DAYS) {
+			target = Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, target));
+			checkYear(fromDays((int) target).year);
 		}
-		checkYear(date.year);
-		return date;
+		return fromDays((int) target);
 	}
 	
 	public ADate minusYears (long years) {
@@ -520,21 +739,6 @@ public class ADate implements Comparable<ADate> {
 		return diff;
 	}
 
-	/**
-	 * Returns a new {@code ADate} instance set to the current date.
-	 * This method uses the Calendar.getInstance method to obtain the current date.
-	 * 
-	 * @return the current date.
-	 */
-	private static ADate getNow () {
-		Calendar today = Calendar.getInstance();
-		ADate date = new ADate();
-		date.year = today.get(Calendar.YEAR);
-		date.month = today.get(Calendar.MONTH) + 1;
-		date.day = today.get(Calendar.DAY_OF_MONTH);
-		return date;
-	}
-	
 	/**
 	 * Produces a new {@code ADate} instance from the number of days since the start of the timeline.
 	 * January 1, 0000 is day number 1.
@@ -806,125 +1010,26 @@ public class ADate implements Comparable<ADate> {
 		if (pattern == null) {
 			return toString();
 		}
-		
-		// Setup StringBuilder.
-		StringBuilder sb = new StringBuilder(40);
-		
-		// Pattern character loop.
-		boolean inText = false;
-		for (int n = 0; n < pattern.length(); n++) {
-			char c = pattern.charAt(n);
-			
-			// Already in angle bracket text.
-			if (inText) {
-				
-				// End of text. Reset flag and continue.
-				if (c == '>') {
-					inText = false;
-					continue;
-				}
-				
-				// Not end of text. Append char and continue.
-				else {
-					sb.append(c);
-					continue;
-				}
-			}
-			
-			// Char is not a letter.
-			if (! Character.isLetter(c)) {
-				
-				// Start of angle bracket text.
-				if (c == '<') {
-					inText = true;
-					continue;
-				}
-				
-				// Append non-letter char.
-				sb.append(c);
-			}
-			
-			// Char is a letter.
-			else {
-				
-				// Isolate start of possible keyword.
-				String kw = pattern.substring(n);
-				int len = keywordSubstitute(kw, sb);
-				
-				// Keyword match. Adjust index.
-				if (len != 0) {
-					n += len - 1;
-				}
-				
-				// Not a keyword match. Append the char.
-				else {
-					sb.append(c);
-				}
-			}
-		}
-		return sb.toString();
+		return compileFormat(pattern).format(this);
 	}
 	
-	int keywordSubstitute (String kw, StringBuilder sb) {
-		String[] keywords = {
-				"Year", "year", "yr", "Month", "monthName", "month", "mon", "mo",
-				"days", "Day", "day", "da", "dowName", "dow"
-		};		// the order of these must not be changed.
-		
-		int len = 0;
-		int m;
-		for (m = 0; m < keywords.length; m++) {
-			if (kw.startsWith(keywords[m])) {
-				len = keywords[m].length();
-				break;
-			}
-		}
-		
-		// Keyword match found.
-		if (len != 0) {
-
-			switch (m) {
-			case 0:		// Year
-				sb.append(String.format("%d", year));
-				break;
-			case 1:		// year
-				sb.append(String.format("%04d", year));
-				break;
-			case 2:		// yr
-				sb.append(String.format("%02d", year % 100));
-				break;
-			case 3:		// Month
-				sb.append(String.format("%d", month));
-				break;
-			case 4:		// monthName
-				sb.append(monthName());
-				break;
-			case 5:		// month
-			case 7:		// mo
-				sb.append(String.format("%02d", month));
-				break;
-			case 6:		// mon
-				sb.append(mon());
-				break;
-			case 8:		// days
-				sb.append(String.format("%d", getDays()));
-				break;
-			case 9:		// Day
-				sb.append(String.format("%d", day));
-				break;
-			case 10:	// day
-			case 11:	// da
-				sb.append(String.format("%02d", day));
-				break;
-			case 12:	// dowName
-				sb.append(dowName());
-				break;
-			case 13:	// dow
-				sb.append(dow());
-				break;
-			}
-		}
-		return len;
+	/**
+	 * Compiles a format pattern for repeated use.
+	 * The pattern keywords are those of {@link #format(String) format}.
+	 * The pattern is scanned once and the resulting format appends the fields
+	 * directly to a {@code StringBuilder} or other {@code Appendable}.
+	 * <p>
+	 * <b>Example:</b>
+	 * <p><blockquote>
+	 * {@code AFormat fmt = ADate.compileFormat("year-mo-da");}<br>
+	 * {@code fmt.formatTo(value, sb);}
+	 * </blockquote>
+	 * 
+	 * @param pattern the format pattern
+	 * @return the compiled format
+	 */
+	public static AFormat compileFormat (String pattern) {
+		return AFormat.compile(pattern, true, false);
 	}
 	
 	/**
@@ -948,16 +1053,73 @@ public class ADate implements Comparable<ADate> {
 	 * @return the number of days since the start of this timeline.
 	 */
 	public int getDays () {
-		int y = year - 1;
-		int days = (year * 365) + (y / 4) - (y / 100) + (y / 400);
-		if (year > 0) {
-			++days;
-		}
-		for (int mo = 1; mo < month; mo++) {
-			days += lengthOfMonth(year, mo);
+		return getDays(year, month, day);
+	}
+	
+	/**
+	 * Returns the number of days since the start of the timeline for the specified fields.
+	 * This is the value of {@link #getDays() getDays} for the date of these fields
+	 * but no {@code ADate} instance is created. The day number is a compact encoding
+	 * of a date in a single {@code int}. Day numbers compare as the dates do.
+	 * 
+	 * @param year the year value from 0 to 9999.
+	 * @param month the month value from 1 to 12.
+	 * @param day the day of the month from 1 to the length of the month.
+	 * @return the number of days since the start of the timeline.
+	 * @throws IllegalArgumentException if any of the fields are invalid.
+	 */
+	public static int toDays (int year, int month, int day) throws IllegalArgumentException {
+		checkYear(year);
+		checkMonth(month);
+		checkDay(year, month, day);
+		return getDays(year, month, day);
+	}
+	
+	/**
+	 * Compares this date with a date encoded as a day number.
+	 * The result is the same as comparing with {@code ADate.fromDays(days)}.
+	 * 
+	 * @param days the number of days since the start of the timeline.
+	 * @return an integer that is either less than, greater than, or equal to zero.
+	 */
+	public int compareToDays (int days) {
+		int diff = getDays();
+		return (diff < days) ? -1 : ((diff == days) ? 0 : 1);
+	}
+	
+	/**
+	 * Checks that a day number is within the timeline.
+	 * If the day number is outside the range of the years 0 to 9999, an exception is thrown.
+	 * 
+	 * @param days the day number
+	 * @throws IllegalArgumentException if the day number is out of range.
+	 */
+	static void checkDays (int days) throws IllegalArgumentException {
+		if (MIN_DAYS > days || days > MAX_DAYS) {
+			throw new IllegalArgumentException("Invalid day number specified: " + days +
+					" (" + MIN_DAYS + " .. " + MAX_DAYS + ")");
 		}
-		days += day;
-		return days;
+	}
+	
+	/**
+	 * Returns the number of days since the start of the timeline for a year, month and day.
+	 * The value is computed directly rather than by counting the days of each month.
+	 * Years are counted from March so that the leap day is the last day of a year.
+	 * A year of the 400 year cycle then begins with the number of days of the whole
+	 * years before it and the day of the year follows from the month by a linear formula.
+	 * 
+	 * @param year the year
+	 * @param month the month from 1 to 12
+	 * @param day the day of the month
+	 * @return the number of days since the start of the timeline.
+	 */
+	static int getDays (int year, int month, int day) {
+		int y = (month <= 2) ? year - 1 : year;
+		int era = ((y >= 0) ? y : y - 399) / 400;
+		int yearOfEra = y - era * 400;
+		int dayOfYear = (153 * ((month > 2) ? month - 3 : month + 9) + 2) / 5 + day - 1;
+		int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+		return era * DAYS_PER_ERA + dayOfEra + MARCH_1;
 	}
 	
 	/**
@@ -970,40 +1132,40 @@ public class ADate implements Comparable<ADate> {
 	 * @return a new {@code ADate} instance generated from the number of days.
 	 */
 	public static ADate fromDays (int days) {
-		int year = 0;
-		while (days > 146097) {			// 400 yrs
-			days -= 146097;
-			year += 400;
-		}
-		while (days > 36524) {			// 100 yrs
-			days -= 36524;
-			year += 100;
-		}
-		while (days > 1461) {				// 4 yrs
-			days -= 1461;
-			year += 4;
-		}
-		int len = lengthOfYear(year);
-		while (days > len) {						// each year
-			days -= len;
-			year++;
-			len = lengthOfYear(year);
-		}
-		int month = 1;
-		len = lengthOfMonth(year, month);
-		while (days > len) {
-			days -= len;
-			month++;
-			len = lengthOfMonth(year, month);
-		}
-		int day = days;
+		long civil = civilFromDays(days);
 		ADate date = new ADate();
-		date.year = year;
-		date.month = month;
-		date.day = day;
+		date.year = (int) (civil >> 9);
+		date.month = (int) (civil >> 5) & 0xF;
+		date.day = (int) civil & 0x1F;
 		return date;
 	}
 	
+	/**
+	 * Computes the year, month and day of a day number without creating an {@code ADate}.
+	 * The fields are packed as {@code (year << 9) | (month << 5) | day}.
+	 * 
+	 * @param days the number of days since the start of the timeline.
+	 * @return the packed year, month and day.
+	 */
+	static long civilFromDays (int days) {
+		
+		// Days since March 1 of the year zero, split into 400 year eras.
+		long marchDays = (long) days - MARCH_1;
+		long era = ((marchDays >= 0) ? marchDays : marchDays - (DAYS_PER_ERA - 1)) / DAYS_PER_ERA;
+		int dayOfEra = (int) (marchDays - era * DAYS_PER_ERA);
+		
+		// Year of the era, correcting for the leap days of 4, 100 and 400 year cycles.
+		int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+		int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+		
+		// Month counted from March, then the day of the month.
+		int marchMonth = (5 * dayOfYear + 2) / 153;
+		int day = dayOfYear - (153 * marchMonth + 2) / 5 + 1;
+		int month = (marchMonth < 10) ? marchMonth + 3 : marchMonth - 9;
+		long year = era * 400 + yearOfEra + ((month <= 2) ? 1 : 0);
+		return (year << 9) | (month << 5) | day;
+	}
+	
 	/**
 	 * Returns this date in the form "year-mo-da".
 	 * The year is 4 digits, the month is 2 digits, and the day is 2 digits.
@@ -0,0 +1,204 @@
+/**
+ *+
+ *	ADateArray.java
+ *	1.0.0  2026-10-17  Leo Hinterlang
+ *-
+ */
+package com.fidelis.valface;
+
+import java.util.Arrays;
+
+/**
+ * A growable list of dates held as day numbers in a single {@code int} array.
+ * <p>
+ * Each date is stored as the value of {@link ADate#getDays() getDays}, the number of
+ * days since the start of the timeline. No {@code ADate} object is kept for an element.
+ * The fields of an element are computed from its day number when they are requested
+ * and an {@code ADate} is only created by {@link #get(int) get}.
+ * Day numbers compare as the dates do so the list can be sorted and searched
+ * without creating any objects.
+ *
+ * @version 1.0.0
+ * @author Leo Hinterlang
+ */
+public class ADateArray {
+	
+	private int [ ] days;
+	private int size;
+	
+	/**
+	 * Creates an empty ADateArray with a default capacity.
+	 */
+	public ADateArray () {
+		this(16);
+	}
+	
+	/**
+	 * Creates an empty ADateArray with the specified capacity.
+	 *
+	 * @param capacity the initial capacity
+	 */
+	public ADateArray (int capacity) {
+		days = new int [Math.max(capacity, 1)];
+	}
+	
+	/**
+	 * Returns the number of dates in this list.
+	 *
+	 * @return the number of dates
+	 */
+	public int size () {
+		return size;
+	}
+	
+	/**
+	 * Adds a date to the end of this list.
+	 *
+	 * @param date the date to add
+	 */
+	public void add (ADate date) {
+		addDays(date.getDays());
+	}
+	
+	/**
+	 * Adds a date encoded as a day number to the end of this list.
+	 *
+	 * @param dayNumber the number of days since the start of the timeline
+	 * @throws IllegalArgumentException if the day number is outside the timeline
+	 */
+	public void addDays (int dayNumber) throws IllegalArgumentException {
+		ADate.checkDays(dayNumber);
+		if (size == days.length) {
+			days = Arrays.copyOf(days, size * 2);
+		}
+		days[size++] = dayNumber;
+	}
+	
+	/**
+	 * Replaces the date at the specified index.
+	 *
+	 * @param index the index of the date
+	 * @param date the new date
+	 */
+	public void set (int index, ADate date) {
+		setDays(index, date.getDays());
+	}
+	
+	/**
+	 * Replaces the date at the specified index with a date encoded as a day number.
+	 *
+	 * @param index the index of the date
+	 * @param dayNumber the number of days since the start of the timeline
+	 * @throws IllegalArgumentException if the day number is outside the timeline
+	 */
+	public void setDays (int index, int dayNumber) throws IllegalArgumentException {
+		checkIndex(index);
+		ADate.checkDays(dayNumber);
+		days[index] = dayNumber;
+	}
+	
+	/**
+	 * Returns a new ADate for the date at the specified index.
+	 *
+	 * @param index the index of the date
+	 * @return a new ADate
+	 */
+	public ADate get (int index) {
+		return ADate.fromDays(getDays(index));
+	}
+	
+	/**
+	 * Returns the day number of the date at the specified index.
+	 *
+	 * @param index the index of the date
+	 * @return the number of days since the start of the timeline
+	 */
+	public int getDays (int index) {
+		checkIndex(index);
+		return days[index];
+	}
+	
+	/**
+	 * Returns the year of the date at the specified index.
+	 *
+	 * @param index the index of the date
+	 * @return the year from 0 to 9999
+	 */
+	public int getYear (int index) {
+		return (int) (ADate.civilFromDays(getDays(index)) >> 9);
+	}
+	
+	/**
+	 * Returns the month of the date at the specified index.
+	 *
+	 * @param index the index of the date
+	 * @return the month from 1 to 12
+	 */
+	public int getMonth (int index) {
+		return (int) (ADate.civilFromDays(getDays(index)) >> 5) & 0xF;
+	}
+	
+	/**
+	 * Returns the day of the month of the date at the specified index.
+	 *
+	 * @param index the index of the date
+	 * @return the day of the month from 1 to 31
+	 */
+	public int getDay (int index) {
+		return (int) ADate.civilFromDays(getDays(index)) & 0x1F;
+	}
+	
+	/**
+	 * Compares the dates at two indexes.
+	 *
+	 * @param index1 the index of the first date
+	 * @param index2 the index of the second date
+	 * @return an integer that is either less than, greater than, or equal to zero
+	 */
+	public int compare (int index1, int index2) {
+		int days1 = getDays(index1);
+		int days2 = getDays(index2);
+		return (days1 < days2) ? -1 : ((days1 == days2) ? 0 : 1);
+	}
+	
+	/**
+	 * Sorts the dates of this list in ascending order.
+	 */
+	public void sort () {
+		Arrays.sort(days, 0, size);
+	}
+	
+	/**
+	 * Searches a sorted list for a date.
+	 * The result is that of {@code Arrays.binarySearch} for the day number of the date.
+	 *
+	 * @param date the date to find
+	 * @return the index of the date if found, otherwise (-(insertion point) - 1)
+	 */
+	public int binarySearch (ADate date) {
+		return Arrays.binarySearch(days, 0, size, date.getDays());
+	}
+	
+	/**
+	 * Returns a copy of the day numbers of this list.
+	 *
+	 * @return an array of day numbers with a length equal to the size
+	 */
+	public int [ ] toDaysArray () {
+		return Arrays.copyOf(days, size);
+	}
+	
+	/**
+	 * Removes all of the dates from this list.
+	 */
+	public void clear () {
+		size = 0;
+	}
+	
+	private void checkIndex (int index) {
+		if (0 > index || index >= size) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+		}
+	}
+	
+}
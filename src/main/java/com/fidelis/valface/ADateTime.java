@@ -26,13 +26,19 @@ public class ADateTime implements Comparable<ADateTime> {
 	private static final int SECONDS_DAY	= SECONDS_MINUTE * MINUTES_DAY;
 	private static final long NANOS_DAY		= (long) NANOS_SECOND * SECONDS_DAY;
 	private static final int SECONDS_HOUR	= SECONDS_MINUTE * MINUTES_HOUR;
-	private static final int NANOS_MINUTE	= NANOS_SECOND * SECONDS_MINUTE;
-	private static final int NANOS_HOUR		= NANOS_MINUTE * MINUTES_HOUR;
+	private static final long NANOS_MINUTE	= (long) NANOS_SECOND * SECONDS_MINUTE;
+	private static final long NANOS_HOUR		= NANOS_MINUTE * MINUTES_HOUR;
 	private static final int NANOS_MILLI	= 1000000;
 	
+	/** The largest number of whole days that fits in the epoch nanosecond encoding. */
+	private static final long EPOCH_DAYS_MAX	= Long.MAX_VALUE / NANOS_DAY;
+	
 	private ADate date;
 	private ATime time;
 	
+	/** The day number of the date for comparison and arithmetic. */
+	private int days;
+	
 	
 	/**
 	 * Private constructor from an ADate and an ATime component.
@@ -41,7 +47,19 @@ public class ADateTime implements Comparable<ADateTime> {
 	 * @param time the ATime component
 	 */
 	private ADateTime (ADate date, ATime time) {
+		this(date, date.getDays(), time);
+	}
+	
+	/**
+	 * Private constructor from an ADate with its day number and an ATime component.
+	 * 
+	 * @param date the ADate component
+	 * @param days the day number of the ADate component
+	 * @param time the ATime component
+	 */
+	private ADateTime (ADate date, int days, ATime time) {
 		this.date = date;
+		this.days = days;
 		this.time = time;
 	}
 	
@@ -56,6 +74,20 @@ public class ADateTime implements Comparable<ADateTime> {
 		return new ADateTime(date, time);
 	}
 	
+	/**
+	 * Returns a new ADateTime from a day number and a nanosecond of day value.
+	 * This is the inverse of the {@link #getDays() getDays} and
+	 * {@link #toNanoOfDay() toNanoOfDay} methods.
+	 * 
+	 * @param days the number of days since the start of the timeline
+	 * @param nanoOfDay the nanosecond of day value
+	 * @return a new ADateTime
+	 * @throws IllegalArgumentException if the nanosecond of day value is out of range
+	 */
+	public static ADateTime fromDays (int days, long nanoOfDay) throws IllegalArgumentException {
+		return new ADateTime(ADate.fromDays(days), days, ATime.ofNanoOfDay(nanoOfDay));
+	}
+	
 	/**
 	 * Returns a new ADateTime from the specified field values.
 	 * 
@@ -204,16 +236,104 @@ public class ADateTime implements Comparable<ADateTime> {
 	 * @see com.fidelis.valface.ATime#parse(String)
 	 */
 	public static ADateTime parse (String dateTimeSpec) {
-		String[] parts = dateTimeSpec.split("[Tt]");
-		if (parts.length == 2) {
-			ADate date = ADate.parse(parts[0]);
-			ATime time = ATime.parse(parts[1]);
+		return parse(dateTimeSpec, 0, dateTimeSpec.length());
+	}
+	
+	/**
+	 * Returns a new ADateTime from a range of characters.
+	 * The characters take the same form as for {@link #parse(String)}.
+	 * This allows a date-time to be parsed from a buffer without first creating a String.
+	 * 
+	 * @param text the characters of the date-time specification
+	 * @param start the index of the first character
+	 * @param end the index following the last character
+	 * @return a new ADateTime
+	 * @throws IllegalArgumentException if the specification is invalid
+	 * @throws IndexOutOfBoundsException if the range is not within the characters
+	 * @see com.fidelis.valface.ADate#parse(CharSequence, int, int)
+	 * @see com.fidelis.valface.ATime#parse(CharSequence, int, int)
+	 */
+	public static ADateTime parse (CharSequence text, int start, int end) {
+		int last = lastIndex(text, start, end);
+		int separator = separator(text, start, last);
+		if (separator >= 0) {
+			ADate date = ADate.parse(text, start, separator);
+			ATime time = ATime.parse(text, separator + 1, last);
 			return of(date, time);
 		}
 		else {
 			throw new IllegalArgumentException(
-					"Invalid date-time specification: " + dateTimeSpec);
+					"Invalid date-time specification: " + text.subSequence(start, end));
+		}
+	}
+	
+	/**
+	 * Parses a date and time specification without throwing.
+	 * The specification takes the same form as for {@link #parse(String)}.
+	 * 
+	 * @param dateTimeSpec the date-time specification
+	 * @return a new ADateTime or null if the specification is invalid
+	 * @see com.fidelis.valface.ADate#tryParse(String)
+	 * @see com.fidelis.valface.ATime#tryParse(String)
+	 */
+	public static ADateTime tryParse (String dateTimeSpec) {
+		return tryParse(dateTimeSpec, 0, dateTimeSpec.length());
+	}
+	
+	/**
+	 * Parses a date and time specification from a range of characters without throwing.
+	 * The characters take the same form as for {@link #parse(String)}.
+	 * 
+	 * @param text the characters of the date-time specification
+	 * @param start the index of the first character
+	 * @param end the index following the last character
+	 * @return a new ADateTime or null if the specification is invalid
+	 * @throws IndexOutOfBoundsException if the range is not within the characters
+	 */
+	public static ADateTime tryParse (CharSequence text, int start, int end) {
+		int last = lastIndex(text, start, end);
+		int separator = separator(text, start, last);
+		if (separator >= 0) {
+			ADate date = ADate.tryParse(text, start, separator);
+			ATime time = ATime.tryParse(text, separator + 1, last);
+			if (date != null && time != null) {
+				return of(date, time);
+			}
 		}
+		return null;
+	}
+	
+	/**
+	 * Returns the end of the range without any trailing "T" separators,
+	 * which {@code String.split} would ignore.
+	 */
+	private static int lastIndex (CharSequence text, int start, int end) {
+		ADate.checkRange(text, start, end);
+		while (end > start && isSeparator(text.charAt(end - 1))) {
+			--end;
+		}
+		return end;
+	}
+	
+	/**
+	 * Returns the index of the only "T" separator in the range
+	 * or -1 if there is not exactly one.
+	 */
+	private static int separator (CharSequence text, int start, int end) {
+		int separator = -1;
+		for (int n = start; n < end; n++) {
+			if (isSeparator(text.charAt(n))) {
+				if (separator >= 0) {
+					return -1;
+				}
+				separator = n;
+			}
+		}
+		return separator;
+	}
+	
+	private static boolean isSeparator (char c) {
+		return c == 'T' || c == 't';
 	}
 	
 	/**
@@ -270,66 +390,26 @@ public class ADateTime implements Comparable<ADateTime> {
 		if (pattern == null) {
 			return toString();
 		}
-		
-		// Setup StringBuilder.
-		StringBuilder sb = new StringBuilder(40);
-		
-		// Pattern character loop.
-		boolean inText = false;
-		for (int n = 0; n < pattern.length(); n++) {
-			char c = pattern.charAt(n);
-			
-			// Already in angle bracket text.
-			if (inText) {
-				
-				// End of text. Reset flag and continue.
-				if (c == '>') {
-					inText = false;
-					continue;
-				}
-				
-				// Not end of text. Append char and continue.
-				else {
-					sb.append(c);
-					continue;
-				}
-			}
-			
-			// Char is not a letter.
-			if (! Character.isLetter(c)) {
-				
-				// Start of angle bracket text.
-				if (c == '<') {
-					inText = true;
-					continue;
-				}
-				
-				// Append non-letter char.
-				sb.append(c);
-			}
-			
-			// Char is a letter.
-			else {
-				
-				// Isolate start of possible keyword.
-				String kw = pattern.substring(n);
-				int len = date.keywordSubstitute(kw, sb);
-				if (len == 0) {
-					len = time.keywordSubstitute(kw, sb);
-				}
-				
-				// Keyword match. Adjust index.
-				if (len != 0) {
-					n += len - 1;
-				}
-				
-				// Not a keyword match. Append the char.
-				else {
-					sb.append(c);
-				}
-			}
-		}
-		return sb.toString();
+		return compileFormat(pattern).format(this);
+	}
+	
+	/**
+	 * Compiles a format pattern for repeated use.
+	 * The pattern keywords are those of {@link #format(String) format}.
+	 * The pattern is scanned once and the resulting format appends the fields
+	 * directly to a {@code StringBuilder} or other {@code Appendable}.
+	 * <p>
+	 * <b>Example:</b>
+	 * <p><blockquote>
+	 * {@code AFormat fmt = ADateTime.compileFormat("year-mo-da HH:mm");}<br>
+	 * {@code fmt.formatTo(value, sb);}
+	 * </blockquote>
+	 * 
+	 * @param pattern the format pattern
+	 * @return the compiled format
+	 */
+	public static AFormat compileFormat (String pattern) {
+		return AFormat.compile(pattern, true, true);
 	}
 	
 	/**
@@ -442,16 +522,7 @@ public class ADateTime implements Comparable<ADateTime> {
 	 * @return a new ADateTime
 	 */
 	public ADateTime plusHours (long hours) {
-		if (hours < 0) {
-			return minusHours(-hours);
-		}
-		long totalHours = time.getHour() + hours;
-		ADate newDate = date;
-		if (totalHours >= HOURS_DAY) {
-			newDate = date.plusDays(totalHours / HOURS_DAY);
-		}
-		ATime newTime = time.plusHours(hours);
-		return of(newDate, newTime);
+		return plusNanoTime(hours / HOURS_DAY, (hours % HOURS_DAY) * NANOS_HOUR);
 	}
 	
 	/**
@@ -461,16 +532,7 @@ public class ADateTime implements Comparable<ADateTime> {
 	 * @return a new ADateTime
 	 */
 	public ADateTime plusMinutes (long minutes) {
-		if (minutes < 0) {
-			return minusMinutes(-minutes);
-		}
-		long totalMinutes = time.getHour() * MINUTES_HOUR + time.getMinute() + minutes;
-		ADate newDate = date;
-		if (totalMinutes >= MINUTES_DAY) {
-			newDate = date.plusDays(totalMinutes / MINUTES_DAY);
-		}
-		ATime newTime = time.plusMinutes(minutes);
-		return of(newDate, newTime);
+		return plusNanoTime(minutes / MINUTES_DAY, (minutes % MINUTES_DAY) * NANOS_MINUTE);
 	}
 	
 	/**
@@ -480,16 +542,7 @@ public class ADateTime implements Comparable<ADateTime> {
 	 * @return a new ADateTime
 	 */
 	public ADateTime plusSeconds (long seconds) {
-		if (seconds < 0) {
-			return minusSeconds(-seconds);
-		}
-		long totalSeconds = time.toSecondOfDay() + seconds;
-		ADate newDate = date;
-		if (totalSeconds >= SECONDS_DAY) {
-			newDate = date.plusDays(totalSeconds / SECONDS_DAY);
-		}
-		ATime newTime = time.plusSeconds(seconds);
-		return of(newDate, newTime);
+		return plusNanoTime(seconds / SECONDS_DAY, (seconds % SECONDS_DAY) * (long) NANOS_SECOND);
 	}
 	
 	/**
@@ -499,16 +552,31 @@ public class ADateTime implements Comparable<ADateTime> {
 	 * @return a new ADateTime
 	 */
 	public ADateTime plusNanos (long nanos) {
-		if (nanos < 0) {
-			return minusNanos(-nanos);
+		return plusNanoTime(nanos / NANOS_DAY, nanos % NANOS_DAY);
+	}
+	
+	/**
+	 * Returns a copy of this ADateTime with a number of days and less than a day of
+	 * nanoseconds added to it. The nanoseconds carry into the days in either direction.
+	 * 
+	 * @param plusDays the number of days to add
+	 * @param plusNanos the number of nanoseconds to add, less than a day either way
+	 * @return a new ADateTime
+	 */
+	private ADateTime plusNanoTime (long plusDays, long plusNanos) {
+		long nanoOfDay = time.toNanoOfDay() + plusNanos;
+		if (nanoOfDay < 0) {
+			nanoOfDay += NANOS_DAY;
+			--plusDays;
+		} else if (nanoOfDay >= NANOS_DAY) {
+			nanoOfDay -= NANOS_DAY;
+			++plusDays;
 		}
-		long totalNanos = time.toNanoOfDay() + nanos;
-		ADate newDate = date;
-		if (totalNanos >= NANOS_DAY) {
-			newDate = date.plusDays(totalNanos / NANOS_DAY);
+		ATime newTime = (plusNanos == 0) ? time : ATime.ofNanoOfDay(nanoOfDay);
+		if (plusDays == 0) {
+			return new ADateTime(date, days, newTime);
 		}
-		ATime newTime = time.plusNanos(nanos);
-		return of(newDate, newTime);
+		return of(date.plusDays(plusDays), newTime);
 	}
 	
 	/**
@@ -558,16 +626,7 @@ public class ADateTime implements Comparable<ADateTime> {
 	 * @return a new ADateTime
 	 */
 	public ADateTime minusHours (long hours) {
-		if (hours < 0) {
-			return plusHours(-hours);
-		}
-		long totalHours = time.getHour() - hours;
-		ADate newDate = date;
-		if (totalHours < 0) {
-			newDate = date.minusDays(1 - totalHours / HOURS_DAY);
-		}
-		ATime newTime = time.minusHours(hours);
-		return of(newDate, newTime);
+		return plusNanoTime(-(hours / HOURS_DAY), -(hours % HOURS_DAY) * NANOS_HOUR);
 	}
 	
 	/**
@@ -577,16 +636,7 @@ public class ADateTime implements Comparable<ADateTime> {
 	 * @return a new ADateTime
 	 */
 	public ADateTime minusMinutes (long minutes) {
-		if (minutes < 0) {
-			return plusMinutes(-minutes);
-		}
-		long totalMinutes = time.getHour() * MINUTES_HOUR + time.getMinute() - minutes;
-		ADate newDate = date;
-		if (totalMinutes < 0) {
-			newDate = date.minusDays(1 - totalMinutes / MINUTES_DAY);
-		}
-		ATime newTime = time.minusMinutes(minutes);
-		return of(newDate, newTime);
+		return plusNanoTime(-(minutes / MINUTES_DAY), -(minutes % MINUTES_DAY) * NANOS_MINUTE);
 	}
 	
 	/**
@@ -596,16 +646,7 @@ public class ADateTime implements Comparable<ADateTime> {
 	 * @return a new ADateTime
 	 */
 	public ADateTime minusSeconds (long seconds) {
-		if (seconds < 0) {
-			return plusSeconds(-seconds);
-		}
-		long totalSeconds = time.toSecondOfDay() - seconds;
-		ADate newDate = date;
-		if (totalSeconds < 0) {
-			newDate = date.minusDays(1 - totalSeconds / SECONDS_DAY);
-		}
-		ATime newTime = time.minusSeconds(seconds);
-		return of(newDate, newTime);
+		return plusNanoTime(-(seconds / SECONDS_DAY), -(seconds % SECONDS_DAY) * (long) NANOS_SECOND);
 	}
 	
 	/**
@@ -615,16 +656,7 @@ public class ADateTime implements Comparable<ADateTime> {
 	 * @return a new ADateTime
 	 */
 	public ADateTime minusNanos (long nanos) {
-		if (nanos < 0) {
-			return plusNanos(-nanos);
-		}
-		long totalNanos = time.toNanoOfDay() - nanos;
-		ADate newDate = date;
-		if (totalNanos < 0) {
-			newDate = date.minusDays(1 - totalNanos / NANOS_DAY);
-		}
-		ATime newTime = time.minusNanos(nanos);
-		return of(newDate, newTime);
+		return plusNanoTime(-(nanos / NANOS_DAY), -(nanos % NANOS_DAY));
 	}
 	
 	/**
@@ -634,7 +666,7 @@ public class ADateTime implements Comparable<ADateTime> {
 	 * @return true if they are equal
 	 */
 	public boolean equals (ADateTime other) {
-		return compareTo(other) == 0;
+		return days == other.days && time.equals(other.time);
 	}
 	
 	/**
@@ -647,11 +679,10 @@ public class ADateTime implements Comparable<ADateTime> {
 	 */
 	@Override
 	public int compareTo (ADateTime other) {
-		int cmp = date.compareTo(other.date);
-		if (cmp == 0) {
-			cmp = time.compareTo(other.time);
+		if (days != other.days) {
+			return (days < other.days) ? -1 : 1;
 		}
-		return cmp;
+		return time.compareTo(other.time);
 	}
 	
 	/**
@@ -683,7 +714,7 @@ public class ADateTime implements Comparable<ADateTime> {
 	 * @return true if this is equal to the other
 	 */
 	public boolean isEqual (ADateTime other) {
-		return compareTo(other) == 0;
+		return equals(other);
 	}
 	
 	/**
@@ -752,6 +783,94 @@ public class ADateTime implements Comparable<ADateTime> {
 		return time;
 	}
 	
+	/**
+	 * Returns the number of days since the start of the timeline for the date of this ADateTime.
+	 * This is the value of {@link ADate#getDays() getDays} for the date.
+	 * 
+	 * @return the number of days
+	 */
+	public int getDays () {
+		return days;
+	}
+	
+	/**
+	 * Returns the nanosecond of day value for the time of this ADateTime.
+	 * This is the value of {@link ATime#toNanoOfDay() toNanoOfDay} for the time.
+	 * 
+	 * @return the nanosecond of day value
+	 */
+	public long toNanoOfDay () {
+		return time.toNanoOfDay();
+	}
+	
+	/**
+	 * Returns this ADateTime encoded as a single {@code long}: the number of nanoseconds
+	 * since 1970-01-01T00:00. No time zone is applied; the date and time are the local
+	 * values of this ADateTime. Encoded values compare as the date-times do.
+	 * <p>
+	 * A {@code long} holds about 292 years of nanoseconds on either side of 1970.
+	 * The encoding is limited to date-times from 1677-09-21T00:12:43.145224192
+	 * to 2262-04-11T23:47:16.854775807.
+	 * 
+	 * @return the number of nanoseconds since 1970-01-01T00:00
+	 * @throws IllegalArgumentException if this ADateTime is outside the range of the encoding
+	 */
+	public long toEpochNano () throws IllegalArgumentException {
+		long days = this.days - ADate.EPOCH_DAY;
+		long nanos = time.toNanoOfDay();
+		if (days < 0 && nanos > 0) {
+			++days;
+			nanos -= NANOS_DAY;
+		}
+		long epochNano = days * NANOS_DAY + nanos;
+		if (days > EPOCH_DAYS_MAX || days < -EPOCH_DAYS_MAX ||
+				(days > 0 && epochNano < 0) || (days < 0 && epochNano > 0)) {
+			throw new IllegalArgumentException(
+					"Invalid date-time for epoch nanoseconds: " + toString());
+		}
+		return epochNano;
+	}
+	
+	/**
+	 * Returns a new ADateTime from a number of nanoseconds since 1970-01-01T00:00.
+	 * This is the inverse of {@link #toEpochNano() toEpochNano}. Every {@code long}
+	 * value is a valid encoding.
+	 * 
+	 * @param epochNano the number of nanoseconds since 1970-01-01T00:00
+	 * @return a new ADateTime
+	 */
+	public static ADateTime ofEpochNano (long epochNano) {
+		long days = epochNano / NANOS_DAY;
+		long nanos = epochNano % NANOS_DAY;
+		if (nanos < 0) {
+			nanos += NANOS_DAY;
+			--days;
+		}
+		return fromDays((int) (days + ADate.EPOCH_DAY), nanos);
+	}
+	
+	/**
+	 * Compares this ADateTime with a date-time encoded as nanoseconds since 1970-01-01T00:00.
+	 * The result is the same as comparing with {@code ADateTime.ofEpochNano(epochNano)}.
+	 * Unlike {@link #toEpochNano() toEpochNano} this works for any ADateTime.
+	 * 
+	 * @param epochNano the number of nanoseconds since 1970-01-01T00:00
+	 * @return an integer that is less than, greater than or equal to zero
+	 */
+	public int compareToEpochNano (long epochNano) {
+		long days = epochNano / NANOS_DAY;
+		long nanos = epochNano % NANOS_DAY;
+		if (nanos < 0) {
+			nanos += NANOS_DAY;
+			--days;
+		}
+		days += ADate.EPOCH_DAY;
+		if (this.days != days) {
+			return (this.days < days) ? -1 : 1;
+		}
+		return time.compareToNanoOfDay(nanos);
+	}
+	
 	/**
 	 * Returns a String representation for this ADateTime.
 	 * The format is based on the ISO-8601 standard.
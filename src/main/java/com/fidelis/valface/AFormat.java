@@ -0,0 +1,410 @@
+/**
+ *+
+ *	AFormat.java
+ *	1.0.0  2026-10-17  Leo Hinterlang
+ *-
+ */
+package com.fidelis.valface;
+
+import java.io.IOException;
+
+/**
+ * A compiled format pattern for {@link ADate}, {@link ATime} and {@link ADateTime}.
+ * <p>
+ * The pattern keywords are those of {@link ADate#format(String)}, {@link ATime#format(String)}
+ * and {@link ADateTime#format(String)}. The pattern is scanned once, when it is compiled,
+ * into a plan of keywords and literal text. Formatting then follows the plan and appends
+ * the fields directly to a {@code StringBuilder} or any other {@code Appendable}.
+ * Numbers are written digit by digit so that nothing is allocated while formatting
+ * into an existing {@code StringBuilder}.
+ * <p>
+ * A format is immutable and may be shared between threads.
+ * <p>
+ * <b>Example:</b>
+ * <p><blockquote>
+ * {@code AFormat fmt = ADate.compileFormat("year-mo-da");}<br>
+ * {@code fmt.formatTo(date, sb);}
+ * </blockquote>
+ *
+ * @version 1.0.0
+ * @author Leo Hinterlang
+ */
+public final class AFormat {
+	
+	// The date keywords. The order of these must not be changed.
+	private static final String[] dateKeywords = {
+		"Year", "year", "yr", "Month", "monthName", "month", "mon", "mo",
+		"days", "Day", "day", "da", "dowName", "dow"
+	};
+	
+	// The time keywords. The order of these must not be changed.
+	private static final String[] timeKeywords = {
+		"Hour", "hour", "HH", "hh",
+		"Minute", "minute", "mm",
+		"Second", "second", "ss",
+		"Nano", "nano", "milli", "micro",
+		"AMPM", "ampm",
+		"nn1", "nn2", "nn3"
+	};
+	
+	private static final int YEAR		= 0;
+	private static final int YEAR4		= 1;
+	private static final int YR			= 2;
+	private static final int MONTH		= 3;
+	private static final int MONTH_NAME	= 4;
+	private static final int MONTH2		= 5;
+	private static final int MON		= 6;
+	private static final int MO			= 7;
+	private static final int DAYS		= 8;
+	private static final int DAY		= 9;
+	private static final int DAY2		= 10;
+	private static final int DA			= 11;
+	private static final int DOW_NAME	= 12;
+	private static final int DOW		= 13;
+	private static final int TIME		= 14;			// number of date keywords
+	private static final int HOUR		= TIME;
+	private static final int HOUR12		= TIME + 1;
+	private static final int HH			= TIME + 2;
+	private static final int HH12		= TIME + 3;
+	private static final int MINUTE		= TIME + 4;
+	private static final int MINUTE2	= TIME + 5;
+	private static final int MM			= TIME + 6;
+	private static final int SECOND		= TIME + 7;
+	private static final int SECOND2	= TIME + 8;
+	private static final int SS			= TIME + 9;
+	private static final int NANO		= TIME + 10;
+	private static final int NANO9		= TIME + 11;
+	private static final int MILLI		= TIME + 12;
+	private static final int MICRO		= TIME + 13;
+	private static final int AMPM		= TIME + 14;
+	private static final int AMPM_LOWER	= TIME + 15;
+	private static final int NN1		= TIME + 16;
+	private static final int NN2		= TIME + 17;
+	private static final int NN3		= TIME + 18;
+	
+	private final String pattern;
+	private final int[] ops;
+	private final String[] literals;
+	private final boolean needsDate;
+	private final boolean needsTime;
+	
+	private AFormat (String pattern, int[] ops, String[] literals) {
+		this.pattern = pattern;
+		this.ops = ops;
+		this.literals = literals;
+		boolean date = false;
+		boolean time = false;
+		for (int op : ops) {
+			if (op >= TIME) {
+				time = true;
+			} else if (op >= 0) {
+				date = true;
+			}
+		}
+		this.needsDate = date;
+		this.needsTime = time;
+	}
+	
+	/**
+	 * Compiles a pattern with the keywords of the given kinds.
+	 * Date keywords are matched before time keywords.
+	 *
+	 * @param pattern the format pattern
+	 * @param date true to match the date keywords
+	 * @param time true to match the time keywords
+	 * @return the compiled format
+	 */
+	static AFormat compile (String pattern, boolean date, boolean time) {
+		int[] ops = new int[pattern.length()];
+		String[] literals = new String[pattern.length()];
+		int count = 0;
+		int literalCount = 0;
+		StringBuilder text = new StringBuilder();
+		boolean inText = false;
+		for (int n = 0; n < pattern.length(); n++) {
+			char c = pattern.charAt(n);
+	
+			// Angle bracket text.
+			if (inText) {
+				if (c == '>') {
+					inText = false;
+				} else {
+					text.append(c);
+				}
+				continue;
+			}
+			if (! Character.isLetter(c)) {
+				if (c == '<') {
+					inText = true;
+				} else {
+					text.append(c);
+				}
+				continue;
+			}
+	
+			// A letter. Look for a keyword.
+			int op = -1;
+			int len = 0;
+			if (date) {
+				op = match(pattern, n, dateKeywords);
+				if (op >= 0) {
+					len = dateKeywords[op].length();
+				}
+			}
+			if (op < 0 && time) {
+				op = match(pattern, n, timeKeywords);
+				if (op >= 0) {
+					len = timeKeywords[op].length();
+					op += TIME;
+				}
+			}
+			if (op < 0) {
+				text.append(c);
+				continue;
+			}
+			if (text.length() > 0) {
+				literals[literalCount] = text.toString();
+				ops[count++] = -(++literalCount);
+				text.setLength(0);
+			}
+			ops[count++] = op;
+			n += len - 1;
+		}
+		if (text.length() > 0) {
+			literals[literalCount] = text.toString();
+			ops[count++] = -(++literalCount);
+		}
+		int[] plan = new int[count];
+		System.arraycopy(ops, 0, plan, 0, count);
+		String[] strings = new String[literalCount];
+		System.arraycopy(literals, 0, strings, 0, literalCount);
+		return new AFormat(pattern, plan, strings);
+	}
+	
+	private static int match (String pattern, int index, String[] keywords) {
+		for (int m = 0; m < keywords.length; m++) {
+			if (pattern.startsWith(keywords[m], index)) {
+				return m;
+			}
+		}
+		return -1;
+	}
+	
+	/**
+	 * Returns the pattern of this format.
+	 *
+	 * @return the pattern
+	 */
+	public String getPattern () {
+		return pattern;
+	}
+	
+	/**
+	 * Formats a date.
+	 *
+	 * @param date the date
+	 * @return the formatted String
+	 * @throws IllegalArgumentException if the pattern has time keywords
+	 */
+	public String format (ADate date) {
+		StringBuilder sb = new StringBuilder(40);
+		formatTo(date, sb);
+		return sb.toString();
+	}
+	
+	/**
+	 * Formats a time.
+	 *
+	 * @param time the time
+	 * @return the formatted String
+	 * @throws IllegalArgumentException if the pattern has date keywords
+	 */
+	public String format (ATime time) {
+		StringBuilder sb = new StringBuilder(40);
+		formatTo(time, sb);
+		return sb.toString();
+	}
+	
+	/**
+	 * Formats a date-time.
+	 *
+	 * @param dateTime the date-time
+	 * @return the formatted String
+	 */
+	public String format (ADateTime dateTime) {
+		StringBuilder sb = new StringBuilder(40);
+		formatTo(dateTime, sb);
+		return sb.toString();
+	}
+	
+	/**
+	 * Appends a formatted date to a {@code StringBuilder}.
+	 *
+	 * @param date the date
+	 * @param sb the StringBuilder
+	 * @throws IllegalArgumentException if the pattern has time keywords
+	 */
+	public void formatTo (ADate date, StringBuilder sb) {
+		formatTo(date, null, sb);
+	}
+	
+	/**
+	 * Appends a formatted time to a {@code StringBuilder}.
+	 *
+	 * @param time the time
+	 * @param sb the StringBuilder
+	 * @throws IllegalArgumentException if the pattern has date keywords
+	 */
+	public void formatTo (ATime time, StringBuilder sb) {
+		formatTo(null, time, sb);
+	}
+	
+	/**
+	 * Appends a formatted date-time to a {@code StringBuilder}.
+	 *
+	 * @param dateTime the date-time
+	 * @param sb the StringBuilder
+	 */
+	public void formatTo (ADateTime dateTime, StringBuilder sb) {
+		formatTo(dateTime.toADate(), dateTime.toATime(), sb);
+	}
+	
+	/**
+	 * Appends a formatted date to an {@code Appendable}.
+	 *
+	 * @param date the date
+	 * @param out the Appendable
+	 * @throws IOException if the Appendable fails
+	 * @throws IllegalArgumentException if the pattern has time keywords
+	 */
+	public void formatTo (ADate date, Appendable out) throws IOException {
+		append(date, null, out);
+	}
+	
+	/**
+	 * Appends a formatted time to an {@code Appendable}.
+	 *
+	 * @param time the time
+	 * @param out the Appendable
+	 * @throws IOException if the Appendable fails
+	 * @throws IllegalArgumentException if the pattern has date keywords
+	 */
+	public void formatTo (ATime time, Appendable out) throws IOException {
+		append(null, time, out);
+	}
+	
+	/**
+	 * Appends a formatted date-time to an {@code Appendable}.
+	 *
+	 * @param dateTime the date-time
+	 * @param out the Appendable
+	 * @throws IOException if the Appendable fails
+	 */
+	public void formatTo (ADateTime dateTime, Appendable out) throws IOException {
+		append(dateTime.toADate(), dateTime.toATime(), out);
+	}
+	
+	private void formatTo (ADate date, ATime time, StringBuilder sb) {
+		try {
+			append(date, time, sb);
+		} catch (IOException ex) {
+	
+			// A StringBuilder does not throw.
+			throw new IllegalStateException(ex);
+		}
+	}
+	
+	/**
+	 * Follows the plan, appending literal text and the value of each keyword.
+	 */
+	private void append (ADate date, ATime time, Appendable out) throws IOException {
+		if (needsDate && date == null) {
+			throw new IllegalArgumentException("Date keywords in time format: " + pattern);
+		}
+		if (needsTime && time == null) {
+			throw new IllegalArgumentException("Time keywords in date format: " + pattern);
+		}
+		for (int op : ops) {
+			if (op < 0) {
+				out.append(literals[-op - 1]);
+			} else if (op < TIME) {
+				appendDate(op, date, out);
+			} else {
+				appendTime(op, time, out);
+			}
+		}
+	}
+	
+	private static void appendDate (int op, ADate date, Appendable out) throws IOException {
+		switch (op) {
+		case YEAR:			appendNumber(date.getYear(), 1, out);			break;
+		case YEAR4:			appendNumber(date.getYear(), 4, out);			break;
+		case YR:			appendNumber(date.getYear() % 100, 2, out);		break;
+		case MONTH:			appendNumber(date.getMonth(), 1, out);			break;
+		case MONTH_NAME:	out.append(date.monthName());					break;
+		case MONTH2:
+		case MO:			appendNumber(date.getMonth(), 2, out);			break;
+		case MON:			out.append(date.mon());							break;
+		case DAYS:			appendNumber(date.getDays(), 1, out);			break;
+		case DAY:			appendNumber(date.getDay(), 1, out);			break;
+		case DAY2:
+		case DA:			appendNumber(date.getDay(), 2, out);			break;
+		case DOW_NAME:		out.append(date.dowName());						break;
+		case DOW:			out.append(date.dow());							break;
+		}
+	}
+	
+	private static void appendTime (int op, ATime time, Appendable out) throws IOException {
+		int hour = time.getHour();
+		int nano = time.getNano();
+		switch (op) {
+		case HOUR:			appendNumber(hour, 1, out);						break;
+		case HOUR12:		appendNumber(hour % 12, 1, out);				break;
+		case HH:			appendNumber(hour, 2, out);						break;
+		case HH12:			appendNumber(hour % 12, 2, out);				break;
+		case MINUTE:		appendNumber(time.getMinute(), 1, out);			break;
+		case MINUTE2:
+		case MM:			appendNumber(time.getMinute(), 2, out);			break;
+		case SECOND:		appendNumber(time.getSecond(), 1, out);			break;
+		case SECOND2:
+		case SS:			appendNumber(time.getSecond(), 2, out);			break;
+		case NANO:			appendNumber(nano, 1, out);						break;
+		case NANO9:			appendNumber(nano, 9, out);						break;
+		case MILLI:			appendNumber(nano / 1000000, 3, out);			break;
+		case MICRO:			appendNumber(nano / 1000, 6, out);				break;
+		case AMPM:			out.append(hour < 12 ? "AM" : "PM");			break;
+		case AMPM_LOWER:	out.append(hour < 12 ? "am" : "pm");			break;
+		case NN1:			appendNumber(nano / 1000000, 3, out);			break;
+		case NN2:			appendNumber(nano / 1000 % 1000, 3, out);		break;
+		case NN3:			appendNumber(nano % 1000, 3, out);				break;
+		}
+	}
+	
+	/**
+	 * Appends a non-negative number with leading zeros to the given width.
+	 *
+	 * @param value the number
+	 * @param width the minimum number of digits
+	 * @param out the Appendable
+	 * @throws IOException if the Appendable fails
+	 */
+	static void appendNumber (int value, int width, Appendable out) throws IOException {
+		int digits = 1;
+		int divisor = 1;
+		while (value / divisor >= 10) {
+			divisor *= 10;
+			++digits;
+		}
+		for (int n = digits; n < width; n++) {
+			out.append('0');
+		}
+		for (; divisor > 0; divisor /= 10) {
+			out.append((char) ('0' + value / divisor % 10));
+		}
+	}
+	
+	public String toString () {
+		return pattern;
+	}
+	
+}
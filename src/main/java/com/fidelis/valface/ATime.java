@@ -6,6 +6,8 @@
  */
 package com.fidelis.valface;
 
+import java.nio.CharBuffer;
+import java.util.BitSet;
 import java.util.Calendar;
 import java.util.Date;
 
@@ -36,7 +38,8 @@ public class ATime implements Comparable<ATime> {
 	private int second;
 	private int nano;
 	
-	private static ATime nowTest;
+	/** The fields encoded as one value for comparison and arithmetic. */
+	private long nanoOfDay;
 	
 	/**
 	 * Creates a new {@code ATime} object.
@@ -47,10 +50,32 @@ public class ATime implements Comparable<ATime> {
 	 * @param nanoOfSecond the nanosecond value from 0 to 999,999,999
 	 */
 	private ATime (int hour, int minute, int second, int nanoOfSecond) {
+		setFields(hour, minute, second, nanoOfSecond);
+	}
+	
+	/**
+	 * Creates a new {@code ATime} object from a valid nanosecond of day value.
+	 * 
+	 * @param nanoOfDay the nano of day value: 0 to 24 * 60 * 60 * 1,000,000,000 - 1
+	 */
+	private ATime (long nanoOfDay) {
+		int secondOfDay = (int) (nanoOfDay / NANOS_SECOND);
+		this.hour = secondOfDay / SECONDS_HOUR;
+		this.minute = (secondOfDay / SECONDS_MINUTE) % MINUTES_HOUR;
+		this.second = secondOfDay % SECONDS_MINUTE;
+		this.nano = (int) (nanoOfDay - secondOfDay * NANOS_SECOND);
+		this.nanoOfDay = nanoOfDay;
+	}
+	
+	/**
+	 * Sets the fields and the nanosecond of day value that encodes them.
+	 */
+	private void setFields (int hour, int minute, int second, int nanoOfSecond) {
 		this.hour = hour;
 		this.minute = minute;
 		this.second = second;
 		this.nano = nanoOfSecond;
+		this.nanoOfDay = hour * NANOS_HOUR + minute * NANOS_MINUTE + second * NANOS_SECOND + nanoOfSecond;
 	}
 	
 	/**
@@ -94,20 +119,14 @@ public class ATime implements Comparable<ATime> {
 	}
 	
 	/**
-	 * Returns a new ATime with the current time of day.
-	 * If the {@link #nowTestSet(ATime) nowTestSet} method has set a test value,
-	 * that ATime is returned. Otherwise, the current time is returned.
+	 * Returns an ATime with the current time of day.
+	 * The current time is retrieved from the clock in use, see {@link AClock}.
 	 * 
-	 * @return a new ATime
-	 * @see #nowTestSet(ATime)
-	 * @see #nowTestClear()
+	 * @return an ATime
+	 * @see AClock#set(AClock)
 	 */
 	public static ATime now () {
-		if (nowTest != null) {
-			return nowTest;
-		}
-		Calendar cal = Calendar.getInstance();
-		return from(cal);
+		return AClock.get().time();
 	}
 	
 	/**
@@ -118,9 +137,11 @@ public class ATime implements Comparable<ATime> {
 	 * @param now the test value to set
 	 * @see #now()
 	 * @see #nowTestClear()
+	 * @deprecated Use {@link AClock#set(AClock)} with a fixed clock.
 	 */
+	@Deprecated
 	public static void nowTestSet (ATime now) {
-		nowTest = now;
+		AClock.setTestTime(now);
 	}
 	
 	/**
@@ -129,9 +150,11 @@ public class ATime implements Comparable<ATime> {
 	 * 
 	 * @see #now()
 	 * @see #nowTestSet(ATime)
+	 * @deprecated Use {@link AClock#set(AClock)} to restore the system clock.
 	 */
+	@Deprecated
 	public static void nowTestClear () {
-		nowTest = null;
+		AClock.setTestTime(null);
 	}
 	
 	/**
@@ -172,83 +195,306 @@ public class ATime implements Comparable<ATime> {
 	 * @throws IllegalArgumentException if the time specification is invalid
 	 */
 	public static ATime parse (String timeString) throws IllegalArgumentException {
-		boolean status = true;
-		String zero = "0";
-		String h = zero;
-		String m = zero;
-		String s = null;
-		String n = null;
-		if (timeString.contains(":")) {
-			String[] parts = timeString.split("\\:");
-			int len = parts.length;
-			if (len >= 2) {
-				h = parts[0];
-				m = parts[1];
+		return parse(timeString, 0, timeString.length(), true);
+	}
+	
+	/**
+	 * Returns a new {@code ATime} parsed from a range of characters.
+	 * The characters take the same forms as for {@link #parse(String)}.
+	 * This allows a time to be parsed from a buffer without first creating a String.
+	 * 
+	 * @param text the characters of the time specifier
+	 * @param start the index of the first character
+	 * @param end the index following the last character
+	 * @return a new ATime
+	 * @throws IllegalArgumentException if the time specification is invalid
+	 * @throws IndexOutOfBoundsException if the range is not within the characters
+	 */
+	public static ATime parse (CharSequence text, int start, int end) throws IllegalArgumentException {
+		return parse(text, start, end, true);
+	}
+	
+	/**
+	 * Returns a new {@code ATime} parsed from a time String without throwing.
+	 * The time String takes the same forms as for {@link #parse(String)}.
+	 * Instead of an exception, the value null is returned if the String is not valid.
+	 * 
+	 * @param timeString the time specifier
+	 * @return a new ATime or null if the time specification is invalid
+	 */
+	public static ATime tryParse (String timeString) {
+		return parse(timeString, 0, timeString.length(), false);
+	}
+	
+	/**
+	 * Returns a new {@code ATime} parsed from a range of characters without throwing.
+	 * The characters take the same forms as for {@link #parse(String)}.
+	 * 
+	 * @param text the characters of the time specifier
+	 * @param start the index of the first character
+	 * @param end the index following the last character
+	 * @return a new ATime or null if the time specification is invalid
+	 * @throws IndexOutOfBoundsException if the range is not within the characters
+	 */
+	public static ATime tryParse (CharSequence text, int start, int end) {
+		return parse(text, start, end, false);
+	}
+	
+	/**
+	 * Parses the time characters. An invalid time either throws
+	 * an exception or returns null according to the strict flag.
+	 */
+	private static ATime parse (CharSequence text, int start, int end, boolean strict)
+			throws IllegalArgumentException {
+		ADate.checkRange(text, start, end);
+		ATime time = new ATime(0, 0, 0, 0);
+		boolean status = scan(text, start, end, time);
+		if (status) {
+			if (strict) {
+				checkHour(time.hour);
+				checkMinute(time.minute);
+				checkSecond(time.second);
+				checkNano(time.nano);
 			}
-			if (len == 3) {
-				s = parts[2];
+			else if (! isValid(time)) {
+				return null;
 			}
-			if (2 > len || len > 3) {
-				status = false;
+			return time;
+		}
+		if (! strict) {
+			return null;
+		}
+		throw new IllegalArgumentException(
+				"Invalid time String: " + text.subSequence(start, end));
+	}
+	
+	/**
+	 * Scans the time characters in a single pass and sets the fields of a time
+	 * without checking the hour, minute and second values.
+	 * <p>
+	 * With colons, there are 2 or 3 fields and colons at the end are ignored
+	 * as they are by {@code String.split}. Without colons, the hour and minute
+	 * are 2 characters each and the second is the rest. A field that is not
+	 * present is zero. The nano fraction follows the first point in the second.
+	 * 
+	 * @param text the characters of the time specifier
+	 * @param start the index of the first character
+	 * @param end the index following the last character
+	 * @param time the time to receive the fields
+	 * @return true if the characters have the form of a time
+	 */
+	private static boolean scan (CharSequence text, int start, int end, ATime time) {
+		long hourNumber = 0;
+		long minuteNumber = 0;
+		int secondStart = -1;
+		int secondEnd = -1;
+		if (indexOf(text, start, end, ':') >= 0) {
+			int last = end;
+			while (last > start && text.charAt(last - 1) == ':') {
+				--last;
+			}
+			int first = indexOf(text, start, last, ':');
+			int second = (first < 0) ? -1 : indexOf(text, first + 1, last, ':');
+			if (first < 0 || (second >= 0 && indexOf(text, second + 1, last, ':') >= 0)) {
+				return false;
+			}
+			hourNumber = ValDigits.parseInt(text, start, first);
+			if (second < 0) {
+				minuteNumber = ValDigits.parseInt(text, first + 1, last);
+			} else {
+				minuteNumber = ValDigits.parseInt(text, first + 1, second);
+				secondStart = second + 1;
+				secondEnd = last;
 			}
 		}
 		else {
-			int len = timeString.length();
+			int len = end - start;
 			if (len >= 2) {
-				h = timeString.substring(0, 2);
+				hourNumber = ValDigits.parseInt(text, start, start + 2);
 			}
 			if (len >= 4) {
-				m = timeString.substring(2, 4);
+				minuteNumber = ValDigits.parseInt(text, start + 2, start + 4);
 			}
 			if (len >= 6) {
-				s = timeString.substring(4);
+				secondStart = start + 4;
+				secondEnd = end;
 			}
 		}
-		if (s == null) {
-			s = zero;
-			n = zero;
-		}
-		else {
-			int index = s.indexOf(".");
-			if (index > 0) {
-				n = s.substring(index + 1);
-				s = s.substring(0, index);
+		long secondNumber = 0;
+		int nano = 0;
+		if (secondStart >= 0) {
+			int point = indexOf(text, secondStart, secondEnd, '.');
+			if (point > secondStart) {
+				nano = fraction9(text, point + 1, secondEnd);
+				secondEnd = point;
 			}
-			else {
-				n = zero;
+			secondNumber = ValDigits.parseInt(text, secondStart, secondEnd);
+		}
+		if (hourNumber == ValDigits.NONE || minuteNumber == ValDigits.NONE ||
+				secondNumber == ValDigits.NONE || nano < 0) {
+			return false;
+		}
+		time.setFields((int) hourNumber, (int) minuteNumber, (int) secondNumber, nano);
+		return true;
+	}
+	
+	/**
+	 * Returns true if the hour, minute and second of a scanned time are valid.
+	 * The nano value is always valid after a scan.
+	 */
+	private static boolean isValid (ATime time) {
+		return (time.hour | (HOURS_DAY - 1 - time.hour) | time.minute | (MINUTES_HOUR - 1 - time.minute) |
+				time.second | (SECONDS_MINUTE - 1 - time.second)) >= 0;
+	}
+	
+	/**
+	 * Parses a time from a range of characters to a nanosecond of the day.
+	 * The characters take the same forms as for {@link #parse(String)}.
+	 * No {@code ATime} is returned for the time. The result is the value that
+	 * {@link #toNanoOfDay() toNanoOfDay} would return for it.
+	 * 
+	 * @param text the characters of the time specifier
+	 * @param start the index of the first character
+	 * @param end the index following the last character
+	 * @return the nanosecond of the day or -1 if the time is not valid
+	 * @throws IndexOutOfBoundsException if the range is not within the characters
+	 */
+	public static long parseNanoOfDay (CharSequence text, int start, int end) {
+		ADate.checkRange(text, start, end);
+		return parseNanoOfDay(text, start, end, new ATime(0, 0, 0, 0));
+	}
+	
+	/**
+	 * Parses a column of times to nanoseconds of the day.
+	 * Each value takes the same forms as for {@link #parse(String)}.
+	 * The nanosecond of the day of each valid time is stored in the corresponding element
+	 * of {@code nanos}. An invalid time, including a null value, stores -1 and sets the
+	 * corresponding bit of {@code invalid}. The bit of a valid time is cleared.
+	 * No object is created for a value.
+	 * 
+	 * @param values the time values
+	 * @param nanos the array to receive the nanoseconds of the day, at least as long as the values
+	 * @param invalid the set of indexes of the values that are not valid times
+	 * @return the number of values that are not valid times
+	 */
+	public static int parseNanoOfDay (CharSequence[] values, long[] nanos, BitSet invalid) {
+		ATime scratch = new ATime(0, 0, 0, 0);
+		int failures = 0;
+		for (int n = 0; n < values.length; n++) {
+			CharSequence value = values[n];
+			long nanoOfDay = (value == null) ? -1 : parseNanoOfDay(value, 0, value.length(), scratch);
+			nanos[n] = nanoOfDay;
+			invalid.set(n, nanoOfDay < 0);
+			if (nanoOfDay < 0) {
+				++failures;
 			}
 		}
-		int hour = 0;
-		int minute = 0;
-		int second = 0;
-		int nano = 0;
-		if (status) {
-			try {
-				hour = Integer.valueOf(h);
-				minute = Integer.valueOf(m);
-				second = Integer.valueOf(s);
-				nano = fraction9(n);
-			} catch (NumberFormatException ex) {
-				status = false;
+		return failures;
+	}
+	
+	/**
+	 * Parses a column of times from a character buffer to nanoseconds of the day.
+	 * Value {@code n} is the characters from {@code starts[n]} up to {@code ends[n]},
+	 * so the buffer may hold the values with any delimiters between them.
+	 * The results are stored as for {@link #parseNanoOfDay(CharSequence[], long[], BitSet)}.
+	 * 
+	 * @param buffer the characters of the values
+	 * @param starts the index of the first character of each value
+	 * @param ends the index following the last character of each value
+	 * @param count the number of values
+	 * @param nanos the array to receive the nanoseconds of the day
+	 * @param invalid the set of indexes of the values that are not valid times
+	 * @return the number of values that are not valid times
+	 * @throws IndexOutOfBoundsException if a range is not within the buffer
+	 */
+	public static int parseNanoOfDay (char[] buffer, int[] starts, int[] ends, int count,
+			long[] nanos, BitSet invalid) {
+		return parseNanoOfDay(CharBuffer.wrap(buffer), starts, ends, count, nanos, invalid);
+	}
+	
+	/**
+	 * Parses a column of times from a byte buffer to nanoseconds of the day.
+	 * Each byte is one ISO-8859-1 character, which includes all ASCII text.
+	 * The values are located and the results are stored as for
+	 * {@link #parseNanoOfDay(char[], int[], int[], int, long[], BitSet)}.
+	 * 
+	 * @param buffer the bytes of the values
+	 * @param starts the index of the first byte of each value
+	 * @param ends the index following the last byte of each value
+	 * @param count the number of values
+	 * @param nanos the array to receive the nanoseconds of the day
+	 * @param invalid the set of indexes of the values that are not valid times
+	 * @return the number of values that are not valid times
+	 * @throws IndexOutOfBoundsException if a range is not within the buffer
+	 */
+	public static int parseNanoOfDay (byte[] buffer, int[] starts, int[] ends, int count,
+			long[] nanos, BitSet invalid) {
+		return parseNanoOfDay(new ByteChars(buffer), starts, ends, count, nanos, invalid);
+	}
+	
+	private static int parseNanoOfDay (CharSequence text, int[] starts, int[] ends, int count,
+			long[] nanos, BitSet invalid) {
+		ATime scratch = new ATime(0, 0, 0, 0);
+		int failures = 0;
+		for (int n = 0; n < count; n++) {
+			int start = starts[n];
+			int end = ends[n];
+			ADate.checkRange(text, start, end);
+			long nanoOfDay = parseNanoOfDay(text, start, end, scratch);
+			nanos[n] = nanoOfDay;
+			invalid.set(n, nanoOfDay < 0);
+			if (nanoOfDay < 0) {
+				++failures;
 			}
 		}
-		if (status) {
-			checkHour(hour);
-			checkMinute(minute);
-			checkSecond(second);
-			checkNano(nano);
-			return new ATime(hour, minute, second, nano);
+		return failures;
+	}
+	
+	/**
+	 * Parses a time to a nanosecond of the day using a scratch time for the fields.
+	 * 
+	 * @return the nanosecond of the day or -1 if the time is not valid
+	 */
+	private static long parseNanoOfDay (CharSequence text, int start, int end, ATime scratch) {
+		if (scan(text, start, end, scratch) && isValid(scratch)) {
+			return scratch.toNanoOfDay();
 		}
-		throw new IllegalArgumentException(
-				"Invalid time String: " + timeString);
+		return -1;
 	}
 	
-	private static int fraction9 (String number) {
-		if (! number.matches("\\d{1,9}")) {
-			throw new NumberFormatException("Invalid number: " + number);
+	/**
+	 * Returns the index of a character within a range or -1 if not found.
+	 */
+	private static int indexOf (CharSequence text, int from, int to, char c) {
+		for (int n = from; n < to; n++) {
+			if (text.charAt(n) == c) {
+				return n;
+			}
+		}
+		return -1;
+	}
+	
+	/**
+	 * Converts a fraction of 1 to 9 digits to nanoseconds.
+	 * 
+	 * @param text the characters
+	 * @param start the index of the first digit of the fraction
+	 * @param end the index following the last digit
+	 * @return the nanoseconds or -1 if the fraction is not valid
+	 */
+	private static int fraction9 (CharSequence text, int start, int end) {
+		int len = end - start;
+		if (len < 1 || len > 9) {
+			return -1;
+		}
+		int val = 0;
+		for (int i = start; i < end; i++) {
+			char c = text.charAt(i);
+			if (c < '0' || c > '9') {
+				return -1;
+			}
+			val = val * 10 + (c - '0');
 		}
-		int val = Integer.valueOf(number);
-		int len = number.length();
 		while (len < 9) {
 			val *= 10;
 			++len;
@@ -306,144 +552,26 @@ public class ATime implements Comparable<ATime> {
 		if (pattern == null) {
 			return toString();
 		}
-		
-		// Setup StringBuilder.
-		StringBuilder sb = new StringBuilder(40);
-		
-		// Pattern character loop.
-		boolean inText = false;
-		for (int n = 0; n < pattern.length(); n++) {
-			char c = pattern.charAt(n);
-			
-			// Already in angle bracket text.
-			if (inText) {
-				
-				// End of text. Reset flag and continue.
-				if (c == '>') {
-					inText = false;
-					continue;
-				}
-				
-				// Not end of text. Append char and continue.
-				else {
-					sb.append(c);
-					continue;
-				}
-			}
-			
-			// Char is not a letter.
-			if (! Character.isLetter(c)) {
-				
-				// Start of angle bracket text.
-				if (c == '<') {
-					inText = true;
-					continue;
-				}
-				
-				// Append non-letter char.
-				sb.append(c);
-			}
-			
-			// Char is a letter.
-			else {
-				
-				// Isolate start of possible keyword.
-				String kw = pattern.substring(n);
-				int len = keywordSubstitute(kw, sb);
-				
-				// Keyword match. Adjust index.
-				if (len != 0) {
-					n += len - 1;
-				}
-				
-				// Not a keyword match. Append the char.
-				else {
-					sb.append(c);
-				}
-			}
-		}
-		return sb.toString();
+		return compileFormat(pattern).format(this);
 	}
 	
-	int keywordSubstitute (String kw, StringBuilder sb) {
-		String[] keywords = {
-				"Hour", "hour", "HH", "hh",
-				"Minute", "minute", "mm",
-				"Second", "second", "ss",
-				"Nano", "nano", "milli", "micro",
-				"AMPM", "ampm",
-				"nn1", "nn2", "nn3"
-		};		// the order of these must not be changed.
-		
-		int len = 0;
-		int m;
-		for (m = 0; m < keywords.length; m++) {
-			if (kw.startsWith(keywords[m])) {
-				len = keywords[m].length();
-				break;
-			}
-		}
-		
-		// Keyword match found.
-		if (len != 0) {
-			
-			switch (m) {
-			case 0:		// Hour
-				sb.append(String.format("%d", hour));
-				break;
-			case 1:		// hour
-				sb.append(String.format("%d", hour % 12));
-				break;
-			case 2:		// HH
-				sb.append(String.format("%02d", hour));
-				break;
-			case 3:		// hh
-				sb.append(String.format("%02d", hour % 12));
-				break;
-			case 4:		// Minute
-				sb.append(String.format("%d", minute));
-				break;
-			case 5:		// minute
-			case 6:		// mm
-				sb.append(String.format("%02d", minute));
-				break;
-			case 7:		// Second
-				sb.append(String.format("%d", second));
-				break;
-			case 8:		// second
-			case 9:		// ss
-				sb.append(String.format("%02d", second));
-				break;
-			case 10:	// Nano
-				sb.append(String.format("%d", nano));
-				break;
-			case 11:	// nano
-				sb.append(String.format("%09d", nano));
-				break;
-			case 12:	// milli
-				sb.append(String.format("%03d", nano / NANOS_MILLI));
-				break;
-			case 13:	// micro
-				sb.append(String.format("%06d", nano / NANOS_MICRO));
-				break;
-			case 14:	// AMPM
-				sb.append(hour < 12 ? "AM" : "PM");
-				break;
-			case 15:	// ampm
-				sb.append(hour < 12 ? "am" : "pm");
-				break;
-			case 16:	// nn1
-				sb.append(String.format("%09d", nano).substring(0, 3));
-				break;
-			case 17:	// nn2
-				sb.append(String.format("%09d", nano).substring(3, 6));
-				break;
-			case 18:	// nn3
-				sb.append(String.format("%09d", nano).substring(6, 9));
-				break;
-			}
-		}
-		return len;
+	/**
+	 * Compiles a format pattern for repeated use.
+	 * The pattern keywords are those of {@link #format(String) format}.
+	 * The pattern is scanned once and the resulting format appends the fields
+	 * directly to a {@code StringBuilder} or other {@code Appendable}.
+	 * <p>
+	 * <b>Example:</b>
+	 * <p><blockquote>
+	 * {@code AFormat fmt = ATime.compileFormat("HH:mm:ss.nano");}<br>
+	 * {@code fmt.formatTo(value, sb);}
+	 * </blockquote>
+	 * 
+	 * @param pattern the format pattern
+	 * @return the compiled format
+	 */
+	public static AFormat compileFormat (String pattern) {
+		return AFormat.compile(pattern, false, true);
 	}
 	
 	/**
@@ -552,13 +680,7 @@ public class ATime implements Comparable<ATime> {
 	public static ATime ofNanoOfDay (long nanoOfDay)
 			throws IllegalArgumentException {
 		checkNanoOfDay(nanoOfDay);
-		int hour = (int) (nanoOfDay / NANOS_HOUR);
-		nanoOfDay -= hour * NANOS_HOUR;
-		int minute = (int) (nanoOfDay / NANOS_MINUTE);
-		nanoOfDay -= minute * NANOS_MINUTE;
-		int second = (int) (nanoOfDay / NANOS_SECOND);
-		nanoOfDay -= second * NANOS_SECOND;
-		return new ATime(hour, minute, second, (int) nanoOfDay);
+		return new ATime(nanoOfDay);
 	}
 	
 	/**
@@ -572,11 +694,7 @@ public class ATime implements Comparable<ATime> {
 	public static ATime ofSecondOfDay (long secondOfDay)
 			throws IllegalArgumentException {
 		checkSecondOfDay(secondOfDay);
-		int hour = (int) secondOfDay / SECONDS_HOUR;
-		secondOfDay -= hour * SECONDS_HOUR;
-		int minute = (int) secondOfDay / SECONDS_MINUTE;
-		secondOfDay -= minute * SECONDS_MINUTE;
-		return new ATime(hour, minute, (int) secondOfDay, 0);
+		return new ATime(secondOfDay * NANOS_SECOND);
 	}
 	
 	/**
@@ -585,7 +703,40 @@ public class ATime implements Comparable<ATime> {
 	 * @return the nanosecond of day value for this ATime
 	 */
 	public long toNanoOfDay () {
-		return hour * NANOS_HOUR + minute * NANOS_MINUTE + second * NANOS_SECOND + nano;
+		return nanoOfDay;
+	}
+	
+	/**
+	 * Returns a nanosecond of day value for the specified fields.
+	 * This is the value of {@link #toNanoOfDay() toNanoOfDay} for the time of these
+	 * fields but no {@code ATime} instance is created. Nanosecond of day values
+	 * compare as the times do.
+	 * 
+	 * @param hour the hour of the day from 0 to 23
+	 * @param minute the minute of the hour from 0 to 59
+	 * @param second the second of the minute from 0 to 59
+	 * @param nanoOfSecond the nanosecond from 0 to 999,999,999
+	 * @return the nanosecond of day value
+	 * @throws IllegalArgumentException if any of the fields are invalid
+	 */
+	public static long toNanoOfDay (int hour, int minute, int second, int nanoOfSecond)
+			throws IllegalArgumentException {
+		checkHour(hour);
+		checkMinute(minute);
+		checkSecond(second);
+		checkNano(nanoOfSecond);
+		return hour * NANOS_HOUR + minute * NANOS_MINUTE + second * NANOS_SECOND + nanoOfSecond;
+	}
+	
+	/**
+	 * Compares this ATime with a time encoded as a nanosecond of day value.
+	 * The result is the same as comparing with {@code ATime.ofNanoOfDay(nanoOfDay)}.
+	 * 
+	 * @param nanoOfDay the nanosecond of day value
+	 * @return a value less than, greater than, or equal to zero
+	 */
+	public int compareToNanoOfDay (long nanoOfDay) {
+		return (this.nanoOfDay < nanoOfDay) ? -1 : ((this.nanoOfDay == nanoOfDay) ? 0 : 1);
 	}
 	
 	/**
@@ -659,37 +810,7 @@ public class ATime implements Comparable<ATime> {
 	 */
 	@Override
 	public int compareTo (ATime other) {
-		int cmp = 0;
-		if (this.hour < other.hour) {
-			--cmp;
-		} else if (this.hour > other.hour) {
-			++cmp;
-		}
-		if (cmp != 0) {
-			return cmp;
-		}
-		if (this.minute < other.minute) {
-			--cmp;
-		} else if (this.minute > other.minute) {
-			++cmp;
-		}
-		if (cmp != 0) {
-			return cmp;
-		}
-		if (this.second < other.second) {
-			--cmp;
-		} else if (this.second > other.second) {
-			++cmp;
-		}
-		if (cmp != 0) {
-			return cmp;
-		}
-		if (this.nano < other.nano) {
-			--cmp;
-		} else if (this.nano > other.nano) {
-			++cmp;
-		}
-		return cmp;
+		return compareToNanoOfDay(other.nanoOfDay);
 	}
 	
 	/**
@@ -699,7 +820,7 @@ public class ATime implements Comparable<ATime> {
 	 * @return true if this ATime equals the other ATime
 	 */
 	public boolean equals (ATime other) {
-		return compareTo(other) == 0;
+		return nanoOfDay == other.nanoOfDay;
 	}
 	
 	/**
@@ -709,7 +830,7 @@ public class ATime implements Comparable<ATime> {
 	 * @return true if this ATime is before the other ATime
 	 */
 	public boolean isBefore (ATime other) {
-		return compareTo(other) < 0;
+		return nanoOfDay < other.nanoOfDay;
 	}
 	
 	/**
@@ -719,7 +840,7 @@ public class ATime implements Comparable<ATime> {
 	 * @return true if this ATime is after the other ATime
 	 */
 	public boolean isAfter (ATime other) {
-		return compareTo(other) > 0;
+		return nanoOfDay > other.nanoOfDay;
 	}
 	
 	/**
@@ -729,8 +850,7 @@ public class ATime implements Comparable<ATime> {
 	 * @return a new ATime
 	 */
 	public ATime plusHours (long hours) {
-		int newHour = ((int) (hours % HOURS_DAY) + hour + HOURS_DAY) % HOURS_DAY;
-		return new ATime(newHour, minute, second, nano);
+		return plusNanoOfDay((hours % HOURS_DAY) * NANOS_HOUR);
 	}
 	
 	/**
@@ -740,11 +860,7 @@ public class ATime implements Comparable<ATime> {
 	 * @return a new ATime
 	 */
 	public ATime plusMinutes (long minutes) {
-		int minTime = hour * MINUTES_HOUR + minute;
-		int newMinTime = ((int) (minutes % MINUTES_DAY) + minTime + MINUTES_DAY) % MINUTES_DAY;
-		int newHour = (int) (newMinTime / MINUTES_HOUR) % HOURS_DAY;
-		int newMinute = (int) (newMinTime % MINUTES_HOUR);
-		return new ATime(newHour, newMinute, second, nano);
+		return plusNanoOfDay((minutes % MINUTES_DAY) * NANOS_MINUTE);
 	}
 	
 	/**
@@ -754,12 +870,7 @@ public class ATime implements Comparable<ATime> {
 	 * @return a new ATime
 	 */
 	public ATime plusSeconds (long seconds) {
-		int secTime = toSecondOfDay();
-		int newSecTime = ((int) (seconds % SECONDS_DAY) + secTime + SECONDS_DAY) % SECONDS_DAY;
-		int newHour = (int) (newSecTime / SECONDS_HOUR) % HOURS_DAY;
-		int newMinute = (int) (newSecTime / SECONDS_MINUTE) % MINUTES_HOUR;
-		int newSecond = (int) (newSecTime % SECONDS_MINUTE);
-		return new ATime(newHour, newMinute, newSecond, nano);
+		return plusNanoOfDay((seconds % SECONDS_DAY) * NANOS_SECOND);
 	}
 	
 	/**
@@ -769,13 +880,21 @@ public class ATime implements Comparable<ATime> {
 	 * @return a new ATime
 	 */
 	public ATime plusNanos (long nanos) {
-		long nanoTime = toNanoOfDay();
-		long newNanoTime = ((nanos % NANOS_DAY) + nanoTime + NANOS_DAY) % NANOS_DAY;
-		int newHour = (int) (newNanoTime / NANOS_HOUR) % HOURS_DAY;
-		int newMinute = (int) (newNanoTime / NANOS_MINUTE) % MINUTES_HOUR;
-		int newSecond = (int) (newNanoTime / NANOS_SECOND) % SECONDS_MINUTE;
-		int newNano = (int) (newNanoTime % NANOS_SECOND);
-		return new ATime(newHour, newMinute, newSecond, newNano);
+		return plusNanoOfDay(nanos % NANOS_DAY);
+	}
+	
+	/**
+	 * Returns a new ATime with less than a day of nanoseconds added to this ATime,
+	 * wrapping around midnight in either direction.
+	 */
+	private ATime plusNanoOfDay (long nanos) {
+		long newNanoOfDay = nanoOfDay + nanos;
+		if (newNanoOfDay < 0) {
+			newNanoOfDay += NANOS_DAY;
+		} else if (newNanoOfDay >= NANOS_DAY) {
+			newNanoOfDay -= NANOS_DAY;
+		}
+		return new ATime(newNanoOfDay);
 	}
 	
 	/**
@@ -839,28 +958,28 @@ public class ATime implements Comparable<ATime> {
 	}
 
 	private static void checkHour (int hour) throws IllegalArgumentException {
-		if (0 > hour || hour >= HOURS_DAY) {
+		if ((hour | (HOURS_DAY - 1 - hour)) < 0) {
 			throw new IllegalArgumentException(
 					"Invalid hour specified: " + hour + " (0 .. 23)");
 		}
 	}
 	
 	private static void checkMinute (int minute) throws IllegalArgumentException {
-		if (0 > minute || minute >= MINUTES_HOUR) {
+		if ((minute | (MINUTES_HOUR - 1 - minute)) < 0) {
 			throw new IllegalArgumentException(
 					"Invalid minute specified: " + minute + " (0 .. 59)");
 		}
 	}
 	
 	private static void checkSecond (int second) throws IllegalArgumentException {
-		if (0 > second || second >= SECONDS_MINUTE) {
+		if ((second | (SECONDS_MINUTE - 1 - second)) < 0) {
 			throw new IllegalArgumentException(
 					"Invalid second specifield: " + second + " (0 .. 59)");
 		}
 	}
 	
 	private static void checkNano (int nano) throws IllegalArgumentException {
-		if (0 > nano || nano >= NANOS_SECOND) {
+		if ((nano | (NANOS_SECOND - 1 - nano)) < 0) {
 			throw new IllegalArgumentException(
 					"Invalid nanosecond specified: " + nano);
 		}
@@ -868,15 +987,15 @@ public class ATime implements Comparable<ATime> {
 	
 	private static void checkSecondOfDay (long secondOfDay)
 			throws IllegalArgumentException {
-		if (0 > secondOfDay || secondOfDay >= SECONDS_DAY) {
+		if ((secondOfDay | (SECONDS_DAY - 1 - secondOfDay)) < 0) {
 			throw new IllegalArgumentException(
 					"Invalid second-of-day specified: " + secondOfDay);
 		}
 	}
 	
-	private static void checkNanoOfDay (long nanoOfDay)
+	static void checkNanoOfDay (long nanoOfDay)
 			throws IllegalArgumentException {
-		if (0 > nanoOfDay || nanoOfDay >= NANOS_DAY) {
+		if ((nanoOfDay | (NANOS_DAY - 1 - nanoOfDay)) < 0) {
 			throw new IllegalArgumentException(
 					"Invalid nano-of-day specified: " + nanoOfDay);
 		}
@@ -0,0 +1,218 @@
+/**
+ *+
+ *	ATimeArray.java
+ *	1.0.0  2026-10-17  Leo Hinterlang
+ *-
+ */
+package com.fidelis.valface;
+
+import java.util.Arrays;
+
+/**
+ * A growable list of times held as nanosecond of day values in a single {@code long} array.
+ * <p>
+ * Each time is stored as the value of {@link ATime#toNanoOfDay() toNanoOfDay}.
+ * No {@code ATime} object is kept for an element. The fields of an element are
+ * computed from its nanosecond of day value when they are requested and an
+ * {@code ATime} is only created by {@link #get(int) get}.
+ * Nanosecond of day values compare as the times do so the list can be sorted
+ * and searched without creating any objects.
+ *
+ * @version 1.0.0
+ * @author Leo Hinterlang
+ */
+public class ATimeArray {
+	
+	private static final long	NANOS_SECOND	= 1000000000L;
+	private static final long	NANOS_MINUTE	= NANOS_SECOND * 60;
+	private static final long	NANOS_HOUR		= NANOS_MINUTE * 60;
+	
+	private long [ ] nanos;
+	private int size;
+	
+	/**
+	 * Creates an empty ATimeArray with a default capacity.
+	 */
+	public ATimeArray () {
+		this(16);
+	}
+	
+	/**
+	 * Creates an empty ATimeArray with the specified capacity.
+	 *
+	 * @param capacity the initial capacity
+	 */
+	public ATimeArray (int capacity) {
+		nanos = new long [Math.max(capacity, 1)];
+	}
+	
+	/**
+	 * Returns the number of times in this list.
+	 *
+	 * @return the number of times
+	 */
+	public int size () {
+		return size;
+	}
+	
+	/**
+	 * Adds a time to the end of this list.
+	 *
+	 * @param time the time to add
+	 */
+	public void add (ATime time) {
+		addNanoOfDay(time.toNanoOfDay());
+	}
+	
+	/**
+	 * Adds a time encoded as a nanosecond of day value to the end of this list.
+	 *
+	 * @param nanoOfDay the nanosecond of day value: 0 to 24 * 60 * 60 * 1,000,000,000 - 1
+	 * @throws IllegalArgumentException if the value is out of range
+	 */
+	public void addNanoOfDay (long nanoOfDay) throws IllegalArgumentException {
+		ATime.checkNanoOfDay(nanoOfDay);
+		if (size == nanos.length) {
+			nanos = Arrays.copyOf(nanos, size * 2);
+		}
+		nanos[size++] = nanoOfDay;
+	}
+	
+	/**
+	 * Replaces the time at the specified index.
+	 *
+	 * @param index the index of the time
+	 * @param time the new time
+	 */
+	public void set (int index, ATime time) {
+		setNanoOfDay(index, time.toNanoOfDay());
+	}
+	
+	/**
+	 * Replaces the time at the specified index with a time encoded as a nanosecond of day value.
+	 *
+	 * @param index the index of the time
+	 * @param nanoOfDay the nanosecond of day value
+	 * @throws IllegalArgumentException if the value is out of range
+	 */
+	public void setNanoOfDay (int index, long nanoOfDay) throws IllegalArgumentException {
+		checkIndex(index);
+		ATime.checkNanoOfDay(nanoOfDay);
+		nanos[index] = nanoOfDay;
+	}
+	
+	/**
+	 * Returns a new ATime for the time at the specified index.
+	 *
+	 * @param index the index of the time
+	 * @return a new ATime
+	 */
+	public ATime get (int index) {
+		return ATime.ofNanoOfDay(getNanoOfDay(index));
+	}
+	
+	/**
+	 * Returns the nanosecond of day value of the time at the specified index.
+	 *
+	 * @param index the index of the time
+	 * @return the nanosecond of day value
+	 */
+	public long getNanoOfDay (int index) {
+		checkIndex(index);
+		return nanos[index];
+	}
+	
+	/**
+	 * Returns the hour of the time at the specified index.
+	 *
+	 * @param index the index of the time
+	 * @return the hour from 0 to 23
+	 */
+	public int getHour (int index) {
+		return (int) (getNanoOfDay(index) / NANOS_HOUR);
+	}
+	
+	/**
+	 * Returns the minute of the time at the specified index.
+	 *
+	 * @param index the index of the time
+	 * @return the minute from 0 to 59
+	 */
+	public int getMinute (int index) {
+		return (int) (getNanoOfDay(index) % NANOS_HOUR / NANOS_MINUTE);
+	}
+	
+	/**
+	 * Returns the second of the time at the specified index.
+	 *
+	 * @param index the index of the time
+	 * @return the second from 0 to 59
+	 */
+	public int getSecond (int index) {
+		return (int) (getNanoOfDay(index) % NANOS_MINUTE / NANOS_SECOND);
+	}
+	
+	/**
+	 * Returns the nanosecond of the time at the specified index.
+	 *
+	 * @param index the index of the time
+	 * @return the nanosecond from 0 to 999,999,999
+	 */
+	public int getNano (int index) {
+		return (int) (getNanoOfDay(index) % NANOS_SECOND);
+	}
+	
+	/**
+	 * Compares the times at two indexes.
+	 *
+	 * @param index1 the index of the first time
+	 * @param index2 the index of the second time
+	 * @return a value less than, greater than, or equal to zero
+	 */
+	public int compare (int index1, int index2) {
+		long nanos1 = getNanoOfDay(index1);
+		long nanos2 = getNanoOfDay(index2);
+		return (nanos1 < nanos2) ? -1 : ((nanos1 == nanos2) ? 0 : 1);
+	}
+	
+	/**
+	 * Sorts the times of this list in ascending order.
+	 */
+	public void sort () {
+		Arrays.sort(nanos, 0, size);
+	}
+	
+	/**
+	 * Searches a sorted list for a time.
+	 * The result is that of {@code Arrays.binarySearch} for the nanosecond of day value of the time.
+	 *
+	 * @param time the time to find
+	 * @return the index of the time if found, otherwise (-(insertion point) - 1)
+	 */
+	public int binarySearch (ATime time) {
+		return Arrays.binarySearch(nanos, 0, size, time.toNanoOfDay());
+	}
+	
+	/**
+	 * Returns a copy of the nanosecond of day values of this list.
+	 *
+	 * @return an array of nanosecond of day values with a length equal to the size
+	 */
+	public long [ ] toNanoOfDayArray () {
+		return Arrays.copyOf(nanos, size);
+	}
+	
+	/**
+	 * Removes all of the times from this list.
+	 */
+	public void clear () {
+		size = 0;
+	}
+	
+	private void checkIndex (int index) {
+		if (0 > index || index >= size) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+		}
+	}
+	
+}
@@ -0,0 +1,50 @@
+/**
+ *+
+ *	ByteChars.java
+ *	1.0.0  2026-10-17  Leo Hinterlang
+ *-
+ */
+package com.fidelis.valface;
+
+/**
+ * A view of a byte array as a sequence of ISO-8859-1 characters.
+ * <p>
+ * Each byte is one character, so ASCII text in a byte buffer can be scanned
+ * by the same code that scans a {@code String} without decoding it first.
+ * The array is not copied and must not be modified while it is scanned.
+ *
+ * @version 1.0.0
+ * @author Leo Hinterlang
+ */
+final class ByteChars implements CharSequence {
+	
+	private final byte[] bytes;
+	
+	ByteChars (byte[] bytes) {
+		this.bytes = bytes;
+	}
+	
+	public int length () {
+		return bytes.length;
+	}
+	
+	public char charAt (int index) {
+		return (char) (bytes[index] & 0xff);
+	}
+	
+	public CharSequence subSequence (int start, int end) {
+		if (start < 0 || end > bytes.length || start > end) {
+			throw new IndexOutOfBoundsException("Invalid range: " + start + " to " + end);
+		}
+		char[] chars = new char[end - start];
+		for (int n = start; n < end; n++) {
+			chars[n - start] = charAt(n);
+		}
+		return new String(chars);
+	}
+	
+	public String toString () {
+		return subSequence(0, bytes.length).toString();
+	}
+	
+}
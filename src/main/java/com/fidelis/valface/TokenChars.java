@@ -0,0 +1,366 @@
+/**
+ *+
+ *  TokenChars.java
+ *  1.0.0   Oct 17, 2026  Leo Hinterlang
+ *-
+ */
+package com.fidelis.valface;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * An implementation of {@code TokenSource} based on a character array.
+ * <p>
+ * The tokens are the same as those of a {@link TokenString} built from the
+ * same text and delimiters. Rather than splitting the text into Strings,
+ * the array is scanned in place using a table of the delimiter characters.
+ * {@link #nextSequence()} delivers each token as a view of the array so that
+ * nothing is copied unless the caller asks for a String. A token from the
+ * stack or a quoted string is delivered as a String.
+ *
+ * @version 1.0.0
+ * @author Leo Hinterlang
+ *
+ */
+public class TokenChars implements TokenSource {
+    private final char[]    chars;
+    private final int       end;
+    private final String    delimiters;
+    private final boolean[] table            = new boolean[128];
+    private final View      view             = new View();
+    private int             pos;
+    private String          token;
+    private boolean         viewToken;
+    private String          meta;
+    private Deque<String>   stack            = new ArrayDeque<String>();
+    private boolean         metaQuotes       = true;
+    private boolean         backslash;
+    private boolean         filterLineBreaks = true;
+    private boolean         trimSpaces       = true;
+
+    /**
+     * Creates a new {@code TokenChars} given the text and the delimiter set.
+     * The text is copied once into a character array.
+     *
+     * @param text the text to scan
+     * @param delimiters the delimiter characters
+     */
+    public TokenChars (CharSequence text, String delimiters) {
+        this(text.toString().toCharArray(), 0, text.length(), delimiters);
+    }
+
+    /**
+     * Creates a new {@code TokenChars} over a range of a character array.
+     * The array is not copied and must not be modified while it is scanned.
+     *
+     * @param chars the character array
+     * @param offset the index of the first character
+     * @param length the number of characters
+     * @param delimiters the delimiter characters
+     */
+    public TokenChars (char[] chars, int offset, int length, String delimiters) {
+        this.chars = chars;
+        this.pos = offset;
+        this.end = offset + length;
+        this.delimiters = delimiters;
+        for (int n = 0; n < delimiters.length(); n++) {
+            char c = delimiters.charAt(n);
+            if (c < table.length) {
+                table[c] = true;
+            }
+        }
+    }
+
+    /**
+     * @return the filterLineBreaks
+     */
+    public boolean isFilterLineBreaks () {
+        return filterLineBreaks;
+    }
+
+    /**
+     * @param filterLineBreaks the filterLineBreaks to set
+     */
+    public void setFilterLineBreaks (boolean filterLineBreaks) {
+        this.filterLineBreaks = filterLineBreaks;
+    }
+
+    /**
+     * @return the trimSpaces
+     */
+    public boolean isTrimSpaces () {
+        return trimSpaces;
+    }
+
+    /**
+     * @param trimSpaces the trimSpaces to set
+     */
+    public void setTrimSpaces (boolean trimSpaces) {
+        this.trimSpaces = trimSpaces;
+    }
+
+    /* (non-Javadoc)
+     * @see com.fidelis.valface.TokenSource#close()
+     */
+    public void close () {
+    }
+
+    /* (non-Javadoc)
+     * @see com.fidelis.valface.TokenSource#getToken()
+     */
+    public String getToken () {
+        if (viewToken) {
+            token = view.toString();
+            viewToken = false;
+        }
+        return token;
+    }
+
+    /* (non-Javadoc)
+     * @see com.fidelis.valface.TokenSource#next()
+     */
+    public String next () {
+        CharSequence next = nextSequence();
+        if (next == view) {
+            return getToken();
+        }
+        return (String) next;
+    }
+
+    /**
+     * Produces the next token without copying it from the array.
+     * The sequence returned for a token of the text is a view that is
+     * only valid until the next call to any method of this source.
+     * Use {@code toString} on the sequence to keep the token.
+     *
+     * @return the next token or {@code null} at the end of the text
+     */
+    public CharSequence nextSequence () {
+        viewToken = false;
+        token = pop();
+        if (token != null) {
+            if (isMeta(token)) {
+                meta = token;
+                token = stack.pop();
+                return meta;
+            }
+            return token;
+        }
+        while (pos < end) {
+            int start = pos;
+            int stop = scan();
+            if (filterLineBreaks == false) {
+                if (stop - start == 1 && chars[start] == '\n') {
+                    return view(start, stop);
+                }
+            }
+            if (trimSpaces) {
+                while (start < stop && chars[start] <= ' ') {
+                    ++start;
+                }
+                while (stop > start && chars[stop - 1] <= ' ') {
+                    --stop;
+                }
+            }
+            if (start < stop) {
+                return metaFilter(start, stop);
+            }
+        }
+        return null;
+    }
+
+    /* (non-Javadoc)
+     * @see com.fidelis.valface.TokenSource#open()
+     */
+    public boolean open () {
+        return true;
+    }
+
+    /* (non-Javadoc)
+     * @see com.fidelis.valface.TokenSource#peek()
+     */
+    public String peek () {
+        token = next();
+        viewToken = false;
+        push();
+        return token;
+    }
+
+    /* (non-Javadoc)
+     * @see com.fidelis.valface.TokenSource#pop()
+     */
+    public String pop () {
+        if (stack.size() > 0) {
+            return stack.pop();
+        }
+        return null;
+    }
+
+    /* (non-Javadoc)
+     * @see com.fidelis.valface.TokenSource#push(java.lang.String)
+     */
+    public void push (String token) {
+        if (token != null) {
+            stack.push(token);
+        }
+    }
+
+    /* (non-Javadoc)
+     * @see com.fidelis.valface.TokenSource#push()
+     */
+    public void push () {
+        push(getToken());
+        if (meta != null) {
+            push(meta);
+            meta = null;
+        }
+    }
+
+    private boolean isMeta (String token) {
+        if (token.startsWith("<") && token.endsWith(">")) {
+            return true;
+        }
+        return false;
+    }
+
+    private boolean isDelimiter (char c) {
+        if (c < table.length) {
+            return table[c];
+        }
+        return delimiters.indexOf(c) >= 0;
+    }
+
+    /**
+     * Advances past the next raw token. A raw token is either a single
+     * delimiter character or a run of characters that are not delimiters.
+     *
+     * @return the index following the raw token
+     */
+    private int scan () {
+        if (isDelimiter(chars[pos])) {
+            return ++pos;
+        }
+        while (++pos < end && ! isDelimiter(chars[pos])) {
+        }
+        return pos;
+    }
+
+    private CharSequence view (int start, int stop) {
+        view.start = start;
+        view.length = stop - start;
+        token = null;
+        viewToken = true;
+        return view;
+    }
+
+    /**
+     * Filters inputs that return meta-production tokens.
+     * See {@link TokenString} for the meta-production tokens.
+     *
+     * @param start the index of the first character of the token
+     * @param stop the index following the token
+     * @return the meta-production token or a view of the token
+     */
+    private CharSequence metaFilter (int start, int stop) {
+        if (metaQuotes) {
+            if (chars[start] == '\"') {
+                token = stringToken(start, stop);
+                return meta = "<dQuote>";
+            } else if (chars[start] == '\'') {
+                token = stringToken(start, stop);
+                return meta = "<sQuote>";
+            } else {
+                meta = null;
+            }
+        }
+        return view(start, stop);
+    }
+
+    /**
+     * Returns the complete text of a quoted string but without the quotation marks.
+     * Escaped quotes are handled as they are by {@link TokenString}.
+     *
+     * @param start the index of the starting quote
+     * @param stop the index following the first token
+     * @return the processed text
+     */
+    private String stringToken (int start, int stop) {
+        backslash = false;
+        char quote = chars[start];
+        StringBuilder sb = new StringBuilder(64);
+        boolean done = false;
+        if (stop - start > 1) {
+            done = escapeFilter(start + 1, stop, sb, quote);
+        }
+        while (! done) {
+            if (pos < end) {
+                int first = pos;
+                done = escapeFilter(first, scan(), sb, quote);
+            } else {
+                done = true;
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Filters escaped quotes from a range of characters added to a
+     * {@code StringBuilder} until a closing quote is encountered.
+     *
+     * @param start the index of the first character
+     * @param stop the index following the last character
+     * @param sb the {@code StringBuilder}
+     * @param quote the starting quote
+     * @return {@code true} if the closing quote is found
+     */
+    private boolean escapeFilter (int start, int stop, StringBuilder sb, char quote) {
+        boolean status = false;
+        for (int n = start; n < stop; n++) {
+            char c = chars[n];
+            if (backslash) {
+                backslash = false;
+                if (c == quote) {
+                    sb.setLength(sb.length() - 1);      // overwrite backslash
+                }
+            } else if (c == '\\') {
+                backslash = true;
+            } else if (c == quote) {
+                status = true;
+                break;
+            }
+            sb.append(c);
+        }
+        return status;
+    }
+
+    /**
+     * A view of the current token in the character array.
+     */
+    private class View implements CharSequence {
+        private int start;
+        private int length;
+
+        public int length () {
+            return length;
+        }
+
+        public char charAt (int index) {
+            if (index < 0 || index >= length) {
+                throw new IndexOutOfBoundsException("index: " + index);
+            }
+            return chars[start + index];
+        }
+
+        public CharSequence subSequence (int from, int to) {
+            if (from < 0 || to > length || from > to) {
+                throw new IndexOutOfBoundsException("range: " + from + " .. " + to);
+            }
+            return new String(chars, start + from, to - from);
+        }
+
+        public String toString () {
+            return new String(chars, start, length);
+        }
+    }
+}
@@ -8,6 +8,7 @@ package com.fidelis.valface;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.util.ArrayList;
 import java.util.List;
 
 import com.fidelis.argface.ArgFace;
@@ -15,15 +16,22 @@ import com.fidelis.argface.Debug;
 
 /**
  * ValFace Implementation Base Class.
+ * <p>
+ * A model is bound through {@link #modelBind(int, ValDef)} and written
+ * through {@link #modelSetValue(int, ValDef, Object)}. These replace the
+ * hooks {@code modelPostDefinition(ValDef)} and
+ * {@code modelSetValue(ValDef, Object)}, which are no longer called and are
+ * final, so a subclass that overrides them no longer compiles and must
+ * override the new hooks instead.
  * 
  * @version 1.0.0
  * @author Leo Hinterlang
  */
 public abstract class ValBase {
 	
-	private ValParser	parser = new ValParser();
 	private String		valText;
-	private List<ValDef> defList;
+	private ValSchema	schema;
+	private ValResult	result;
 	
 	protected ValBase () {
 	}
@@ -33,14 +41,18 @@ public abstract class ValBase {
 			System.out.println("ERROR - no validation text");
 			return false;
 		}
-		if (! parser.parse(valText, this)) {
+		ValSchema template = ValSchemaCache.getShared().get(valText);
+		if (template == null) {
+			return false;
+		}
+		schema = modelSchema(template);
+		if (schema == null) {
 			return false;
 		}
-		defList = parser.getDefList();
 		
 		// Show the validation definitions and items.
 		if (Debug.isVerbose()) {
-			for (ValDef df : defList) {
+			for (ValDef df : schema.getDefList()) {
 				System.out.println("\n" + df);
 				for (ValItem it : df.getItems()) {
 					System.out.println(it);
@@ -77,26 +89,48 @@ public abstract class ValBase {
 		setValText(arrayToString(valText));
 	}
 
+	/**
+	 * Performs validation checks and sets the valid values in the model.
+	 * The result of this run replaces the result of any previous run.
+	 * To validate from several threads at once, share the {@link ValSchema}
+	 * returned by {@link #getSchema()} instead.
+	 * 
+	 * @param argFace the source of the values
+	 * @return true if there are no errors
+	 */
 	public boolean validate (ArgFace argFace) {
-		for (ValDef def : defList) {
-			String name = def.getName();
-			String val = argFace.value(name);
-			if (val == null) {
-				Debug.verbose("No value for: " + name);
-				continue;
-			}
-			if (! def.validate(val)) {
-				Debug.verbose("Invalid value \"" + val + "\" for " + name);
-			} else {
-				Debug.verbose("Value \"" + val + "\" for " + name + " is valid");
-				if (! convert(def, val)) {
+		ValResult runResult = schema.validate(argFace);
+		List<ValDef> defList = schema.getDefList();
+		for (int index = 0; index < defList.size(); index++) {
+			ValData data = runResult.getData(index);
+			if (data != null) {
+				if (! convert(index, defList.get(index), data)) {
 					return false;
 				}
 			}
 		}
+		result = runResult;
 		return true;
 	}
 	
+	/**
+	 * Returns the compiled validation schema.
+	 * 
+	 * @return the validation schema or null if the text has not been parsed
+	 */
+	public ValSchema getSchema () {
+		return schema;
+	}
+	
+	/**
+	 * Returns the result of the last validation run.
+	 * 
+	 * @return the validation result or null if there has been no validation
+	 */
+	public ValResult getResult () {
+		return result;
+	}
+	
 	public Byte getByte (String name) {
 		return getNumber(name, ValType.BYTE, Byte.class);
 	}
@@ -129,108 +163,238 @@ public abstract class ValBase {
 		return getNumber(name, ValType.BIGDEC, BigDecimal.class);
 	}
 	
-	@SuppressWarnings ("unchecked")
+	/**
+	 * Returns the slot of a named definition for the slot getters.
+	 * A slot does not change for the life of the schema, so it may be
+	 * looked up once and used for every validation run.
+	 * 
+	 * @param name the validation name
+	 * @return the definition index or -1 if not found
+	 * @see ValSchema#indexOf(String)
+	 */
+	public int slotOf (String name) {
+		return (schema == null) ? -1 : schema.indexOf(name);
+	}
+	
+	public Byte getByte (int slot) {
+		return getNumber(slot, ValType.BYTE, Byte.class);
+	}
+	
+	public Short getShort (int slot) {
+		return getNumber(slot, ValType.SHORT, Short.class);
+	}
+	
+	public Integer getInteger (int slot) {
+		return getNumber(slot, ValType.INT, Integer.class);
+	}
+	
+	public Long getLong (int slot) {
+		return getNumber(slot, ValType.LONG, Long.class);
+	}
+	
+	public BigInteger getBigInteger (int slot) {
+		return getNumber(slot, ValType.BIGINT, BigInteger.class);
+	}
+	
+	public Float getFloat (int slot) {
+		return getNumber(slot, ValType.FLOAT, Float.class);
+	}
+	
+	public Double getDouble (int slot) {
+		return getNumber(slot, ValType.DOUBLE, Double.class);
+	}
+	
+	public BigDecimal getBigDecimal (int slot) {
+		return getNumber(slot, ValType.BIGDEC, BigDecimal.class);
+	}
+	
+	public boolean has (String name) {
+		return result != null && result.isValid(name);
+	}
+	
+	public boolean has (int slot) {
+		return result != null && slot >= 0 && result.isValid(slot);
+	}
+	
+	public int getInt (String name, int defaultValue) {
+		return (result == null) ? defaultValue : result.getInt(name, defaultValue);
+	}
+	
+	public int getInt (int slot, int defaultValue) {
+		return (result == null || slot < 0) ? defaultValue : result.getInt(slot, defaultValue);
+	}
+	
+	public long getLongValue (String name, long defaultValue) {
+		return (result == null) ? defaultValue : result.getLongValue(name, defaultValue);
+	}
+	
+	public long getLongValue (int slot, long defaultValue) {
+		return (result == null || slot < 0) ? defaultValue : result.getLongValue(slot, defaultValue);
+	}
+	
+	public double getDoubleValue (String name, double defaultValue) {
+		return (result == null) ? defaultValue : result.getDoubleValue(name, defaultValue);
+	}
+	
+	public double getDoubleValue (int slot, double defaultValue) {
+		return (result == null || slot < 0) ? defaultValue : result.getDoubleValue(slot, defaultValue);
+	}
+	
 	private <T extends Number> T getNumber (String name, ValType type, Class<T> target) {
-		ValDef def = findDef(name);
-		if (def != null) {
-			ValData data = def.getVarData();
-			if (data != null) {
-				if (data.getType().isNumeric()) {
-					if (data.numberToType(type)) {
-						return (T) data.getValue();
-					}
+		if (result == null) {
+			return null;
+		}
+		return toNumber(result.getData(name), type, target);
+	}
+	
+	private <T extends Number> T getNumber (int slot, ValType type, Class<T> target) {
+		if (result == null || slot < 0) {
+			return null;
+		}
+		return toNumber(result.getData(slot), type, target);
+	}
+	
+	@SuppressWarnings ("unchecked")
+	private static <T extends Number> T toNumber (ValData data, ValType type, Class<T> target) {
+		if (data != null) {
+			if (data.getType().isNumeric()) {
+				if (data.numberToType(type)) {
+					return (T) data.getValue();
 				}
 			}
 		}
 		return null;
 	}
 	
-	protected boolean modelPostDefinition (ValDef def) {
+	/**
+	 * Binds a definition to its variable in the model.
+	 * This method is called once for each definition that names a variable,
+	 * when the validation text has been parsed.
+	 * 
+	 * @param index the definition index
+	 * @param def the validation definition
+	 * @return the type of the variable or null if it can not be bound
+	 */
+	protected ValType modelBind (int index, ValDef def) {
+		return null;
+	}
+	
+	/**
+	 * Sets the variable bound to a definition to a valid value.
+	 * 
+	 * @param index the definition index
+	 * @param def the validation definition
+	 * @param value the valid value
+	 * @return true if there are no errors
+	 */
+	protected boolean modelSetValue (int index, ValDef def, Object value) {
 		return true;
 	}
 	
-	protected boolean modelSetValue (ValDef def, Object value) {
+	/**
+	 * Former hook for binding a definition, no longer called.
+	 * 
+	 * @param def the validation definition
+	 * @return true
+	 * @deprecated replaced by {@link #modelBind(int, ValDef)}
+	 */
+	@Deprecated
+	protected final boolean modelPostDefinition (ValDef def) {
 		return true;
 	}
 	
 	/**
-	 * Post process a {@code ValDef} definition.
-	 * This method is called by the parser after encountering the 
-	 * equal sign of a validation definition. There may be a type
-	 * and/or a variable name specified at this point.
+	 * Former hook for setting a variable, no longer called.
 	 * 
 	 * @param def the validation definition
-	 * @return true if there are no errors
+	 * @param value the valid value
+	 * @return true
+	 * @deprecated replaced by {@link #modelSetValue(int, ValDef, Object)}
 	 */
-	boolean postDefinition (ValDef def) {
-		
-		// Variable name specified.
-		// Fill in definition from the model.
-		String varName = def.getVarName();
-		ValData varData = null;
-		ValType varType = null;
-		if (varName != null) {
-			if (! modelPostDefinition(def)) {
-				return false;
+	@Deprecated
+	protected final boolean modelSetValue (ValDef def, Object value) {
+		return true;
+	}
+	
+	/**
+	 * Returns the parsed schema resolved for the model.
+	 * The default binds the schema to the model. A model that binds the same
+	 * validation text the same way each time may return a schema it resolved
+	 * earlier instead, in which case no definition is bound again.
+	 * 
+	 * @param template the parsed schema
+	 * @return the resolved schema or null if there are errors
+	 */
+	protected ValSchema modelSchema (ValSchema template) {
+		return bind(template);
+	}
+	
+	/**
+	 * Binds the parsed schema to the model.
+	 * The parsed schema is shared by every model that uses the same
+	 * validation text; only the binding is done for each model. There
+	 * may be a type and/or a variable name specified for each definition.
+	 * A definition without a type takes the type of its variable.
+	 * 
+	 * @param template the parsed schema
+	 * @return the resolved schema or null if there are errors
+	 */
+	private ValSchema bind (ValSchema template) {
+		List<ValDef> defList = template.getDefList();
+		List<ValType> types = new ArrayList<ValType>();
+		for (int index = 0; index < defList.size(); index++) {
+			ValDef def = defList.get(index);
+			ValType type = def.getType();
+			
+			// Variable name specified.
+			// Get the variable type from the model.
+			String varName = def.getVarName();
+			ValType varType = null;
+			if (varName != null) {
+				varType = modelBind(index, def);
+				if (varType == null) {
+					return null;
+				}
 			}
-			varData = def.getVarData();
-			if (varData == null) {
-				return false;
+			
+			// No type specified, set to type of variable.
+			if (type == null) {
+				if (varType == null) {
+					System.out.println("ERROR - No type specified for: " + def.getName());
+					return null;
+				}
+				types.add(varType);
 			}
-			varType = varData.getType();
-		}
-		
-		// No variable type, nothing more to do.
-		if (varType == null) {
-			return true;
-		}
-		
-		// No type specified, set to type of variable.
-		ValType type = def.getType();
-		if (type == null) {
-			def.setType(varType);
-		}
-		
-		// Type and variable both specified, check compatibility.
-		else if (type != varType) {
-			if (! type.isCompatible(varType)) {
-				System.out.println("ERROR - Incompatible types");
-				System.out.println("        " + def.getName() + " is type: " + type);
-				System.out.println("        " + varName + " is type: " + varType);
-				
-				System.out.println(type + " min = " + type.getMin() + " max = " + type.getMax());
-				System.out.println(varType + " min = " + varType.getMin() + " max = " +
-						varType.getMax());
-				return false;
+			
+			// Type and variable both specified, check compatibility.
+			else if (varType != null && type != varType) {
+				if (! type.isCompatible(varType)) {
+					System.out.println("ERROR - Incompatible types");
+					System.out.println("        " + def.getName() + " is type: " + type);
+					System.out.println("        " + varName + " is type: " + varType);
+					
+					System.out.println(type + " min = " + type.getMin() + " max = " + type.getMax());
+					System.out.println(varType + " min = " + varType.getMin() + " max = " +
+							varType.getMax());
+					return null;
+				}
 			}
 		}
-		return true;
+		return template.resolve(types.toArray(new ValType[types.size()]));
 	}
 	
-	private boolean convert (ValDef def, String val) {
+	private boolean convert (int index, ValDef def, ValData data) {
 		String varName = def.getVarName();
 		if (varName == null) {
 			return true;
 		}
-		ValData varData = def.getVarData();
-		Object value = varData.getValue();
+		Object value = data.getValue();
 		if (value != null) {
-			modelSetValue(def, value);
+			modelSetValue(index, def, value);
 		}
 		return true;
 	}
 	
-	private ValDef findDef (String name) {
-		if (defList != null) {
-			for (ValDef def : defList) {
-				if (def.getName().equals(name)) {
-					return def;
-				}
-			}
-		}
-		return null;
-	}
-
 	/**
 	  * Converts an array of Strings to a String. New line characters are added
 	  * after each element of the array.
@@ -238,7 +402,7 @@ public abstract class ValBase {
 	  * @param array the String array
 	  * @return newline delimited String
 	  */
-	 private String arrayToString (String[] array) {
+	 static String arrayToString (String[] array) {
 		 StringBuilder sb = new StringBuilder();
 		 for (String s : array) {
 			 sb.append(s);
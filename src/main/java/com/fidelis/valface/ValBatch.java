@@ -0,0 +1,366 @@
+/**
+ *+
+ *	ValBatch.java
+ *	1.0.0  2026-10-17  Leo Hinterlang
+ *-
+ */
+package com.fidelis.valface;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Result of validating a batch of records.
+ * A batch is produced by one of the {@code validateBatch} methods of
+ * {@link ValSchema} and belongs to the caller. It is held by column: for
+ * each definition slot there is a bit set of the records that supplied a
+ * value, a bit set of the records with a valid value and a column of the
+ * parsed values, indexed by record.
+ * <p>
+ * The parsed values are kept as primitives where the definition type allows.
+ * <ul>
+ * <li>BYTE, SHORT, INT and LONG values are in a long column.</li>
+ * <li>FLOAT and DOUBLE values are in a double column.</li>
+ * <li>DATE values are day numbers in a long column.</li>
+ * <li>DATETIME values are day numbers in a long column and nanoseconds
+ * of the day in a nano column.</li>
+ * <li>Any other value is the value object in a value column.</li>
+ * </ul>
+ * An entry of a column is meaningful only for a record whose value is valid.
+ * A column may be longer than the number of records.
+ *
+ * @version 1.0.0
+ * @author Leo Hinterlang
+ */
+public final class ValBatch {
+
+	private static final int LONG_COLUMN	= 0;
+	private static final int DOUBLE_COLUMN	= 1;
+	private static final int DATE_COLUMN	= 2;
+	private static final int VALUE_COLUMN	= 3;
+
+	private final ValSchema schema;
+	private final int[] kinds;
+	private final BitSet[] present;
+	private final BitSet[] valid;
+	private final BitSet invalidRecords = new BitSet();
+	private final long[][] longs;
+	private final double[][] doubles;
+	private final long[][] nanos;
+	private final Object[][] values;
+	private int size;
+	private int capacity;
+
+	/**
+	 * Creates an empty batch for the given schema.
+	 *
+	 * @param schema the validation schema
+	 * @param capacity the number of records expected
+	 */
+	ValBatch (ValSchema schema, int capacity) {
+		int fields = schema.size();
+		this.schema = schema;
+		this.kinds = new int[fields];
+		this.present = new BitSet[fields];
+		this.valid = new BitSet[fields];
+		this.longs = new long[fields][];
+		this.doubles = new double[fields][];
+		this.nanos = new long[fields][];
+		this.values = new Object[fields][];
+		this.capacity = Math.max(capacity, 1);
+		for (int slot = 0; slot < fields; slot++) {
+			present[slot] = new BitSet(this.capacity);
+			valid[slot] = new BitSet(this.capacity);
+			ValType type = schema.getDefList().get(slot).getType();
+			switch (type) {
+			case BYTE:
+			case SHORT:
+			case INT:
+			case LONG:
+				kinds[slot] = LONG_COLUMN;
+				longs[slot] = new long[this.capacity];
+				break;
+			case FLOAT:
+			case DOUBLE:
+				kinds[slot] = DOUBLE_COLUMN;
+				doubles[slot] = new double[this.capacity];
+				break;
+			case DATE:
+			case DATETIME:
+				kinds[slot] = DATE_COLUMN;
+				longs[slot] = new long[this.capacity];
+				if (type == ValType.DATETIME) {
+					nanos[slot] = new long[this.capacity];
+				}
+				break;
+			default:
+				kinds[slot] = VALUE_COLUMN;
+				values[slot] = new Object[this.capacity];
+				break;
+			}
+		}
+	}
+
+	/**
+	 * Adds a record to the batch, growing the columns if they are full.
+	 *
+	 * @return the record index
+	 */
+	int addRecord () {
+		if (size == capacity) {
+			capacity *= 2;
+			for (int slot = 0; slot < kinds.length; slot++) {
+				if (longs[slot] != null) {
+					longs[slot] = Arrays.copyOf(longs[slot], capacity);
+				}
+				if (doubles[slot] != null) {
+					doubles[slot] = Arrays.copyOf(doubles[slot], capacity);
+				}
+				if (nanos[slot] != null) {
+					nanos[slot] = Arrays.copyOf(nanos[slot], capacity);
+				}
+				if (values[slot] != null) {
+					values[slot] = Arrays.copyOf(values[slot], capacity);
+				}
+			}
+		}
+		return size++;
+	}
+
+	void setValid (int record, int slot, ValData data) {
+		present[slot].set(record);
+		valid[slot].set(record);
+		switch (kinds[slot]) {
+		case LONG_COLUMN:
+			longs[slot][record] = data.longValue();
+			break;
+		case DOUBLE_COLUMN:
+			doubles[slot][record] = data.doubleValue();
+			break;
+		case DATE_COLUMN:
+			longs[slot][record] = data.getDays();
+			if (nanos[slot] != null) {
+				nanos[slot][record] = data.getNanoOfDay();
+			}
+			break;
+		default:
+			values[slot][record] = data.getValue();
+			break;
+		}
+	}
+
+	void setInvalid (int record, int slot) {
+		present[slot].set(record);
+		invalidRecords.set(record);
+	}
+
+	/**
+	 * Returns the number of records in the batch.
+	 *
+	 * @return the number of records
+	 */
+	public int size () {
+		return size;
+	}
+
+	/**
+	 * Returns true if none of the supplied values of any record were invalid.
+	 *
+	 * @return true if all supplied values are valid
+	 */
+	public boolean isValid () {
+		return invalidRecords.isEmpty();
+	}
+
+	/**
+	 * Returns true if none of the supplied values of a record were invalid.
+	 *
+	 * @param record the record index
+	 * @return true if all supplied values of the record are valid
+	 */
+	public boolean isValid (int record) {
+		return ! invalidRecords.get(record);
+	}
+
+	/**
+	 * Returns true if the value of a record in a slot was supplied and is valid.
+	 *
+	 * @param record the record index
+	 * @param slot the definition index
+	 * @return true if the value is valid
+	 */
+	public boolean isValid (int record, int slot) {
+		return valid[slot].get(record);
+	}
+
+	/**
+	 * Returns true if a value of a record was supplied for the definition
+	 * in a slot. The value may or may not be valid.
+	 *
+	 * @param record the record index
+	 * @param slot the definition index
+	 * @return true if a value was supplied
+	 */
+	public boolean isPresent (int record, int slot) {
+		return present[slot].get(record);
+	}
+
+	/**
+	 * Returns the records with at least one invalid value.
+	 * The bit set belongs to the batch and must not be modified.
+	 *
+	 * @return the invalid records
+	 */
+	public BitSet getInvalidRecords () {
+		return invalidRecords;
+	}
+
+	/**
+	 * Returns the records that supplied a value for the definition in a slot.
+	 * The bit set belongs to the batch and must not be modified.
+	 *
+	 * @param slot the definition index
+	 * @return the records with a value
+	 */
+	public BitSet getPresent (int slot) {
+		return present[slot];
+	}
+
+	/**
+	 * Returns the records with a valid value for the definition in a slot.
+	 * The bit set belongs to the batch and must not be modified.
+	 *
+	 * @param slot the definition index
+	 * @return the records with a valid value
+	 */
+	public BitSet getValid (int slot) {
+		return valid[slot];
+	}
+
+	/**
+	 * Returns the long column of a slot.
+	 * This is the column of an integral, DATE or DATETIME definition.
+	 *
+	 * @param slot the definition index
+	 * @return the long column or null if the slot has none
+	 */
+	public long[] getLongColumn (int slot) {
+		return longs[slot];
+	}
+
+	/**
+	 * Returns the double column of a FLOAT or DOUBLE definition.
+	 *
+	 * @param slot the definition index
+	 * @return the double column or null if the slot has none
+	 */
+	public double[] getDoubleColumn (int slot) {
+		return doubles[slot];
+	}
+
+	/**
+	 * Returns the nanosecond of the day column of a DATETIME definition.
+	 *
+	 * @param slot the definition index
+	 * @return the nano column or null if the slot has none
+	 */
+	public long[] getNanoColumn (int slot) {
+		return nanos[slot];
+	}
+
+	/**
+	 * Returns the value column of a definition whose values are not
+	 * kept as primitives.
+	 *
+	 * @param slot the definition index
+	 * @return the value column or null if the slot has none
+	 */
+	public Object[] getValueColumn (int slot) {
+		return values[slot];
+	}
+
+	/**
+	 * Returns the value of a record in a slot as an int, as
+	 * {@link ValResult#getInt(int, int)} does.
+	 *
+	 * @param record the record index
+	 * @param slot the definition index
+	 * @param defaultValue the value returned if there is no int value
+	 * @return the int value or the default
+	 */
+	public int getInt (int record, int slot, int defaultValue) {
+		if (valid[slot].get(record)) {
+			if (kinds[slot] == LONG_COLUMN) {
+				long number = longs[slot][record];
+				if (ValType.INT.checkRange(number)) {
+					return (int) number;
+				}
+			} else if (kinds[slot] == DOUBLE_COLUMN) {
+				long number = (long) doubles[slot][record];
+				if (ValType.INT.checkRange(number)) {
+					return (int) number;
+				}
+			} else if (values[slot] != null && values[slot][record] instanceof Number) {
+				long number = ((Number) values[slot][record]).longValue();
+				if (ValType.INT.checkRange(number)) {
+					return (int) number;
+				}
+			}
+		}
+		return defaultValue;
+	}
+
+	/**
+	 * Returns the value of a record in a slot as a long, as
+	 * {@link ValResult#getLongValue(int, long)} does.
+	 *
+	 * @param record the record index
+	 * @param slot the definition index
+	 * @param defaultValue the value returned if there is no long value
+	 * @return the long value or the default
+	 */
+	public long getLongValue (int record, int slot, long defaultValue) {
+		if (valid[slot].get(record)) {
+			if (kinds[slot] == LONG_COLUMN) {
+				return longs[slot][record];
+			} else if (kinds[slot] == DOUBLE_COLUMN) {
+				return (long) doubles[slot][record];
+			} else if (values[slot] != null && values[slot][record] instanceof Number) {
+				return ((Number) values[slot][record]).longValue();
+			}
+		}
+		return defaultValue;
+	}
+
+	/**
+	 * Returns the value of a record in a slot as a double, as
+	 * {@link ValResult#getDoubleValue(int, double)} does.
+	 *
+	 * @param record the record index
+	 * @param slot the definition index
+	 * @param defaultValue the value returned if there is no double value
+	 * @return the double value or the default
+	 */
+	public double getDoubleValue (int record, int slot, double defaultValue) {
+		if (valid[slot].get(record)) {
+			if (kinds[slot] == LONG_COLUMN) {
+				return longs[slot][record];
+			} else if (kinds[slot] == DOUBLE_COLUMN) {
+				return doubles[slot][record];
+			} else if (values[slot] != null && values[slot][record] instanceof Number) {
+				return ((Number) values[slot][record]).doubleValue();
+			}
+		}
+		return defaultValue;
+	}
+
+	/**
+	 * Returns the schema that produced this batch.
+	 *
+	 * @return the validation schema
+	 */
+	public ValSchema getSchema () {
+		return schema;
+	}
+
+}
@@ -0,0 +1,187 @@
+/**
+ *+
+ *	ValBinding.java
+ *	1.0.0  2026-10-17  Leo Hinterlang
+ *-
+ */
+package com.fidelis.valface;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.fidelis.argface.ArgReflect;
+
+/**
+ * Binding of a validation definition to a variable of a model class.
+ * The variable type is the return type of its getter or the type of its
+ * field. The value is written by its setter or, when there is no getter,
+ * by its field. A variable with a getter and no setter is not written.
+ * A variable whose setter or field can not be accessed has an error.
+ * A static setter or field is written without the model.
+ * <p>
+ * The getter, field and setter are found once for each model class and
+ * variable name and the write is resolved into a {@code MethodHandle}.
+ * Later models of the same class share the binding, so binding a model
+ * is a map lookup and setting a value is a direct call. The bindings are
+ * kept with the class and do not keep the class from being unloaded.
+ *
+ * @version 1.0.0
+ * @author Leo Hinterlang
+ */
+final class ValBinding {
+
+	private static final MethodType SETTER_TYPE =
+			MethodType.methodType(void.class, Object.class, Object.class);
+
+	private static final ClassValue<ConcurrentHashMap<String, ValBinding>> bindings =
+			new ClassValue<ConcurrentHashMap<String, ValBinding>>() {
+		protected ConcurrentHashMap<String, ValBinding> computeValue (Class<?> type) {
+			return new ConcurrentHashMap<String, ValBinding>();
+		}
+	};
+
+	private final String varName;
+	private final Class<?> typeClass;
+	private final MethodHandle setter;
+	private final String error;
+
+	private ValBinding (String varName, Class<?> typeClass, MethodHandle setter, String error) {
+		this.varName = varName;
+		this.typeClass = typeClass;
+		this.setter = setter;
+		this.error = error;
+	}
+
+	/**
+	 * Returns the binding of a variable of the model held by an {@code ArgReflect}.
+	 *
+	 * @param reflect the reflection of the model
+	 * @param varName the variable name
+	 * @return the binding, with a null type class if the variable is not found
+	 */
+	static ValBinding get (ArgReflect reflect, String varName) {
+		ConcurrentHashMap<String, ValBinding> classBindings = bindings.get(reflect.getObject().getClass());
+		ValBinding binding = classBindings.get(varName);
+		if (binding == null) {
+			binding = resolve(reflect, varName);
+			ValBinding prior = classBindings.putIfAbsent(varName, binding);
+			if (prior != null) {
+				binding = prior;
+			}
+		}
+		return binding;
+	}
+
+	/**
+	 * Finds the getter, field and setter of a variable and resolves the write.
+	 */
+	private static ValBinding resolve (ArgReflect reflect, String varName) {
+
+		// Find getter for return type.
+		Class<?> typeClass = null;
+		Field field = null;
+		Method getter = reflect.findGetter(varName, null);
+		if (getter != null) {
+			typeClass = getter.getReturnType();
+		}
+
+		// No getter, try variable field.
+		else {
+			field = reflect.findField(varName, null);
+			if (field != null) {
+				typeClass = field.getType();
+			}
+		}
+		if (typeClass == null) {
+			return new ValBinding(varName, null, null, "Named variable not found: " + varName);
+		}
+
+		// Find setter method. (Optional)
+		Method method = reflect.findSetter(varName, typeClass);
+		MethodHandle setter = null;
+		try {
+			MethodHandles.Lookup lookup = MethodHandles.lookup();
+			if (method != null) {
+				method.setAccessible(true);
+				setter = lookup.unreflect(method);
+				if (Modifier.isStatic(method.getModifiers())) {
+					setter = MethodHandles.dropArguments(setter, 0, Object.class);
+				}
+			}
+			else if (field != null) {
+				field.setAccessible(true);
+				setter = lookup.unreflectSetter(field);
+				if (Modifier.isStatic(field.getModifiers())) {
+					setter = MethodHandles.dropArguments(setter, 0, Object.class);
+				}
+			}
+			if (setter != null) {
+				setter = setter.asType(SETTER_TYPE);
+			}
+		} catch (Exception ex) {
+			return new ValBinding(varName, typeClass, null, "Variable can not be set: " + varName + " (" + ex + ")");
+		}
+		return new ValBinding(varName, typeClass, setter, null);
+	}
+
+	/**
+	 * Returns the type of the variable.
+	 *
+	 * @return the variable type or null if the variable was not found
+	 */
+	Class<?> getTypeClass () {
+		return typeClass;
+	}
+
+	/**
+	 * Returns the reason the variable can not be bound.
+	 *
+	 * @return the error message or null if the variable is bound
+	 */
+	String getError () {
+		return error;
+	}
+
+	/**
+	 * Returns true if the variable is written by {@link #setValue}.
+	 * A variable with a getter and no setter is not written.
+	 *
+	 * @return true if the variable has a setter or field to write
+	 */
+	boolean isWritable () {
+		return setter != null;
+	}
+
+	/**
+	 * Sets the variable of a model to a value.
+	 * A value that is not of the variable type is not written. An exception
+	 * thrown by the setter is reported and the value is not written. An
+	 * {@code Error} is thrown to the caller.
+	 *
+	 * @param model the model object
+	 * @param value the value
+	 * @return true if the value was written, false if it was not
+	 */
+	boolean setValue (Object model, Object value) {
+		if (setter == null || (value == null && typeClass.isPrimitive())) {
+			return false;
+		}
+		try {
+			setter.invokeExact(model, value);
+			return true;
+		} catch (ClassCastException ex) {
+			return false;
+		} catch (Error err) {
+			throw err;
+		} catch (Throwable ex) {
+			System.out.println("ERROR - Setting variable: " + varName + " (" + ex + ")");
+			return false;
+		}
+	}
+
+}
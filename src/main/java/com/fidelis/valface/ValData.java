@@ -8,7 +8,6 @@ package com.fidelis.valface;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
-import java.text.DateFormat;
 import java.text.NumberFormat;
 import java.text.ParsePosition;
 import java.util.Calendar;
@@ -32,52 +31,167 @@ import com.fidelis.argface.Debug;
  */
 public class ValData {
 	
+	private static final AFormat MEDIUM_DATE = ADate.compileFormat("mon Day, year");
+	
 	private ValType	type;
 	private Object	value;
+	private long	longValue;
+	private long	nanoValue;
+	private double	doubleValue;
+	private boolean	packed;
 	
 	private ValData () {
 		type = ValType.UNKNOWN;
 		value = null;
 	}
 	
+	/**
+	 * Creates a {@code ValData} for a value of the given type.
+	 * A DATE or DATETIME value may be an {@code ADate}, {@code ADateTime},
+	 * {@code Calendar} or {@code Date}. It is held as a day number and a
+	 * nanosecond of the day rather than as the object.
+	 * 
+	 * @param type the value type
+	 * @param value the value object
+	 */
 	public ValData (ValType type, Object value) {
 		this.type = type;
 		this.value = value;
+		if (type == ValType.DATE || type == ValType.DATETIME) {
+			packDate(value);
+		}
+	}
+	
+	/**
+	 * Sets the day number and the nanosecond of the day from a date object.
+	 * The time of day of a DATE is dropped. The object is created again
+	 * from these values if it is requested.
+	 * 
+	 * @param date the date object
+	 */
+	private void packDate (Object date) {
+		ADate day;
+		ATime time = null;
+		if (date instanceof ADate) {
+			day = (ADate) date;
+		} else if (date instanceof ADateTime) {
+			day = ((ADateTime) date).toADate();
+			time = ((ADateTime) date).toATime();
+		} else if (date instanceof Calendar) {
+			day = ADate.from((Calendar) date);
+			time = ATime.from((Calendar) date);
+		} else if (date instanceof Date) {
+			day = ADate.from((Date) date);
+			time = ATime.from((Date) date);
+		} else {
+			return;
+		}
+		longValue = day.getDays();
+		nanoValue = (type == ValType.DATE || time == null) ? 0 : time.toNanoOfDay();
+		value = null;
+		packed = true;
 	}
 	
 	public static ValData parse (ValType targetType, String val)
 		throws IllegalArgumentException {
+		return parse(targetType, val, true);
+	}
+	
+	/**
+	 * Parses the text of a value without throwing an exception.
+	 * Text that is not valid for the type is reported by returning null.
+	 * Rejecting a value is the common case when validating untrusted input
+	 * and an exception for each rejected value is costly.
+	 * 
+	 * @param targetType the type of the value
+	 * @param val the value text
+	 * @return the parsed value or null if the text is not valid
+	 */
+	public static ValData tryParse (ValType targetType, String val) {
+		return parse(targetType, val, false);
+	}
+	
+	/**
+	 * Parses the text of a value into an existing {@code ValData} without
+	 * throwing an exception. Every field of the {@code ValData} is replaced.
+	 * A batch validation reuses one {@code ValData} for each value it parses
+	 * so that a valid number or date does not allocate.
+	 * 
+	 * @param targetType the type of the value
+	 * @param val the value text
+	 * @param valData the {@code ValData} to reuse
+	 * @return the reused {@code ValData} or null if the text is not valid
+	 */
+	static ValData tryParse (ValType targetType, String val, ValData valData) {
+		valData.type = ValType.UNKNOWN;
+		valData.value = null;
+		valData.longValue = 0;
+		valData.nanoValue = 0;
+		valData.doubleValue = 0;
+		valData.packed = false;
+		return parse(targetType, val, false, valData);
+	}
+	
+	private static ValData parse (ValType targetType, String val, boolean strict)
+		throws IllegalArgumentException {
 		
 		// Create a new ValData object.
-		ValData valData = new ValData();
+		return parse(targetType, val, strict, new ValData());
+	}
+	
+	private static ValData parse (ValType targetType, String val, boolean strict, ValData valData)
+		throws IllegalArgumentException {
 		
 		// If target type is numeric, parse a number.
+		// Integral and floating types are kept as primitives if possible.
 		if (targetType.isNumeric()) {
-			Number number = parseNumber(targetType, val);
-			
-			// Good number. Set as the ValData value object.
-			if (number != null) {
-				valData.value = number;
-			}
-			
-			// Otherwise, throw an exception.
-			else {
-				throw new IllegalArgumentException("Invalid number: " + val +
-						" for type " + targetType);
+			if (! valData.parsePrimitive(targetType, val)) {
+				Number number = parseNumber(targetType, val);
+				
+				// Good number. Set as the ValData value object.
+				if (number != null) {
+					valData.value = number;
+				}
+				
+				// Otherwise, throw an exception or fail.
+				else if (strict) {
+					throw new IllegalArgumentException("Invalid number: " + val +
+							" for type " + targetType);
+				}
+				else {
+					return null;
+				}
 			}
 		}
 		
 		// If target type is a date, parse the date.
+		// The date is kept as its day number.
 		else if (targetType == ValType.DATE) {
-			Calendar date = parseDate(val);
-			
-			// Good date. Set the value.
-			valData.value = date;
+			ADate date = strict ? ValDateParser.parseADate(val) : ValDateParser.tryParseADate(val);
+			if (date == null) {
+				return null;
+			}
+			valData.longValue = date.getDays();
+			valData.packed = true;
+		}
+		
+		// If target type is a date and time, parse the date-time.
+		else if (targetType == ValType.DATETIME) {
+			ADateTime dateTime = strict ? ADateTime.parse(val) : ADateTime.tryParse(val);
+			if (dateTime == null) {
+				return null;
+			}
+			valData.longValue = dateTime.getDays();
+			valData.nanoValue = dateTime.toNanoOfDay();
+			valData.packed = true;
 		}
 		
 		// If target type is a time, parse the time.
 		else if (targetType == ValType.TIME) {
-			ATime time = parseTime(val);
+			ATime time = strict ? ValTimeParser.parse(val) : ValTimeParser.tryParse(val);
+			if (time == null) {
+				return null;
+			}
 			valData.value = time;
 		}
 		
@@ -89,11 +203,108 @@ public class ValData {
 		// Set the ValData type.
 		valData.type = targetType;
 		
-		// Return the new ValData.
-		Debug.verbose("ValData.parse: " + valData);
+		// Return the parsed ValData.
+		if (Debug.isVerbose()) {
+			Debug.verbose("ValData.parse: " + valData);
+		}
 		return valData;
 	}
 	
+	/**
+	 * Parses a number of a primitive numeric type without boxing it.
+	 * Only the forms accepted by {@code decode} for the integral types and
+	 * {@code valueOf} for float and double are handled. Anything else,
+	 * including a value out of range for the type, is left to the general
+	 * parse so that the result is the same as before. Invalid text is
+	 * rejected without an exception.
+	 * 
+	 * @param targetType the numeric type
+	 * @param val the value text
+	 * @return true if the number was parsed
+	 */
+	private boolean parsePrimitive (ValType targetType, String val) {
+		switch (targetType) {
+		case BYTE:
+		case SHORT:
+		case INT:
+		case LONG:
+			if (! decodeLong(val) || ! targetType.checkRange(longValue)) {
+				return false;
+			}
+			break;
+		case FLOAT:
+			if (! ValDigits.isDouble(val)) {
+				return false;
+			}
+			doubleValue = Float.parseFloat(val);
+			break;
+		case DOUBLE:
+			if (! ValDigits.isDouble(val)) {
+				return false;
+			}
+			doubleValue = Double.parseDouble(val);
+			break;
+		default:
+			return false;
+		}
+		type = targetType;
+		packed = true;
+		return true;
+	}
+	
+	/**
+	 * Decodes a decimal, hexadecimal or octal number as {@code Long.decode}
+	 * does, but into the primitive long value.
+	 * 
+	 * @param val the value text
+	 * @return true if the text is a valid long
+	 */
+	private boolean decodeLong (String val) {
+		int len = val.length();
+		if (len == 0) {
+			return false;
+		}
+		int pos = 0;
+		boolean negative = false;
+		char c = val.charAt(0);
+		if (c == '-' || c == '+') {
+			negative = (c == '-');
+			pos = 1;
+		}
+		int radix = 10;
+		if (val.startsWith("0x", pos) || val.startsWith("0X", pos)) {
+			radix = 16;
+			pos += 2;
+		} else if (val.startsWith("#", pos)) {
+			radix = 16;
+			pos += 1;
+		} else if (val.startsWith("0", pos) && len > pos + 1) {
+			radix = 8;
+			pos += 1;
+		}
+		if (pos >= len) {
+			return false;
+		}
+		
+		// Accumulate negatively so that Long.MIN_VALUE can be represented.
+		long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+		long multmin = limit / radix;
+		long result = 0;
+		for (; pos < len; pos++) {
+			int digit = Character.digit(val.charAt(pos), radix);
+			if (digit < 0 || result < multmin) {
+				return false;
+			}
+			result *= radix;
+			if (result < limit + digit) {
+				return false;
+			}
+			result -= digit;
+		}
+		longValue = negative ? result : -result;
+		return true;
+	}
+	
 	public ValData (String typeName, Object value) {
 		Debug.verbose("ValData typeName: " + typeName);
 		type = ValType.getType(typeName);
@@ -131,11 +342,12 @@ public class ValData {
 	}
 	
 	public boolean numberToType (ValType targetType) {
-		Number number = (Number) value;
+		Number number = (Number) getValue();
 		number = numberToType(number, targetType);
 		if (number != null) {
 			value = number;
 			type = targetType;
+			packed = false;
 			return true;
 		}
 		return false;
@@ -182,25 +394,25 @@ public class ValData {
 		else if (target.equals(Byte.class)) {
 			type = ValType.BYTE;
 			if (type.checkRange(number.longValue())) {
-				return (T) new Byte(number.byteValue());
+				return (T) Byte.valueOf(number.byteValue());
 			}
 		}
 		else if (target.equals(Short.class)) {
 			type = ValType.SHORT;
 			if (type.checkRange(number.longValue())) {
-				return (T) new Short(number.shortValue());
+				return (T) Short.valueOf(number.shortValue());
 			}
 		}
 		else if (target.equals(Integer.class)) {
 			type = ValType.INT;
 			if (type.checkRange(number.longValue())) {
-				return (T) new Integer(number.intValue());
+				return (T) Integer.valueOf(number.intValue());
 			}
 		}
 		else if (target.equals(Long.class)) {
 			type = ValType.LONG;
 			if (type.checkRange(number.longValue())) {
-				return (T) new Long(number.longValue());
+				return (T) Long.valueOf(number.longValue());
 			}
 		}
 		else if (target.equals(BigInteger.class)) {
@@ -211,10 +423,10 @@ public class ValData {
 			}
 		}
 		else if (target.equals(Float.class)) {
-			return (T) new Float(number.floatValue());
+			return (T) Float.valueOf(number.floatValue());
 		}
 		else if (target.equals(Double.class)) {
-			return (T) new Double(number.doubleValue());
+			return (T) Double.valueOf(number.doubleValue());
 		}
 		return null;
 	}
@@ -222,29 +434,12 @@ public class ValData {
 	private static Number parseNumber (ValType targetType, String val) {
 		Number number = null;
 		switch (targetType) {
+		
+		// The decode forms have been tried by parsePrimitive.
 		case BYTE:
-			try {
-				number = Byte.decode(val);
-			} catch (NumberFormatException ex) {
-			}
-			break;
 		case SHORT:
-			try {
-				number = Short.decode(val);
-			} catch (NumberFormatException ex) {
-			}
-			break;
 		case INT:
-			try {
-				number = Integer.decode(val);
-			} catch (NumberFormatException ex) {
-			}
-			break;
 		case LONG:
-			try {
-				number = Long.decode(val);
-			} catch (NumberFormatException ex) {
-			}
 			break;
 		case BIGINT:
 			try {
@@ -264,16 +459,7 @@ public class ValData {
 			}
 			break;
 		case FLOAT:
-			try {
-				number = Float.valueOf(val);
-			} catch (NumberFormatException ex) {
-			}
-			break;
 		case DOUBLE:
-			try {
-				number = Double.valueOf(val);
-			} catch (NumberFormatException ex) {
-			}
 			break;
 		case BIGDEC:
 			try {
@@ -285,7 +471,9 @@ public class ValData {
 			return null;
 		}
 		if (number == null) {
-			Debug.verbose("Try number format for: " + val);
+			if (Debug.isVerbose()) {
+				Debug.verbose("Try number format for: " + val);
+			}
 			number = parseNumberFormat(targetType, val);
 		}
 		return number;
@@ -306,14 +494,6 @@ public class ValData {
 		return numberToType(number, targetType);
 	}
 	
-	private static Calendar parseDate (String val) throws IllegalArgumentException {
-		return ValDateParser.parse(val);
-	}
-	
-	private static ATime parseTime (String val) throws IllegalArgumentException {
-		return ValTimeParser.parse(val);
-	}
-	
 	private Number convert (String val) {
 		Number number = null;
 		if (isIntegral(val)) {
@@ -348,9 +528,12 @@ public class ValData {
 		if (type == ValType.STRING && other.type == ValType.STRING) {
 			return ((String)value).compareTo((String)other.value);
 		}
-		else if (type == ValType.DATE && other.type == ValType.DATE) {
-			Debug.verbose("Compare: " + this + " to " + other);
-			return ((Calendar)value).compareTo((Calendar)other.value);
+		else if ((type == ValType.DATE || type == ValType.DATETIME) && other.type == type) {
+			if (Debug.isVerbose()) {
+				Debug.verbose("Compare: " + this + " to " + other);
+			}
+			int result = Long.compare(longValue, other.longValue);
+			return (result != 0) ? result : Long.compare(nanoValue, other.nanoValue);
 		}
 		else if (type == ValType.TIME && other.type == ValType.TIME) {
 			Debug.verbose("Compare: " + this + " to " + other);
@@ -361,15 +544,19 @@ public class ValData {
 	
 	private int compareNumeric (ValData other) {
 		if (type.isIntegral()) {
-			Long longValue = ((Number)value).longValue();
-			Long otherLongValue = ((Number)other.value).longValue();
-			Debug.verbose("compare longs: " + longValue + " to " + otherLongValue);
-			return longValue.compareTo(otherLongValue);
+			long thisLong = longValue();
+			long otherLong = other.longValue();
+			if (Debug.isVerbose()) {
+				Debug.verbose("compare longs: " + thisLong + " to " + otherLong);
+			}
+			return Long.compare(thisLong, otherLong);
 		} else {
-			Double doubleValue = ((Number)value).doubleValue();
-			Double otherDoubleValue = ((Number)other.value).doubleValue();
-			Debug.verbose("compare doubles: " + doubleValue + " to " + otherDoubleValue);
-			return doubleValue.compareTo(otherDoubleValue);
+			double thisDouble = doubleValue();
+			double otherDouble = other.doubleValue();
+			if (Debug.isVerbose()) {
+				Debug.verbose("compare doubles: " + thisDouble + " to " + otherDouble);
+			}
+			return Double.compare(thisDouble, otherDouble);
 		}
 	}
 	
@@ -468,9 +655,11 @@ public class ValData {
 	}
 	
 	private static int skipSign (String val) {
-		char c = val.charAt(0);
-		if (c == '+' || c == '-') {
-			return 1;
+		if (val.length() > 0) {
+			char c = val.charAt(0);
+			if (c == '+' || c == '-') {
+				return 1;
+			}
 		}
 		return 0;
 	}
@@ -536,21 +725,134 @@ public class ValData {
 	
 	/**
 	 * Returns the value object of this {@code ValData}.
+	 * A number parsed as a primitive is boxed on the first call.
+	 * A DATE is an {@code ADate} and a DATETIME is an {@code ADateTime}.
+	 * <p>
+	 * Boxing writes the value object without synchronization, so a
+	 * {@code ValData} that is shared between threads must be boxed with
+	 * {@link #boxValue()} before it is shared.
 	 * 
 	 * @return the value object
 	 */
 	public Object getValue () {
+		if (value == null && packed) {
+			value = box();
+		}
 		return value;
 	}
 	
+	/**
+	 * Boxes the value object now, when this {@code ValData} is a constant
+	 * of a schema that will be shared between threads. Afterwards no method
+	 * writes to it. The primitive value is kept and is still used by
+	 * {@link #longValue()} and {@link #doubleValue()}.
+	 * 
+	 * @return this {@code ValData}
+	 */
+	ValData boxValue () {
+		getValue();
+		return this;
+	}
+	
+	/**
+	 * Returns the numeric value as a long, without boxing.
+	 * 
+	 * @return the long value
+	 */
+	public long longValue () {
+		if (packed) {
+			return type.isIntegral() ? longValue : (long) doubleValue;
+		}
+		return ((Number) value).longValue();
+	}
+	
+	/**
+	 * Returns the numeric value as a double, without boxing.
+	 * 
+	 * @return the double value
+	 */
+	public double doubleValue () {
+		if (packed) {
+			return type.isIntegral() ? (double) longValue : doubleValue;
+		}
+		return ((Number) value).doubleValue();
+	}
+	
+	/**
+	 * Returns the day number of a DATE or DATETIME value.
+	 * 
+	 * @return the number of days since the start of the timeline
+	 * @see ADate#getDays()
+	 */
+	public int getDays () {
+		return (int) longValue;
+	}
+	
+	/**
+	 * Returns the nanosecond of the day of a DATETIME value.
+	 * The value is zero for a DATE.
+	 * 
+	 * @return the nanosecond of the day
+	 * @see ATime#toNanoOfDay()
+	 */
+	public long getNanoOfDay () {
+		return nanoValue;
+	}
+	
+	/**
+	 * Converts a value object for a variable of the given class.
+	 * A date is held as an {@code ADate} or {@code ADateTime}. A {@code Calendar}
+	 * or {@code Date} is created only for a variable of that class.
+	 * Any other value is returned unchanged.
+	 * 
+	 * @param value the value object
+	 * @param target the class of the variable
+	 * @return the value object for the variable
+	 */
+	static Object toClass (Object value, Class<?> target) {
+		if (target == null || target.isInstance(value)) {
+			return value;
+		}
+		Calendar cal = null;
+		if (value instanceof ADate) {
+			cal = ((ADate) value).toCalendar();
+		} else if (value instanceof ADateTime) {
+			if (target == ADate.class) {
+				return ((ADateTime) value).toADate();
+			}
+			cal = ((ADateTime) value).toCalendar();
+		}
+		if (cal != null) {
+			if (target.isInstance(cal)) {
+				return cal;
+			}
+			if (target == Date.class) {
+				return cal.getTime();
+			}
+		}
+		return value;
+	}
+	
+	private Object box () {
+		switch (type) {
+		case DATE:		return ADate.fromDays((int) longValue);
+		case DATETIME:	return ADateTime.fromDays((int) longValue, nanoValue);
+		case BYTE:		return Byte.valueOf((byte) longValue);
+		case SHORT:		return Short.valueOf((short) longValue);
+		case INT:		return Integer.valueOf((int) longValue);
+		case LONG:		return Long.valueOf(longValue);
+		case FLOAT:		return Float.valueOf((float) doubleValue);
+		default:		return Double.valueOf(doubleValue);
+		}
+	}
+	
 	public String toString () {
 		String typeName = "*";
+		Object value = getValue();
 		if (value != null) {
 			typeName = value.getClass().getSimpleName();
-			if (ValType.getType(typeName) == ValType.DATE) {
-				Date date = ((Calendar) value).getTime();
-				DateFormat df = DateFormat.getDateInstance(DateFormat.MEDIUM);
-				return "DATE " + df.format(date);
+			if (type == ValType.DATE) {
+				return "DATE " + MEDIUM_DATE.format((ADate) value);
 			}
 		}
 		return String.format("%s (%s) %s", type, typeName, value);
@@ -0,0 +1,184 @@
+/**
+ *+
+ *	ValDateExpr.java
+ *	1.0.0  2026-10-17  Leo Hinterlang
+ *-
+ */
+package com.fidelis.valface;
+
+/**
+ * A compiled date specification.
+ * <p>
+ * {@link ValDateParser#compile(String)} reduces a date specification to an
+ * anchor and a list of steps. The anchor is either today or a fixed date. Each
+ * step is one of the changes made by the keywords and modifiers of the
+ * specification, such as "plus 3 months" or "the Monday of this week".
+ * Evaluating the expression applies the steps to the anchor, so a relative
+ * specification such as {@code today.minus.100.years} can be compiled once and
+ * evaluated on any later day without being parsed again.
+ * <p>
+ * {@link #evaluate()} evaluates against the current date of the clock in use
+ * and keeps the result for the rest of that day. An expression is immutable
+ * apart from this cache and may be shared between threads.
+ *
+ * @version 1.0.0
+ * @author Leo Hinterlang
+ */
+public final class ValDateExpr {
+
+	static final int SET			= 0;
+	static final int PLUS_YEARS		= 1;
+	static final int PLUS_MONTHS	= 2;
+	static final int PLUS_DAYS		= 3;
+	static final int WITH_YEAR		= 4;
+	static final int WITH_MONTH		= 5;
+	static final int WITH_DAY		= 6;
+	static final int END_OF_MONTH	= 7;
+	static final int WEEKDAY		= 8;
+
+	private final String spec;
+	private final int[] ops;
+	private final int[] args;
+	private final int start;
+	private final boolean traditional;
+	private volatile Result result;
+
+	/**
+	 * Creates an expression from the steps recorded by the parser.
+	 * Evaluation begins at the last step that sets a fixed date since
+	 * any earlier steps have no effect.
+	 *
+	 * @param spec the date specification
+	 * @param ops the step operations
+	 * @param args the step arguments
+	 * @param traditional true if weeks begin on Sunday
+	 */
+	ValDateExpr (String spec, int[] ops, int[] args, boolean traditional) {
+		this.spec = spec;
+		this.ops = ops;
+		this.args = args;
+		this.traditional = traditional;
+		int first = 0;
+		for (int n = 0; n < ops.length; n++) {
+			if (ops[n] == SET) {
+				first = n;
+			}
+		}
+		this.start = first;
+	}
+
+	/**
+	 * Returns the date specification of this expression.
+	 *
+	 * @return the date specification
+	 */
+	public String getSpec () {
+		return spec;
+	}
+
+	/**
+	 * Returns true if the value of this expression depends on the current date.
+	 *
+	 * @return true if relative to today
+	 */
+	public boolean isRelative () {
+		return ops.length == 0 || ops[start] != SET;
+	}
+
+	/**
+	 * Evaluates this expression for the current date of the clock in use.
+	 * The result is kept and returned again until the date changes.
+	 *
+	 * @return the date
+	 * @throws IllegalArgumentException if a step is invalid for the current date
+	 * @see AClock
+	 */
+	public ADate evaluate () throws IllegalArgumentException {
+		ADate today = ADate.now();
+		Result r = result;
+		if (r == null || (isRelative() && ! r.today.equals(today))) {
+			r = new Result(today, evaluate(today));
+			result = r;
+		}
+		return r.date;
+	}
+
+	/**
+	 * Evaluates this expression for the given date as today.
+	 *
+	 * @param today the date to use for today
+	 * @return the date
+	 * @throws IllegalArgumentException if a step is invalid for this date,
+	 * such as a day of the month that the month does not have
+	 */
+	public ADate evaluate (ADate today) throws IllegalArgumentException {
+		ADate date = today;
+		for (int n = start; n < ops.length; n++) {
+			date = apply(ops[n], args[n], date, traditional);
+		}
+		return date;
+	}
+
+	/**
+	 * Applies a single step to a date.
+	 *
+	 * @param op the step operation
+	 * @param arg the step argument
+	 * @param date the date before the step
+	 * @param traditional true if weeks begin on Sunday
+	 * @return the date after the step
+	 * @throws IllegalArgumentException if the step is invalid for the date
+	 */
+	static ADate apply (int op, int arg, ADate date, boolean traditional)
+			throws IllegalArgumentException {
+		switch (op) {
+		case SET:			return ADate.fromDays(arg);
+		case PLUS_YEARS:	return date.plusYears(arg);
+		case PLUS_MONTHS:	return date.plusMonths(arg);
+		case PLUS_DAYS:		return date.plusDays(arg);
+		case WITH_YEAR:		return date.withYear(arg);
+		case WITH_MONTH:	return date.withMonth(arg);
+		case WITH_DAY:		return date.withDay(arg);
+		case END_OF_MONTH:	return date.withDay(date.lengthOfMonth());
+		case WEEKDAY:		return date.plusDays(arg - dayOfWeek(date, traditional));
+		default:			throw new IllegalStateException("Invalid step: " + op);
+		}
+	}
+
+	/**
+	 * Returns the day of the week from 1 to 7.
+	 * Monday is 1 unless traditional, in which case Sunday is 1.
+	 *
+	 * @param date the date
+	 * @param traditional true if weeks begin on Sunday
+	 * @return the day of the week
+	 */
+	static int dayOfWeek (ADate date, boolean traditional) {
+		int dow = date.dayOfWeek();
+		if (traditional) {
+			dow += 1;
+			if (dow == 8) {
+				dow = 1;
+			}
+		}
+		return dow;
+	}
+
+	public String toString () {
+		return spec;
+	}
+
+	/**
+	 * The value of the expression on a given day.
+	 */
+	private static final class Result {
+		final ADate today;
+		final ADate date;
+
+		Result (ADate today, ADate date) {
+			this.today = today;
+			this.date = date;
+		}
+	}
+
+}
@@ -6,6 +6,7 @@
  */
 package com.fidelis.valface;
 
+import java.util.Arrays;
 import java.util.Calendar;
 import com.fidelis.argface.Debug;
 
@@ -181,8 +182,7 @@ import com.fidelis.argface.Debug;
  */
 public class ValDateParser {
 	
-	private static final ValDateParser INSTANCE = new ValDateParser();
-	private static boolean traditionalMode = false;
+	private static volatile boolean traditionalMode = false;
 	
 	private static final String[] monthNames = {
 		"january", "february", "march",
@@ -205,9 +205,14 @@ public class ValDateParser {
 	private boolean entityMonthName;
 	private boolean entityDowName;
 	
+	private final boolean strict;
+	private final boolean traditional;
+	private boolean failed;
+	private boolean evaluating = true;
+	
 	private String dateSpec;
 	private String failMessage;
-	private Integer number;
+	private int number;
 	
 	private String[] parts;
 	private int partIndex;
@@ -216,15 +221,124 @@ public class ValDateParser {
 	private int dow;
 	private ADate aDate;
 	
+	// Steps applied to the date, recorded for the compiled expression.
+	private int[] ops = new int[8];
+	private int[] args = new int[8];
+	private int count;
+	
 	/**
 	 * Returns a {@code Calendar} representation for a date string.
+	 * The parse state is held by a parser created for this call only,
+	 * so any number of threads may parse dates at the same time.
 	 * 
 	 * @param dateSpec the date specification
 	 * @return a Calendar representation of the date
 	 * @throws IllegalArgumentException for parsing and semantic errors
 	 */
 	public static Calendar parse (String dateSpec) throws IllegalArgumentException {
-		return INSTANCE.parseDate(dateSpec);
+		return new ValDateParser(true).parseDate(dateSpec).toCalendar();
+	}
+	
+	/**
+	 * Returns the {@code ADate} for a date string.
+	 * This is the date of {@link #parse(String) parse} without the {@code Calendar}.
+	 * 
+	 * @param dateSpec the date specification
+	 * @return the date
+	 * @throws IllegalArgumentException for parsing and semantic errors
+	 */
+	public static ADate parseADate (String dateSpec) throws IllegalArgumentException {
+		return new ValDateParser(true).parseDate(dateSpec);
+	}
+	
+	/**
+	 * Returns the {@code ADate} for a date string without throwing.
+	 * 
+	 * @param dateSpec the date specification
+	 * @return the date or null if not valid
+	 * @see #tryParse(String)
+	 */
+	public static ADate tryParseADate (String dateSpec) {
+		try {
+			return new ValDateParser(false).parseDate(dateSpec);
+		} catch (IllegalArgumentException ex) {
+			
+			// A modifier moved the date outside the range of ADate.
+			return null;
+		}
+	}
+	
+	/**
+	 * Compiles a date string into an expression that may be evaluated on any day.
+	 * Only the syntax of a specification relative to today is checked, so
+	 * whether it compiles does not depend on the day. Such an expression may
+	 * still be invalid on some days, as {@code today.day.31} is in a month of
+	 * 30 days. A specification of a fixed date is also evaluated, so the errors
+	 * reported for it are those of {@link #parse(String) parse}.
+	 * 
+	 * @param dateSpec the date specification
+	 * @return the compiled expression
+	 * @throws IllegalArgumentException for parsing and semantic errors
+	 */
+	public static ValDateExpr compile (String dateSpec) throws IllegalArgumentException {
+		ValDateParser parser = new ValDateParser(true);
+		parser.evaluating = false;
+		parser.parseDate(dateSpec);
+		ValDateExpr expr = parser.expression();
+		if (! expr.isRelative()) {
+			expr.evaluate(ADate.now());
+		}
+		return expr;
+	}
+	
+	/**
+	 * Compiles a date string into an expression without throwing.
+	 * 
+	 * @param dateSpec the date specification
+	 * @return the compiled expression or null if not valid
+	 * @see #compile(String)
+	 */
+	public static ValDateExpr tryCompile (String dateSpec) {
+		ValDateParser parser = new ValDateParser(false);
+		parser.evaluating = false;
+		try {
+			if (parser.parseDate(dateSpec) == null) {
+				return null;
+			}
+			ValDateExpr expr = parser.expression();
+			if (! expr.isRelative()) {
+				expr.evaluate(ADate.now());
+			}
+			return expr;
+		} catch (IllegalArgumentException ex) {
+			
+			// A modifier moved the date outside the range of ADate.
+			return null;
+		}
+	}
+	
+	/**
+	 * Returns a {@code Calendar} representation for a date string without throwing.
+	 * An invalid specification is reported by returning null rather than by
+	 * an exception, since rejecting a value is the common case when validating
+	 * untrusted input.
+	 * 
+	 * @param dateSpec the date specification
+	 * @return a Calendar representation of the date or null if not valid
+	 */
+	public static Calendar tryParse (String dateSpec) {
+		ADate date = tryParseADate(dateSpec);
+		return (date == null) ? null : date.toCalendar();
+	}
+	
+	/**
+	 * Creates a parser for a single date specification.
+	 * 
+	 * @param strict true to throw an exception for an invalid specification
+	 */
+	private ValDateParser (boolean strict) {
+		this.strict = strict;
+		this.traditional = traditionalMode;
 	}
 	
 	/**
@@ -249,13 +363,13 @@ public class ValDateParser {
 	}
 	
 	/**
-	 * Returns a {@code Calendar} representation for a date string.
+	 * Returns the date for a date string.
 	 * 
 	 * @param dateSpec the date specification
-	 * @return a Calendar representation of the date
-	 * @throws IllegalArgumentException for parsing and semantic errors
+	 * @return the date or null if not strict and not valid
+	 * @throws IllegalArgumentException for parsing and semantic errors when strict
 	 */
-	private Calendar parseDate (String dateSpec) throws IllegalArgumentException {
+	private ADate parseDate (String dateSpec) throws IllegalArgumentException {
 		this.dateSpec = dateSpec;
 		
 		// Indicate no "end" keyword encountered.
@@ -264,6 +378,7 @@ public class ValDateParser {
 		
 		// Start with today's date.
 		aDate = ADate.now();
+		count = 0;
 		
 		// Break the date specification into parts.
 		parts = dateSpec.split("\\.");
@@ -271,105 +386,160 @@ public class ValDateParser {
 		
 		// Parse initial parts.
 		while (nextPart()) {
+			boolean ok;
 			
 			// Today with possible modifiers.
 			if (part.equals("today")) {
-				disallowEnd();
-				modifiers();
+				ok = disallowEnd() && modifiers();
 			}
 			
 			// Yesterday with possible modifiers.
 			else if (part.equals("yesterday")) {
-				aDate = aDate.plusDays(-1);
-				disallowEnd();
-				modifiers();
+				step(ValDateExpr.PLUS_DAYS, -1);
+				ok = disallowEnd() && modifiers();
 			}
 			
 			// Tomorrow with possible modifiers.
 			else if (part.equals("tomorrow")) {
-				aDate = aDate.plusDays(1);
-				disallowEnd();
-				modifiers();
+				step(ValDateExpr.PLUS_DAYS, 1);
+				ok = disallowEnd() && modifiers();
 			}
 			
 			// Next specification.
 			else if (part.equals("next")) {
-				nextSpec();
-				modifiers();
+				ok = nextSpec() && modifiers();
 			}
 			
 			// Last specification.
 			else if (part.equals("last")) {
-				lastSpec();
-				modifiers();
+				ok = lastSpec() && modifiers();
 			}
 			// This specification.
 			else if (part.equals("this")) {
-				thisSpec(null);
-				modifiers();
+				ok = thisSpec(null) && modifiers();
 			}
 			
 			// The "end" keyword.
 			else if (part.equals("end")) {
 				kw_end = true;
+				ok = true;
 			}
 			
 			// Short form of this.year.
 			else if (part.equals("year")) {
-				thisSpec(part);
-				modifiers();
+				ok = thisSpec(part) && modifiers();
 			}
 			
 			// Short form of this.month.
 			else if (part.equals("month")) {
-				thisSpec(part);
-				modifiers();
+				ok = thisSpec(part) && modifiers();
 			}
 			
 			// Short form of this.week.
 			else if (part.equals("week")) {
-				thisSpec(part);
-				modifiers();
+				ok = thisSpec(part) && modifiers();
 			}
 			
 			// Short form of this.<month-name>.
 			else if ((monthName(part)) != 0) {
-				thisSpec(part);
-				modifiers();
+				ok = thisSpec(part) && modifiers();
 			}
 			
 			// Short form of this.<dow-name>.
 			else if ((dowName(part)) != 0) {
-				thisSpec(part);
-				modifiers();
+				ok = thisSpec(part) && modifiers();
 			}
 			
 			// Try parsing a numeric date.
 			else {
 				String theDate = composeDate();
 				if (theDate == null) {
-					invalidDate(dateSpec);
-				}
-				aDate = ADate.parse(theDate);
-				if (endMonth) {
-					int lastDay = aDate.lengthOfMonth();
-					aDate = aDate.withDay(lastDay);
+					ok = invalidDate(dateSpec);
+				} else {
+					ADate date = strict ? ADate.parse(theDate) : ADate.tryParse(theDate);
+					if (date == null) {
+						ok = false;
+					} else {
+						step(ValDateExpr.SET, date.getDays());
+						if (endMonth) {
+							step(ValDateExpr.END_OF_MONTH, 0);
+						}
+						ok = modifiers();
+					}
 				}
-				modifiers();
 			}
+			if (! ok) {
+				return null;
+			}
+		}
+		if (Debug.isVerbose()) {
+			Debug.verbose("Result date: " + aDate);
+		}
+		return aDate;
+	}
+	
+	/**
+	 * Applies a step to the date and records it for the compiled expression.
+	 * When compiling, the step is only recorded. A month or day that no date
+	 * could have is still an error.
+	 * 
+	 * @param op the step operation
+	 * @param arg the step argument
+	 * @throws IllegalArgumentException if the step is invalid for the date
+	 */
+	private void step (int op, int arg) throws IllegalArgumentException {
+		if (evaluating) {
+			aDate = ValDateExpr.apply(op, arg, aDate, traditional);
+		} else if (op == ValDateExpr.WITH_MONTH && (arg < 1 || arg > 12)) {
+			throw new IllegalArgumentException("Invalid month specified: " + arg + " (1 .. 12)");
+		} else if (op == ValDateExpr.WITH_DAY && (arg < 1 || arg > 31)) {
+			throw new IllegalArgumentException("Invalid day specified: " + arg + " (1 .. 31)");
+		}
+		if (count == ops.length) {
+			ops = Arrays.copyOf(ops, count * 2);
+			args = Arrays.copyOf(args, count * 2);
+		}
+		ops[count] = op;
+		args[count] = arg;
+		++count;
+	}
+	
+	/**
+	 * Returns the compiled expression for the steps recorded by the last parse.
+	 * 
+	 * @return the compiled expression
+	 */
+	private ValDateExpr expression () {
+		return new ValDateExpr(dateSpec, Arrays.copyOf(ops, count),
+				Arrays.copyOf(args, count), traditional);
+	}
+	
+	/**
+	 * Reports a failure. When strict, an exception is thrown with the given
+	 * message. Otherwise the failure is recorded and false is returned so
+	 * that the parse can be abandoned without an exception.
+	 * 
+	 * @param message the failure message
+	 * @return false
+	 * @throws IllegalArgumentException when strict
+	 */
+	private boolean fail (String message) throws IllegalArgumentException {
+		if (strict) {
+			throw new IllegalArgumentException(message);
 		}
-		Debug.verbose("Result date: " + aDate);
-		return aDate.toCalendar();
+		failed = true;
+		return false;
 	}
 	
-	private void disallowEnd () throws IllegalArgumentException {
+	private boolean disallowEnd () throws IllegalArgumentException {
 		if (kw_end) {
-			invalidDate(dateSpec);
+			return invalidDate(dateSpec);
 		}
+		return true;
 	}
 	
-	private void invalidDate (String text) throws IllegalArgumentException {
-		throw new IllegalArgumentException("Invalid date specification: " + text);
+	private boolean invalidDate (String text) throws IllegalArgumentException {
+		return fail("Invalid date specification: " + text);
 	}
 	
 	private String composeDate () {
@@ -519,6 +689,9 @@ public class ValDateParser {
 		else {
 			return null;
 		}
+		if (failed) {
+			return null;
+		}
 		return year + "-" + month + "-" + day;
 	}
 	
@@ -535,41 +708,46 @@ public class ValDateParser {
 	 * 
 	 * @throws IllegalArgumentException
 	 */
-	private void modifiers () throws IllegalArgumentException {
+	private boolean modifiers () throws IllegalArgumentException {
 		
 		// Modifier loop.
 		while (nextPart()) {
+			boolean ok;
 			
 			// Plus modifier.
 			if (part.equals("plus")) {
-				plusModifier();
+				ok = plusModifier();
 			}
 			
 			// Minus modifier.
 			else if (part.equals("minus")) {
-				minusModifier();
+				ok = minusModifier();
 			}
 			
 			// Year modifier.
 			else if (part.equals("year")) {
-				yearModifier();
+				ok = yearModifier();
 			}
 			
 			// Month modifier.
 			else if (part.equals("month")) {
-				monthModifier();
+				ok = monthModifier();
 			}
 			
 			// Day modifier.
 			else if (part.equals("day")) {
-				dayModifier();
+				ok = dayModifier();
 			}
 			
-			// Otherwise, throw exception.
+			// Otherwise, fail.
 			else {
-				invalidDate(dateSpec);
+				ok = invalidDate(dateSpec);
+			}
+			if (! ok) {
+				return false;
 			}
 		}
+		return true;
 	}
 	
 	/**
@@ -578,10 +756,9 @@ public class ValDateParser {
 	 * 
 	 * @throws IllegalArgumentException
 	 */
-	private void plusModifier () throws IllegalArgumentException {
+	private boolean plusModifier () throws IllegalArgumentException {
 		setFailMessage("Bad \"plus\" modifier");
-		getNumber();
-		completeNumberUnits();
+		return getNumber() && completeNumberUnits();
 	}
 	
 	/**
@@ -590,11 +767,13 @@ public class ValDateParser {
 	 * 
 	 * @throws IllegalArgumentException
 	 */
-	private void minusModifier () throws IllegalArgumentException {
+	private boolean minusModifier () throws IllegalArgumentException {
 		setFailMessage("Bad \"minus\" modifier");
-		getNumber();
+		if (! getNumber()) {
+			return false;
+		}
 		number = -number;
-		completeNumberUnits();
+		return completeNumberUnits();
 	}
 	
 	/**
@@ -603,10 +782,13 @@ public class ValDateParser {
 	 * 
 	 * @throws IllegalArgumentException
 	 */
-	private void yearModifier () throws IllegalArgumentException {
+	private boolean yearModifier () throws IllegalArgumentException {
 		setFailMessage("Bad \"year\" modifier");
-		getNumber();
-		aDate = aDate.withYear(number);
+		if (! getNumber()) {
+			return false;
+		}
+		step(ValDateExpr.WITH_YEAR, number);
+		return true;
 	}
 	
 	/**
@@ -615,14 +797,17 @@ public class ValDateParser {
 	 * 
 	 * @throws IllegalArgumentException
 	 */
-	private void monthModifier () throws IllegalArgumentException {
+	private boolean monthModifier () throws IllegalArgumentException {
 		setFailMessage("Bad \"month\" modifier");
-		nextPartOrFail("number/name");
+		if (! nextPartOrFail("number/name")) {
+			return false;
+		}
 		number = monthName(part);
-		if (number == 0) {
-			getNumber(part);
+		if (number == 0 && ! getNumber(part)) {
+			return false;
 		}
-		aDate = aDate.withMonth(number);
+		step(ValDateExpr.WITH_MONTH, number);
+		return true;
 	}
 	
 	/**
@@ -631,10 +816,13 @@ public class ValDateParser {
 	 * 
 	 * @throws IllegalArgumentException
 	 */
-	private void dayModifier () throws IllegalArgumentException {
+	private boolean dayModifier () throws IllegalArgumentException {
 		setFailMessage("Bad \"day\" modifier");
-		getNumber();
-		aDate = aDate.withDay(number);
+		if (! getNumber()) {
+			return false;
+		}
+		step(ValDateExpr.WITH_DAY, number);
+		return true;
 	}
 	
 	/**
@@ -643,27 +831,31 @@ public class ValDateParser {
 	 * 
 	 * @throws IllegalArgumentException
 	 */
-	private void nextSpec () throws IllegalArgumentException {
+	private boolean nextSpec () throws IllegalArgumentException {
 		setFailMessage("Bad \"next\" specification");
-		getEntity();
+		if (! getEntity()) {
+			return false;
+		}
 		if (entityYear) {
-			aDate = aDate.plusYears(1);
+			step(ValDateExpr.PLUS_YEARS, 1);
 			completeYear();
 		}
 		else if (entityMonth) {
-			aDate = aDate.plusMonths(1);
+			step(ValDateExpr.PLUS_MONTHS, 1);
 			completeMonth();
 		}
 		else if (entityWeek) {
-			completeWeek(8 - dayOfWeek(aDate));
+			completeWeek(8);
 		}
 		else if (entityMonthName) {
-			aDate = aDate.plusYears(1).withMonth(month);
+			step(ValDateExpr.PLUS_YEARS, 1);
+			step(ValDateExpr.WITH_MONTH, month);
 			completeMonth();
 		}
 		else if (entityDowName) {
-			aDate = aDate.plusDays(7 + dow - dayOfWeek(aDate));
+			step(ValDateExpr.WEEKDAY, 7 + dow);
 		}
+		return true;
 	}
 	
 	/**
@@ -672,27 +864,31 @@ public class ValDateParser {
 	 * 
 	 * @throws IllegalArgumentException
 	 */
-	private void lastSpec () throws IllegalArgumentException {
+	private boolean lastSpec () throws IllegalArgumentException {
 		setFailMessage("Bad \"last\" specification");
-		getEntity();
+		if (! getEntity()) {
+			return false;
+		}
 		if (entityYear) {
-			aDate = aDate.plusYears(-1);
+			step(ValDateExpr.PLUS_YEARS, -1);
 			completeYear();
 		}
 		else if (entityMonth) {
-			aDate = aDate.plusMonths(-1);
+			step(ValDateExpr.PLUS_MONTHS, -1);
 			completeMonth();
 		}
 		else if (entityWeek) {
-			completeWeek(-7 - (dayOfWeek(aDate) - 1));
+			completeWeek(-6);
 		}
 		else if (entityMonthName) {
-			aDate = aDate.plusYears(-1).withMonth(month);
+			step(ValDateExpr.PLUS_YEARS, -1);
+			step(ValDateExpr.WITH_MONTH, month);
 			completeMonth();
 		}
 		else if (entityDowName) {
-			aDate = aDate.plusDays(-8 - (dayOfWeek(aDate) - 1) + dow);
+			step(ValDateExpr.WEEKDAY, dow - 7);
 		}
+		return true;
 	}
 	
 	/**
@@ -702,13 +898,17 @@ public class ValDateParser {
 	 * @param entity the entity specifier or null
 	 * @throws IllegalArgumentException
 	 */
-	private void thisSpec (String entity) throws IllegalArgumentException {
+	private boolean thisSpec (String entity) throws IllegalArgumentException {
 		setFailMessage("Bad \"this\" specification");
 		if (entity == null) {
-			nextPartOrFail("<entity>");
+			if (! nextPartOrFail("<entity>")) {
+				return false;
+			}
 			entity = part;
 		}
-		getEntity(part);
+		if (! getEntity(part)) {
+			return false;
+		}
 		if (entityYear) {
 			completeYear();
 		}
@@ -716,15 +916,16 @@ public class ValDateParser {
 			completeMonth();
 		}
 		else if (entityWeek) {
-			completeWeek(- (dayOfWeek(aDate) - 1));
+			completeWeek(1);
 		}
 		else if (entityMonthName) {
-			aDate = aDate.withMonth(month);
+			step(ValDateExpr.WITH_MONTH, month);
 			completeMonth();
 		}
 		else if (entityDowName) {
-			aDate = aDate.plusDays(-1 - (dayOfWeek(aDate) - 1) + dow);
+			step(ValDateExpr.WEEKDAY, dow);
 		}
+		return true;
 	}
 	
 	/**
@@ -732,9 +933,8 @@ public class ValDateParser {
 	 * 
 	 * @throws IllegalArgumentException
 	 */
-	private void getEntity () throws IllegalArgumentException {
-		nextPartOrFail("<entity>");
-		getEntity(part);
+	private boolean getEntity () throws IllegalArgumentException {
+		return nextPartOrFail("<entity>") && getEntity(part);
 	}
 	
 	/**
@@ -744,7 +944,7 @@ public class ValDateParser {
 	 * @param entity the entity specifier
 	 * @throws IllegalArgumentException
 	 */
-	private void getEntity (String entity) throws IllegalArgumentException {
+	private boolean getEntity (String entity) throws IllegalArgumentException {
 		entityYear = false;
 		entityMonth = false;
 		entityWeek = false;
@@ -766,9 +966,9 @@ public class ValDateParser {
 			entityDowName = true;
 		}
 		else {
-			throw new IllegalArgumentException(
-					failMessage + ": invalid <entity>: " + entity);
+			return fail(failMessage + ": invalid <entity>: " + entity);
 		}
+		return true;
 	}
 	
 	/**
@@ -776,9 +976,8 @@ public class ValDateParser {
 	 * 
 	 * @throws IllegalArgumentException
 	 */
-	private void getNumber () throws IllegalArgumentException {
-		nextPartOrFail("<number>");
-		getNumber(part);
+	private boolean getNumber () throws IllegalArgumentException {
+		return nextPartOrFail("<number>") && getNumber(part);
 	}
 	
 	/**
@@ -787,13 +986,13 @@ public class ValDateParser {
 	 * @param part the number specifier
 	 * @throws IllegalArgumentException
 	 */
-	private void getNumber (String part) throws IllegalArgumentException {
-		try {
-			number = Integer.valueOf(part);
-		} catch (NumberFormatException ex) {
-			throw new IllegalArgumentException(
-					failMessage + ": invalid <number>: " + part);
+	private boolean getNumber (String part) throws IllegalArgumentException {
+		long value = ValDigits.parseInt(part);
+		if (value == ValDigits.NONE) {
+			return fail(failMessage + ": invalid <number>: " + part);
 		}
+		number = (int) value;
+		return true;
 	}
 	
 	/**
@@ -804,24 +1003,26 @@ public class ValDateParser {
 	 * 
 	 * @throws IllegalArgumentException
 	 */
-	private void completeNumberUnits () throws IllegalArgumentException {
-		nextPartOrFail("<units>");
+	private boolean completeNumberUnits () throws IllegalArgumentException {
+		if (! nextPartOrFail("<units>")) {
+			return false;
+		}
 		if (plurals(part, "year")) {
-			aDate = aDate.plusYears(number);
+			step(ValDateExpr.PLUS_YEARS, number);
 		}
 		else if (plurals(part, "month")) {
-			aDate = aDate.plusMonths(number);
+			step(ValDateExpr.PLUS_MONTHS, number);
 		}
 		else if (plurals(part, "week")) {
-			aDate = aDate.plusDays(number * 7);
+			step(ValDateExpr.PLUS_DAYS, number * 7);
 		}
 		else if (plurals(part, "day")) {
-			aDate = aDate.plusDays(number);
+			step(ValDateExpr.PLUS_DAYS, number);
 		}
 		else {
-			throw new IllegalArgumentException(
-					failMessage + ": invalid units: " + part);
+			return fail(failMessage + ": invalid units: " + part);
 		}
+		return true;
 	}
 	
 	/**
@@ -837,7 +1038,8 @@ public class ValDateParser {
 			month = 12;
 			day = 31;
 		}
-		aDate = aDate.withMonth(month).withDay(day);
+		step(ValDateExpr.WITH_MONTH, month);
+		step(ValDateExpr.WITH_DAY, day);
 	}
 	
 	/**
@@ -847,11 +1049,11 @@ public class ValDateParser {
 	 * of the month is set.
 	 */
 	private void completeMonth () {
-		int day = 1;
 		if (endSpec()) {
-			day = aDate.lengthOfMonth();
+			step(ValDateExpr.END_OF_MONTH, 0);
+		} else {
+			step(ValDateExpr.WITH_DAY, 1);
 		}
-		aDate = aDate.withDay(day);
 	}
 	
 	/**
@@ -861,13 +1063,13 @@ public class ValDateParser {
 	 * Monday. Otherwise the date is set to correspond with the end of the
 	 * week; Sunday.
 	 *  
-	 * @param days the number of days to adjust the date
+	 * @param days the number of days to adjust the date, less the day of the week
 	 */
 	private void completeWeek (int days) {
 		if (endSpec()) {
 			days += 6;
 		}
-		aDate = aDate.plusDays(days);
+		step(ValDateExpr.WEEKDAY, days);
 	}
 	
 	/**
@@ -908,16 +1110,18 @@ public class ValDateParser {
 	
 	/**
 	 * Returns the next part of the original input text or fails.
-	 * If there is no next part, this method will throw an exception.
+	 * If there is no next part, this method fails.
 	 * The "failMessage" and the given "missing" string are used to
-	 * generate the exception message.
+	 * generate the failure message.
 	 * 
 	 * @param missing the expected missing item name
+	 * @return true if there is a next part
 	 */
-	private void nextPartOrFail (String missing) {
+	private boolean nextPartOrFail (String missing) {
 		if (! nextPart()) {
-			throw new IllegalArgumentException(failMessage + ": missing " + missing);
+			return fail(failMessage + ": missing " + missing);
 		}
+		return true;
 	}
 	
 	/**
@@ -932,7 +1136,9 @@ public class ValDateParser {
 	private boolean nextPart () {
 		if (partIndex < parts.length) {
 			part = parts[partIndex].toLowerCase();
-			Debug.verbose("part[" + partIndex + "] : " + part);
+			if (Debug.isVerbose()) {
+				Debug.verbose("part[" + partIndex + "] : " + part);
+			}
 			++partIndex;
 			return true;
 		}
@@ -953,17 +1159,6 @@ public class ValDateParser {
 		return units.equals(text + "s");
 	}
 	
-	private int dayOfWeek (ADate aDate) {
-		int dow = aDate.dayOfWeek();
-		if (isTraditional()) {
-			dow += 1;
-			if (dow == 8) {
-				dow = 1;
-			}
-		}
-		return dow;
-	}
-	
 	/**
 	 * Returns the number for a given day of the week name.
 	 * Monday = 1 and Sunday = 7.
@@ -975,7 +1170,7 @@ public class ValDateParser {
 	 */
 	private int dowName (String name) {
 		int dayNumber = 0;
-		if (isTraditional()) {
+		if (traditional) {
 			dayNumber = 1;
 		}
 		boolean found = false;
@@ -993,7 +1188,7 @@ public class ValDateParser {
 		if (! found) {
 			dayNumber = 0;
 		}
-		else if (isTraditional()) {
+		else if (traditional) {
 			if (dayNumber == 8) {
 				dayNumber = 1;
 			}
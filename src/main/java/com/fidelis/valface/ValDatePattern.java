@@ -0,0 +1,389 @@
+/**
+ *+
+ *	ValDatePattern.java
+ *	1.0.0  2026-10-17  Leo Hinterlang
+ *-
+ */
+package com.fidelis.valface;
+
+import java.text.DateFormat;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.ParsePosition;
+import java.text.SimpleDateFormat;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SortedMap;
+
+/**
+ * Compiled date pattern of a date validation item.
+ * The pattern is in the form of a {@code SimpleDateFormat} pattern, as in
+ * {@code @MM/dd/yyyy}, and a value is accepted or rejected exactly as a
+ * non-lenient {@code SimpleDateFormat} parse with the pattern would.
+ * <p>
+ * The pattern is compiled once, when the validation text is parsed. A value
+ * is first checked for its length and for the literal characters of the
+ * pattern in order, which rejects most values meant for another pattern.
+ * The year, month and day are then scanned directly and checked with
+ * {@link ADate}. A value the scan cannot decide, such as one with a sign,
+ * a space or a non-ASCII digit in a number, a year before the Gregorian
+ * calendar or a pattern with other fields, is parsed with a
+ * {@code SimpleDateFormat} kept for each thread.
+ * <p>
+ * A compiled pattern is not modified by parsing and may be used by any
+ * number of threads at the same time.
+ *
+ * @version 1.0.0
+ * @author Leo Hinterlang
+ */
+final class ValDatePattern {
+
+	private static final int LITERAL	= 0;
+	private static final int YEAR		= 1;
+	private static final int MONTH		= 2;
+	private static final int MONTH_NAME	= 3;
+	private static final int DAY		= 4;
+
+	/** Years scanned directly are within the Gregorian calendar and the ADate timeline. */
+	private static final int FIRST_YEAR	= 1583;
+	private static final int LAST_YEAR	= 9999;
+
+	/** The most digits of a number that is scanned directly. */
+	private static final int MAX_DIGITS	= 9;
+
+	private final String pattern;
+	private final int[] ops;
+	private final int[] counts;
+	private final String[] literals;
+	private final boolean direct;
+	private final int minLength;
+	private final String literalChars;
+	private final String[] names;
+	private final int[] nameMonths;
+	private final String exponent;
+	private final String numberStarts;
+	private final int centuryStart;
+	private final ThreadLocal<SimpleDateFormat> format;
+
+	private ValDatePattern (String pattern, int[] ops, int[] counts, String[] literals,
+			boolean direct, final SimpleDateFormat compiled) {
+		this.pattern = pattern;
+		this.ops = ops;
+		this.counts = counts;
+		this.literals = literals;
+		Locale locale = Locale.getDefault(Locale.Category.FORMAT);
+		Calendar calendar = compiled.getCalendar();
+		Map<String, Integer> monthNames = calendar.getDisplayNames(Calendar.MONTH, Calendar.SHORT_FORMAT, locale);
+		Map<String, Integer> longNames = calendar.getDisplayNames(Calendar.MONTH, Calendar.LONG_FORMAT, locale);
+		if (monthNames == null || longNames == null || monthNames instanceof SortedMap) {
+			direct = false;
+			monthNames = new HashMap<String, Integer>();
+		} else {
+			monthNames.putAll(longNames);
+		}
+		this.names = monthNames.keySet().toArray(new String[monthNames.size()]);
+		this.nameMonths = new int[names.length];
+		for (int n = 0; n < names.length; n++) {
+			nameMonths[n] = monthNames.get(names[n]) + 1;
+		}
+		String exponent = "E";
+		String numberStarts = " \t";
+		if (compiled.getNumberFormat() instanceof DecimalFormat) {
+			DecimalFormat number = (DecimalFormat) compiled.getNumberFormat();
+			DecimalFormatSymbols decimal = number.getDecimalFormatSymbols();
+			exponent = decimal.getExponentSeparator();
+			numberStarts += number.getNegativePrefix() + decimal.getNaN() + decimal.getInfinity();
+			direct = direct && decimal.getZeroDigit() == '0' && number.getPositivePrefix().length() == 0;
+		} else {
+			direct = false;
+		}
+		this.exponent = exponent;
+		this.numberStarts = numberStarts;
+		this.direct = direct;
+		Calendar start = (Calendar) calendar.clone();
+		start.setTime(compiled.get2DigitYearStart());
+		this.centuryStart = start.get(Calendar.YEAR);
+		int length = 0;
+		StringBuilder chars = new StringBuilder();
+		for (int n = 0; n < ops.length; n++) {
+			if (ops[n] == LITERAL) {
+				length += literals[n].length();
+				chars.append(literals[n]);
+			} else if (ops[n] == MONTH_NAME) {
+				length += shortestName(names);
+			} else {
+				++length;
+			}
+		}
+		this.minLength = length;
+		this.literalChars = chars.toString();
+		this.format = new ThreadLocal<SimpleDateFormat>() {
+			protected SimpleDateFormat initialValue () {
+				return (SimpleDateFormat) compiled.clone();
+			}
+		};
+	}
+
+	/**
+	 * Compiles a date pattern.
+	 *
+	 * @param pattern the {@code SimpleDateFormat} pattern
+	 * @return the compiled date pattern
+	 * @throws IllegalArgumentException if the pattern is not valid
+	 */
+	static ValDatePattern compile (String pattern) throws IllegalArgumentException {
+		DateFormat fmt = DateFormat.getDateInstance();
+		fmt.setLenient(false);
+		if (! (fmt instanceof SimpleDateFormat)) {
+			throw new IllegalArgumentException("Date patterns are not supported: " + pattern);
+		}
+		SimpleDateFormat compiled = (SimpleDateFormat) fmt;
+		compiled.applyPattern(pattern);
+
+		int length = pattern.length();
+		int[] ops = new int[length];
+		int[] counts = new int[length];
+		String[] literals = new String[length];
+		int size = 0;
+		boolean direct = true;
+		StringBuilder literal = new StringBuilder();
+		int index = 0;
+		while (index < length) {
+			char c = pattern.charAt(index);
+			if (c == '\'') {
+				int close = index + 1;
+				if (close < length && pattern.charAt(close) == '\'') {
+					literal.append('\'');
+					index += 2;
+					continue;
+				}
+				while (close < length) {
+					if (pattern.charAt(close) == '\'') {
+						if (close + 1 < length && pattern.charAt(close + 1) == '\'') {
+							literal.append('\'');
+							close += 2;
+							continue;
+						}
+						break;
+					}
+					literal.append(pattern.charAt(close++));
+				}
+				index = close + 1;
+				continue;
+			}
+			if (('a' <= c && c <= 'z') || ('A' <= c && c <= 'Z')) {
+				int count = 1;
+				while (index + count < length && pattern.charAt(index + count) == c) {
+					++count;
+				}
+				index += count;
+				if (literal.length() > 0) {
+					literals[size] = literal.toString();
+					ops[size++] = LITERAL;
+					literal.setLength(0);
+				} else if (size > 0) {
+					// Abutting fields obey the letter count.
+					direct = false;
+				}
+				counts[size] = count;
+				switch (c) {
+				case 'y':	ops[size++] = YEAR;								break;
+				case 'M':	ops[size++] = (count <= 2) ? MONTH : MONTH_NAME;	break;
+				case 'd':	ops[size++] = DAY;								break;
+				default:	ops[size++] = LITERAL;	literals[size - 1] = "";	direct = false;	break;
+				}
+				continue;
+			}
+			literal.append(c);
+			++index;
+		}
+		if (literal.length() > 0) {
+			literals[size] = literal.toString();
+			ops[size++] = LITERAL;
+		}
+		if (size == 1 && ops[0] == MONTH_NAME) {
+			// A month name alone is parsed in its stand-alone form.
+			direct = false;
+		}
+		int[] compiledOps = new int[size];
+		int[] compiledCounts = new int[size];
+		String[] compiledLiterals = new String[size];
+		System.arraycopy(ops, 0, compiledOps, 0, size);
+		System.arraycopy(counts, 0, compiledCounts, 0, size);
+		System.arraycopy(literals, 0, compiledLiterals, 0, size);
+		return new ValDatePattern(pattern, compiledOps, compiledCounts, compiledLiterals,
+				direct, compiled);
+	}
+
+	/**
+	 * Returns the pattern that was compiled.
+	 *
+	 * @return the pattern
+	 */
+	String getPattern () {
+		return pattern;
+	}
+
+	/**
+	 * Parses a value with this pattern.
+	 * The beginning of the value must match the pattern. Any characters
+	 * following the match are ignored, as they are by {@code SimpleDateFormat}.
+	 *
+	 * @param val the value text
+	 * @param type the type of the result, DATE or DATETIME
+	 * @return the date or null if the value does not match this pattern
+	 */
+	ValData parse (String val, ValType type) {
+		if (! prefilter(val)) {
+			return null;
+		}
+		if (direct) {
+			int days = scan(val);
+			if (days > 0) {
+				return new ValData(type, ADate.fromDays(days));
+			}
+			if (days == 0) {
+				return null;
+			}
+		}
+		Date date = format.get().parse(val, new ParsePosition(0));
+		if (date == null) {
+			return null;
+		}
+		return new ValData(type, date);
+	}
+
+	/**
+	 * Returns false if a value is too short for this pattern or does not
+	 * contain the literal characters of the pattern in order.
+	 * Such a value cannot match.
+	 */
+	private boolean prefilter (String val) {
+		int length = val.length();
+		if (length < minLength) {
+			return false;
+		}
+		int from = 0;
+		for (int n = 0; n < literalChars.length(); n++) {
+			from = val.indexOf(literalChars.charAt(n), from);
+			if (from < 0) {
+				return false;
+			}
+			++from;
+		}
+		return true;
+	}
+
+	/**
+	 * Scans a value with this pattern and returns the day number of the date.
+	 * A field that is not in the pattern takes its value from 1970-01-01.
+	 *
+	 * @return the day number, 0 if the value does not match or -1 if
+	 * the value must be parsed with a {@code SimpleDateFormat}
+	 */
+	private int scan (String val) {
+		int length = val.length();
+		int position = 0;
+		int year = 1970;
+		int month = 1;
+		int day = 1;
+		boolean twoDigitYear = false;
+		for (int n = 0; n < ops.length; n++) {
+			int op = ops[n];
+			if (op == LITERAL) {
+				String literal = literals[n];
+				if (! val.startsWith(literal, position)) {
+					return 0;
+				}
+				position += literal.length();
+				continue;
+			}
+			if (position >= length) {
+				return 0;
+			}
+			if (op == MONTH_NAME) {
+				int matched = matchName(val, position, names);
+				if (matched < 0) {
+					return 0;
+				}
+				month = nameMonths[matched];
+				position += names[matched].length();
+				continue;
+			}
+			char c = val.charAt(position);
+			if (c < '0' || c > '9') {
+				// Any other ASCII character that cannot begin a number does not match.
+				return (c < 128 && numberStarts.indexOf(c) < 0) ? 0 : -1;
+			}
+			int start = position;
+			int value = 0;
+			while (position < length && (c = val.charAt(position)) >= '0' && c <= '9') {
+				if (position - start == MAX_DIGITS) {
+					return -1;
+				}
+				value = value * 10 + (c - '0');
+				++position;
+			}
+			if (position < length && (Character.digit(val.charAt(position), 10) >= 0 ||
+					val.startsWith(exponent, position))) {
+				return -1;
+			}
+			if (op == YEAR) {
+				year = value;
+				twoDigitYear = counts[n] <= 2 && position - start == 2;
+			} else if (op == MONTH) {
+				month = value;
+			} else {
+				day = value;
+			}
+		}
+		if (twoDigitYear) {
+			int ambiguous = centuryStart % 100;
+			if (year == ambiguous) {
+				return -1;
+			}
+			year += (centuryStart / 100) * 100 + ((year < ambiguous) ? 100 : 0);
+		}
+		if (year < FIRST_YEAR || year > LAST_YEAR) {
+			return -1;
+		}
+		if (! ADate.isValid(year, month, day)) {
+			return 0;
+		}
+		return ADate.getDays(year, month, day);
+	}
+
+	/**
+	 * Returns the index of the longest name matching at a position ignoring case,
+	 * or -1 if none match.
+	 */
+	private static int matchName (String val, int position, String[] names) {
+		int best = -1;
+		int bestLength = 0;
+		for (int n = 0; n < names.length; n++) {
+			int length = names[n].length();
+			if (length > bestLength && val.regionMatches(true, position, names[n], 0, length)) {
+				best = n;
+				bestLength = length;
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * Returns the length of the shortest name that is not empty.
+	 */
+	private static int shortestName (String[] names) {
+		int shortest = Integer.MAX_VALUE;
+		for (String name : names) {
+			if (name.length() > 0 && name.length() < shortest) {
+				shortest = name.length();
+			}
+		}
+		return (shortest == Integer.MAX_VALUE) ? 0 : shortest;
+	}
+
+}
@@ -3,12 +3,11 @@
  */
 package com.fidelis.valface;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
-
-import com.fidelis.argface.Debug;
+import java.util.Set;
 
 /**
  * Validation Definition.
@@ -22,11 +21,12 @@ public class ValDef {
 	private String	name;
 	private ValType	type;
 	private String	varName;
-	private ValData varData;
-	private Method	varSetter;
-	private Field	varField;
 	private boolean ignoreCase;
+	private boolean defaults;
 	private List<ValItem> items = new ArrayList<ValItem>();
+	private Set<String> literals;
+	private ValIntervals intervals;
+	private List<ValItem> checks;
 	
 	private static final String[] DATE_DEFAULTS = {
 		"yyyy-MM-dd",
@@ -37,11 +37,11 @@ public class ValDef {
 		"MMMM dd, yyyy"
 	};
 	
-	public void addItem (ValItem item) {
+	void addItem (ValItem item) {
 		items.add(item);
 	}
 	
-	public boolean parse (String token) {
+	boolean parse (String token) {
 		if (token.equalsIgnoreCase("ignoreCase")) {
 			setIgnoreCase(true);
 			return true;
@@ -60,29 +60,193 @@ public class ValDef {
 		return false;
 	}
 	
-	public boolean validate (String val) {
-		try {
-			varData = ValData.parse(type, val);
-		} catch (IllegalArgumentException ex) {
-			return false;
+	/**
+	 * Validates a value against this definition.
+	 * The value is parsed according to the definition type and checked
+	 * against each of the validation items. This definition is not modified
+	 * so that it may be used by any number of threads at the same time.
+	 * 
+	 * @param val the value to validate
+	 * @return the validated data or null if the value is not valid
+	 */
+	public ValData validate (String val) {
+		return check(val, ValData.tryParse(type, val));
+	}
+	
+	/**
+	 * Validates a value against this definition, parsing it into a
+	 * {@code ValData} that is reused for each value of a batch.
+	 * The result is either the reused {@code ValData} or one created
+	 * by a validation item, as for a date pattern.
+	 * 
+	 * @param val the value to validate
+	 * @param scratch the {@code ValData} to reuse
+	 * @return the validated data or null if the value is not valid
+	 */
+	ValData validate (String val, ValData scratch) {
+		return check(val, ValData.tryParse(type, val, scratch));
+	}
+	
+	/**
+	 * Checks parsed data against the items of this definition.
+	 */
+	private ValData check (String val, ValData data) {
+		if (data == null) {
+			return null;
+		}
+		if (literals != null) {
+			if (literals.contains(ignoreCase ? foldCase(val) : val)) {
+				return data;
+			}
+		}
+		if (intervals != null) {
+			if (intervals.contains(ValIntervals.key(type, data))) {
+				return data;
+			}
+		}
+		if (checks != null) {
+			for (ValItem item : checks) {
+				ValData result = item.validate(val, data, this);
+				if (result != null) {
+					return result;
+				}
+			}
+			return null;
 		}
 		for (ValItem item : items) {
-			if (item.validate(val, this)) {
-				return true;
+			ValData result = item.validate(val, data, this);
+			if (result != null) {
+				return result;
 			}
 		}
-		return false;
+		return null;
 	}
 	
-	public void defaultItems () {
+	void defaultItems () {
 		if (type == ValType.DATE) {
 			for (String d : DATE_DEFAULTS) {
-				ValItem item = new ValItem(d);
+				ValItem item = new ValItem("@" + d);
 				addItem(item);
 			}
 		}
 	}
 	
+	/**
+	 * Compiles the validation items for the type of this definition.
+	 * The default items are added first when the definition has no
+	 * items of its own. This is done once, when the type is known.
+	 * 
+	 * @return true if there are no errors
+	 */
+	boolean compile () {
+		if (defaults) {
+			defaultItems();
+		}
+		for (ValItem item : items) {
+			if (! item.parse(type)) {
+				return false;
+			}
+		}
+		if (type == ValType.STRING) {
+			indexLiterals();
+		} else if (type.isNumeric()) {
+			indexIntervals();
+		}
+		return true;
+	}
+	
+	/**
+	 * Merges the range and literal items of a numeric definition into
+	 * sorted, disjoint intervals. Any pattern items are kept, to be
+	 * checked after the intervals.
+	 */
+	private void indexIntervals () {
+		long[][] bounds = new long[items.size()][];
+		int count = 0;
+		checks = new ArrayList<ValItem>();
+		for (ValItem item : items) {
+			if (item.isPattern()) {
+				checks.add(item);
+				continue;
+			}
+			long low = ValIntervals.key(type, item.getBegin());
+			long high = low;
+			if (item.isRange()) {
+				high = ValIntervals.key(type, item.getEnd());
+			}
+			bounds[count++] = new long[] { low, high };
+		}
+		intervals = ValIntervals.build(bounds, count);
+	}
+	
+	/**
+	 * Collects the literal items of a String definition into a hash set.
+	 * Pattern and range items are kept in order, to be checked after the
+	 * set. With "ignoreCase" the literals are stored case folded so that
+	 * set membership agrees with {@code equalsIgnoreCase}.
+	 */
+	private void indexLiterals () {
+		literals = new HashSet<String>();
+		checks = new ArrayList<ValItem>();
+		for (ValItem item : items) {
+			if (item.isPattern() || item.isRange()) {
+				checks.add(item);
+			} else {
+				String text = item.getText();
+				literals.add(ignoreCase ? foldCase(text) : text);
+			}
+		}
+	}
+	
+	/**
+	 * Folds the case of a String the way {@code equalsIgnoreCase} compares
+	 * characters. Two Strings are equal ignoring case exactly when their
+	 * folded forms are equal.
+	 * 
+	 * @param s the String to fold
+	 * @return the case folded String
+	 */
+	static String foldCase (String s) {
+		StringBuilder sb = null;
+		for (int n = 0; n < s.length(); ) {
+			int c = s.codePointAt(n);
+			int f = Character.toLowerCase(Character.toUpperCase(c));
+			if (f != c && sb == null) {
+				sb = new StringBuilder(s.length());
+				sb.append(s, 0, n);
+			}
+			if (sb != null) {
+				sb.appendCodePoint(f);
+			}
+			n += Character.charCount(c);
+		}
+		return sb == null ? s : sb.toString();
+	}
+	
+	/**
+	 * Returns a compiled copy of this definition for the given type.
+	 * This definition must not have been compiled. It remains unchanged
+	 * so that it may be resolved again for another type.
+	 * 
+	 * @param type the definition type
+	 * @return the compiled definition or null if there are errors
+	 */
+	ValDef resolve (ValType type) {
+		ValDef def = new ValDef();
+		def.name = name;
+		def.type = type;
+		def.varName = varName;
+		def.ignoreCase = ignoreCase;
+		def.defaults = defaults;
+		for (ValItem item : items) {
+			def.addItem(new ValItem(item.getText()));
+		}
+		if (! def.compile()) {
+			return null;
+		}
+		return def;
+	}
+	
 	/**
 	 * @return the name
 	 */
@@ -93,7 +257,7 @@ public class ValDef {
 	/**
 	 * @param name the name to set
 	 */
-	public void setName (String name) {
+	void setName (String name) {
 		this.name = name;
 	}
 	
@@ -107,7 +271,7 @@ public class ValDef {
 	/**
 	 * @param type the type to set
 	 */
-	public void setType (ValType type) {
+	void setType (ValType type) {
 		this.type = type;
 	}
 
@@ -121,57 +285,27 @@ public class ValDef {
 	/**
 	 * @param varName the varName to set
 	 */
-	public void setVarName (String varName) {
+	void setVarName (String varName) {
 		this.varName = varName;
 	}
 
 	/**
-	 * @return the varData
-	 */
-	public ValData getVarData () {
-		return varData;
-	}
-
-	/**
-	 * Sets the varData for this class.
-	 *
-	 * @param varData the varData to set
-	 */
-	public void setVarData (ValData varData) {
-		this.varData = varData;
-	}
-
-
-	/**
-	 * @return the varSetter
-	 */
-	public Method getVarSetter () {
-		return varSetter;
-	}
-
-	/**
-	 * Sets the varSetter for this class.
-	 *
-	 * @param varSetter the varSetter to set
-	 */
-	public void setVarSetter (Method varSetter) {
-		this.varSetter = varSetter;
-	}
-
-	/**
-	 * @return the varField
+	 * Returns true if the default items apply to this definition.
+	 * This is the case when the definition ends without an item list.
+	 * 
+	 * @return true if the default items apply
 	 */
-	public Field getVarField () {
-		return varField;
+	public boolean isDefaults () {
+		return defaults;
 	}
 
 	/**
-	 * Sets the varField for this class.
+	 * Sets the "defaults" property for this validation definition.
 	 *
-	 * @param varField the varField to set
+	 * @param defaults the defaults to set
 	 */
-	public void setVarField (Field varField) {
-		this.varField = varField;
+	void setDefaults (boolean defaults) {
+		this.defaults = defaults;
 	}
 
 	/**
@@ -188,29 +322,31 @@ public class ValDef {
 	 *
 	 * @param ignoreCase the ignoreCase to set
 	 */
-	public void setIgnoreCase (boolean ignoreCase) {
+	void setIgnoreCase (boolean ignoreCase) {
 		this.ignoreCase = ignoreCase;
 	}
 
 	/**
+	 * Returns the items of this definition.
+	 * A definition may belong to a shared schema, so the list is read only.
+	 * 
 	 * @return the items
 	 */
 	public List<ValItem> getItems () {
-		return items;
+		return Collections.unmodifiableList(items);
 	}
 	
 	/**
 	 * @param items the items to set
 	 */
-	public void setItems (List<ValItem> items) {
+	void setItems (List<ValItem> items) {
 		this.items = items;
 	}
 	
 	public String toString () {
-		return String.format("ValDef: %s %s %s %s %s %s", name, type, varName,
-				varData,
-				(varSetter == null ? "*" : varSetter.getName()),
-				(varField == null ? "*" : varField.getName()));
+		return String.format("ValDef: %s %s %s%s", name, type,
+				(varName == null ? "*" : varName),
+				(ignoreCase ? " ignoreCase" : ""));
 	}
 
 }
@@ -0,0 +1,226 @@
+/**
+ *+
+ *	ValDigits.java
+ *	1.0.0  2026-10-17  Leo Hinterlang
+ *-
+ */
+package com.fidelis.valface;
+
+/**
+ * Number parsing that does not throw.
+ * Each method accepts exactly the text accepted by the corresponding
+ * method of the standard library but reports invalid text with a return
+ * value rather than a {@code NumberFormatException}. Rejecting a value is
+ * the common case when validating untrusted input.
+ *
+ * @version 1.0.0
+ * @author Leo Hinterlang
+ */
+final class ValDigits {
+	
+	/** The value returned by {@link #parseInt(String)} for invalid text. */
+	static final long NONE = Long.MIN_VALUE;
+	
+	private ValDigits () {
+	}
+	
+	/**
+	 * Parses a decimal int as {@code Integer.parseInt} does.
+	 *
+	 * @param s the text to parse
+	 * @return the int value or {@link #NONE} if the text is not valid
+	 */
+	static long parseInt (String s) {
+		if (s == null) {
+			return NONE;
+		}
+		return parseInt(s, 0, s.length());
+	}
+	
+	/**
+	 * Parses a decimal int from a range of characters as {@code Integer.parseInt}
+	 * does for the same text.
+	 *
+	 * @param s the characters
+	 * @param start the index of the first character
+	 * @param end the index following the last character
+	 * @return the int value or {@link #NONE} if the text is not valid
+	 */
+	static long parseInt (CharSequence s, int start, int end) {
+		if (start == end) {
+			return NONE;
+		}
+		int i = start;
+		boolean negative = false;
+		char c = s.charAt(i);
+		if (c == '-' || c == '+') {
+			negative = (c == '-');
+			if (++i == end) {
+				return NONE;
+			}
+		}
+		long result = 0;
+		for (; i < end; i++) {
+			int digit = Character.digit(s.charAt(i), 10);
+			if (digit < 0) {
+				return NONE;
+			}
+			result = result * 10 + digit;
+			if (result > (negative ? -(long) Integer.MIN_VALUE : Integer.MAX_VALUE)) {
+				return NONE;
+			}
+		}
+		return negative ? -result : result;
+	}
+	
+	/**
+	 * Returns true if the text is accepted by {@code Long.parseLong}.
+	 *
+	 * @param s the text to check
+	 * @return true if the text is a valid decimal long
+	 */
+	static boolean isLong (String s) {
+		if (s == null) {
+			return false;
+		}
+		int len = s.length();
+		if (len == 0) {
+			return false;
+		}
+		int i = 0;
+		boolean negative = false;
+		char c = s.charAt(0);
+		if (c == '-' || c == '+') {
+			negative = (c == '-');
+			if (++i == len) {
+				return false;
+			}
+		}
+		long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+		long result = 0;
+		for (; i < len; i++) {
+			int digit = Character.digit(s.charAt(i), 10);
+			if (digit < 0 || result < limit / 10) {
+				return false;
+			}
+			result *= 10;
+			if (result < limit + digit) {
+				return false;
+			}
+			result -= digit;
+		}
+		return true;
+	}
+	
+	/**
+	 * Returns true if the text is accepted by {@code Double.valueOf} and
+	 * {@code Float.valueOf}. Leading and trailing white space is ignored.
+	 *
+	 * @param s the text to check
+	 * @return true if the text is a valid floating point number
+	 */
+	static boolean isDouble (String s) {
+		String in = s.trim();
+		int len = in.length();
+		if (len == 0) {
+			return false;
+		}
+		int i = 0;
+		char c = in.charAt(i);
+		if (c == '+' || c == '-') {
+			if (++i == len) {
+				return false;
+			}
+			c = in.charAt(i);
+		}
+		if (c == 'N') {
+			return in.startsWith("NaN", i) && i + 3 == len;
+		}
+		if (c == 'I') {
+			return in.startsWith("Infinity", i) && i + 8 == len;
+		}
+		if (c == '0' && i + 1 < len && (in.charAt(i + 1) == 'x' || in.charAt(i + 1) == 'X')) {
+			return isHexDouble(in, i + 2);
+		}
+		int digits = 0;
+		boolean point = false;
+		for (; i < len; i++) {
+			c = in.charAt(i);
+			if ('0' <= c && c <= '9') {
+				++digits;
+			} else if (c == '.' && ! point) {
+				point = true;
+			} else {
+				break;
+			}
+		}
+		if (digits == 0) {
+			return false;
+		}
+		if (i < len && (in.charAt(i) == 'e' || in.charAt(i) == 'E')) {
+			i = exponent(in, i + 1);
+			if (i < 0) {
+				return false;
+			}
+		}
+		return suffix(in, i);
+	}
+	
+	/**
+	 * Checks the hexadecimal form following "0x":
+	 * hex digits with an optional point, then a binary exponent.
+	 */
+	private static boolean isHexDouble (String in, int i) {
+		int len = in.length();
+		int digits = 0;
+		boolean point = false;
+		for (; i < len; i++) {
+			char c = in.charAt(i);
+			if (('0' <= c && c <= '9') || ('a' <= c && c <= 'f') || ('A' <= c && c <= 'F')) {
+				++digits;
+			} else if (c == '.' && ! point) {
+				point = true;
+			} else {
+				break;
+			}
+		}
+		if (digits == 0 || i == len || (in.charAt(i) != 'p' && in.charAt(i) != 'P')) {
+			return false;
+		}
+		i = exponent(in, i + 1);
+		return i >= 0 && suffix(in, i);
+	}
+	
+	/**
+	 * Skips an exponent: an optional sign followed by decimal digits.
+	 *
+	 * @return the index following the exponent or -1 if there are no digits
+	 */
+	private static int exponent (String in, int i) {
+		int len = in.length();
+		if (i < len && (in.charAt(i) == '+' || in.charAt(i) == '-')) {
+			++i;
+		}
+		int start = i;
+		while (i < len && '0' <= in.charAt(i) && in.charAt(i) <= '9') {
+			++i;
+		}
+		return (i == start) ? -1 : i;
+	}
+	
+	/**
+	 * Returns true if the number ends here or with a single type suffix.
+	 */
+	private static boolean suffix (String in, int i) {
+		int len = in.length();
+		if (i == len) {
+			return true;
+		}
+		if (i != len - 1) {
+			return false;
+		}
+		char c = in.charAt(i);
+		return c == 'f' || c == 'F' || c == 'd' || c == 'D';
+	}
+	
+}
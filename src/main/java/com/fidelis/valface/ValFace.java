@@ -91,5 +91,40 @@ public interface ValFace {
 	 * @return the BigDecimal value or null
 	 */
 	BigDecimal getBigDecimal (String name);
+	
+	/**
+	 * Returns true if the named value was supplied and is valid.
+	 * 
+	 * @param name the validation name
+	 * @return true if there is a valid value
+	 */
+	boolean has (String name);
+	
+	/**
+	 * Returns the named value as an int, without boxing.
+	 * 
+	 * @param name the validation name
+	 * @param defaultValue the value returned if there is no int value
+	 * @return the int value or the default
+	 */
+	int getInt (String name, int defaultValue);
+	
+	/**
+	 * Returns the named value as a long, without boxing.
+	 * 
+	 * @param name the validation name
+	 * @param defaultValue the value returned if there is no long value
+	 * @return the long value or the default
+	 */
+	long getLongValue (String name, long defaultValue);
+	
+	/**
+	 * Returns the named value as a double, without boxing.
+	 * 
+	 * @param name the validation name
+	 * @param defaultValue the value returned if there is no double value
+	 * @return the double value or the default
+	 */
+	double getDoubleValue (String name, double defaultValue);
 
 }
@@ -0,0 +1,129 @@
+/**
+ *+
+ *	ValIntervals.java
+ *	1.0.0  2026-10-17  Leo Hinterlang
+ *-
+ */
+package com.fidelis.valface;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Sorted set of disjoint numeric intervals.
+ * The range and literal items of a numeric definition are merged into
+ * one array of intervals when the definition is compiled. A value is then
+ * checked with a binary search instead of comparing it with each item.
+ * <p>
+ * Values are compared as {@code long} keys. An integral value is its
+ * {@code longValue}. A decimal value is mapped to a key that orders the
+ * same way as {@link Double#compare(double, double)}. These are the
+ * comparisons made by {@link ValData#compareTo(ValData)} for the
+ * definition type, so the result is the same as checking each item.
+ *
+ * @version 1.0.0
+ * @author Leo Hinterlang
+ */
+final class ValIntervals {
+	
+	private final long[] lows;
+	private final long[] highs;
+	
+	private ValIntervals (long[] lows, long[] highs) {
+		this.lows = lows;
+		this.highs = highs;
+	}
+	
+	/**
+	 * Returns the key of a numeric value for the given type.
+	 *
+	 * @param type the numeric definition type
+	 * @param data the numeric value
+	 * @return the comparison key
+	 */
+	static long key (ValType type, ValData data) {
+		if (type.isIntegral()) {
+			return data.longValue();
+		}
+		return doubleKey(data.doubleValue());
+	}
+	
+	/**
+	 * Returns a key that orders as {@code Double.compare} orders doubles.
+	 * The sign bit is kept and the other bits of a negative value are
+	 * inverted so that more negative values have smaller keys. Adjacent
+	 * keys are adjacent doubles.
+	 *
+	 * @param value the double value
+	 * @return the comparison key
+	 */
+	static long doubleKey (double value) {
+		long bits = Double.doubleToLongBits(value);
+		return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+	}
+	
+	/**
+	 * Builds the intervals from pairs of inclusive bounds.
+	 * Overlapping and adjacent intervals are coalesced.
+	 *
+	 * @param bounds the low and high bounds of each interval
+	 * @param count the number of intervals
+	 * @return the sorted, disjoint intervals
+	 */
+	static ValIntervals build (long[][] bounds, int count) {
+		long[][] sorted = Arrays.copyOf(bounds, count);
+		Arrays.sort(sorted, new Comparator<long[]>() {
+			public int compare (long[] a, long[] b) {
+				return a[0] < b[0] ? -1 : (a[0] == b[0] ? 0 : 1);
+			}
+		});
+		long[] lows = new long[count];
+		long[] highs = new long[count];
+		int size = 0;
+		for (long[] bound : sorted) {
+			if (size > 0 && (bound[0] <= highs[size - 1] ||
+					bound[0] - 1 == highs[size - 1])) {
+				if (bound[1] > highs[size - 1]) {
+					highs[size - 1] = bound[1];
+				}
+			} else {
+				lows[size] = bound[0];
+				highs[size] = bound[1];
+				++size;
+			}
+		}
+		return new ValIntervals(Arrays.copyOf(lows, size), Arrays.copyOf(highs, size));
+	}
+	
+	/**
+	 * Returns true if the key lies within one of the intervals.
+	 *
+	 * @param key the comparison key
+	 * @return true if the key is contained
+	 */
+	boolean contains (long key) {
+		int low = 0;
+		int high = lows.length - 1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			if (key < lows[mid]) {
+				high = mid - 1;
+			} else if (key > highs[mid]) {
+				low = mid + 1;
+			} else {
+				return true;
+			}
+		}
+		return false;
+	}
+	
+	/**
+	 * Returns the number of disjoint intervals.
+	 *
+	 * @return the number of intervals
+	 */
+	int size () {
+		return lows.length;
+	}
+	
+}
@@ -8,12 +8,9 @@ package com.fidelis.valface;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
-import java.text.DateFormat;
-import java.text.Format;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
-import java.util.Date;
+import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
 import com.fidelis.argface.Debug;
 
@@ -30,6 +27,12 @@ public class ValItem {
 	private boolean pattern;
 	private ValData begin;
 	private ValData end;
+	private Pattern regex;
+	private ThreadLocal<Matcher> matcher;
+	private ValDatePattern datePattern;
+	private ValDateExpr beginExpr;
+	private ValDateExpr endExpr;
+	private volatile DateBounds bounds;
 	
 	public ValItem () {
 	}
@@ -38,20 +41,26 @@ public class ValItem {
 		this.text = text;
 	}
 	
-	public boolean parse (ValType type) {
+	boolean parse (ValType type) {
 		if (text.contains("..")) {
 			range = true;
 			int index = text.indexOf("..");
 			String beginVal = text.substring(0, index).trim();
 			String endVal   = text.substring(index + 2).trim();
 			try {
-				begin = ValData.parse(type, beginVal);
-				end   = ValData.parse(type, endVal);
+				if (type == ValType.DATE) {
+					compileDates(beginVal, endVal);
+				} else {
+					begin = ValData.parse(type, beginVal).boxValue();
+					end   = ValData.parse(type, endVal).boxValue();
+				}
 			} catch (IllegalArgumentException ex) {
 				System.out.println("ERROR - " + ex.getMessage());
 				return false;
 			}
-			if (begin.compareTo(end) >= 0) {
+			// A relative date range is evaluated each day and its order is not
+			// checked; on a day it is reversed it matches nothing.
+			if (beginExpr == null && begin.compareTo(end) >= 0) {
 				System.out.println("ERROR - Invalid range specification: " + text);
 				return false;
 			}
@@ -60,9 +69,19 @@ public class ValItem {
 			if (val.startsWith("@")) {
 				pattern = true;
 				text = val.substring(1);
+				if (type == ValType.STRING && ! compilePattern()) {
+					return false;
+				}
+				if ((type == ValType.DATE || type == ValType.DATETIME) && ! compileDatePattern()) {
+					return false;
+				}
 			} else {
 				try {
-					begin = ValData.parse(type, val);
+					if (type == ValType.DATE) {
+						compileDates(val, null);
+					} else {
+						begin = ValData.parse(type, val).boxValue();
+					}
 				} catch (IllegalArgumentException ex) {
 					System.out.println("ERROR - " + ex.getMessage());
 					return false;
@@ -73,24 +92,128 @@ public class ValItem {
 		return true;
 	}
 	
-	public boolean validate (String val, ValDef def) {
+	/**
+	 * Compiles the date specifications of a date literal or range.
+	 * A specification relative to today, such as {@code today.minus.100.years},
+	 * is kept as a compiled expression and evaluated again when the date changes
+	 * so that a long lived definition does not validate against a stale today.
+	 * Only its syntax is checked here. On a day it can not be evaluated, such
+	 * as {@code today.day.31} in a month of 30 days, or on a day its range is
+	 * reversed, the item matches nothing.
+	 * 
+	 * @param beginVal the literal or the beginning of the range
+	 * @param endVal the end of the range or null for a literal
+	 * @throws IllegalArgumentException for an invalid date specification
+	 */
+	private void compileDates (String beginVal, String endVal) throws IllegalArgumentException {
+		ValDateExpr beginDate = ValDateParser.compile(beginVal);
+		ValDateExpr endDate = (endVal == null) ? null : ValDateParser.compile(endVal);
+		DateBounds today = new DateBounds(ADate.now(), beginDate, endDate);
+		begin = today.begin;
+		end = today.end;
+		if (beginDate.isRelative() || (endDate != null && endDate.isRelative())) {
+			beginExpr = beginDate;
+			endExpr = endDate;
+			bounds = today;
+		}
+	}
+	
+	/**
+	 * Returns the date bounds for today, evaluating the expressions again
+	 * only if the date has changed since they were last evaluated.
+	 * 
+	 * @return the date bounds for today
+	 */
+	private DateBounds currentBounds () {
+		ADate today = ADate.now();
+		DateBounds b = bounds;
+		if (! b.today.equals(today)) {
+			b = new DateBounds(today, beginExpr, endExpr);
+			bounds = b;
+		}
+		return b;
+	}
+	
+	/**
+	 * Compiles the regular expression of a pattern item.
+	 * The pattern is compiled once, when the validation text is parsed.
+	 * Each thread that validates against this item reuses its own
+	 * {@code Matcher} since a {@code Matcher} is not thread-safe.
+	 * 
+	 * @return true if the regular expression is valid
+	 */
+	private boolean compilePattern () {
+		try {
+			regex = Pattern.compile(text);
+		} catch (PatternSyntaxException ex) {
+			System.out.println("ERROR - Invalid pattern: " + text);
+			System.out.println("        " + ex.getDescription());
+			return false;
+		}
+		final Pattern compiled = regex;
+		matcher = new ThreadLocal<Matcher>() {
+			protected Matcher initialValue () {
+				return compiled.matcher("");
+			}
+		};
+		return true;
+	}
+	
+	/**
+	 * Compiles the date pattern of a pattern item.
+	 * The pattern is compiled once, when the validation text is parsed,
+	 * and may then be used by any number of threads.
+	 * 
+	 * @return true if the date pattern is valid
+	 */
+	private boolean compileDatePattern () {
+		try {
+			datePattern = ValDatePattern.compile(text);
+		} catch (IllegalArgumentException ex) {
+			System.out.println("ERROR - Invalid date pattern: " + text);
+			System.out.println("        " + ex.getMessage());
+			return false;
+		}
+		return true;
+	}
+	
+	/**
+	 * Validates a value against this item.
+	 * The data is the value as already parsed for the definition type.
+	 * Neither this item nor the definition is modified.
+	 * 
+	 * @param val the value text
+	 * @param value the parsed value
+	 * @param def the validation definition
+	 * @return the validated data or null if this item does not match
+	 */
+	public ValData validate (String val, ValData value, ValDef def) {
 		ValType type = def.getType();
-		ValData value = def.getVarData();
+		ValData low = begin;
+		ValData high = end;
+		if (beginExpr != null) {
+			DateBounds b = currentBounds();
+			if (b.begin == null) {
+				return null;
+			}
+			low = b.begin;
+			high = b.end;
+		}
 		if (range) {
-			return validateRange(value);
+			return validateRange(low, high, value) ? value : null;
 		}
-		if (type == ValType.DATE) {
-			return validateDate(val, def);
+		if (type == ValType.DATE || type == ValType.DATETIME) {
+			return validateDate(val, value, low, type);
 		}
 		if (type == ValType.STRING) {
-			return validateText(val, def.isIgnoreCase());
+			return validateText(val, def.isIgnoreCase()) ? value : null;
 		}
-		return validateNumber(value);
+		return validateNumber(low, value) ? value : null;
 	}
 	
 	private boolean validateText (String val, boolean ignoreCase) {
 		if (pattern) {
-			return Pattern.matches(text, val);
+			return matcher.get().reset(val).matches();
 		}
 		if (ignoreCase) {
 			if (val.equalsIgnoreCase(text)) {
@@ -104,35 +227,22 @@ public class ValItem {
 		return false;
 	}
 	
-	private boolean validateDate (String val, ValDef def) {
+	private ValData validateDate (String val, ValData value, ValData low, ValType type) {
 		if (pattern) {
-			Format fmt = DateFormat.getDateInstance();
-			((DateFormat) fmt).setLenient(false);
-			if (fmt instanceof SimpleDateFormat) {
-				((SimpleDateFormat) fmt).applyPattern(text);
-			}
-			try {
-				Date date = ((DateFormat) fmt).parse(val);
-				def.setVarData(new ValData(ValType.DATE, date));
-			} catch (ParseException ex) {
-				return false;
-			}
-		}
-		else {
-			return validateNumber(def.getVarData());
+			return datePattern.parse(val, type);
 		}
-		return true;
+		return validateNumber(low, value) ? value : null;
 	}
 	
-	private boolean validateRange (ValData value) {
+	private boolean validateRange (ValData low, ValData high, ValData value) {
 		Debug.trace("validateRange: " + value);
-		int beginResult = begin.compareTo(value);
-		int endResult   = end.  compareTo(value);
+		int beginResult = low. compareTo(value);
+		int endResult   = high.compareTo(value);
 		return (beginResult <= 0 && 0 <= endResult);
 	}
 	
-	private boolean validateNumber (ValData value) {
-		return (begin.compareTo(value) == 0);
+	private boolean validateNumber (ValData low, ValData value) {
+		return (low.compareTo(value) == 0);
 	}
 
 	/**
@@ -145,7 +255,7 @@ public class ValItem {
 	/**
 	 * @param text the text to set
 	 */
-	public void setText (String text) {
+	void setText (String text) {
 		this.text = text;
 	}
 	
@@ -159,10 +269,32 @@ public class ValItem {
 	/**
 	 * @param range the range to set
 	 */
-	public void setRange (boolean range) {
+	void setRange (boolean range) {
 		this.range = range;
 	}
 	
+	/**
+	 * Returns the value of a literal item or the beginning of a range.
+	 * A date relative to today is the value for the current date.
+	 * 
+	 * @return the begin value or null for a pattern or for a relative date
+	 * that can not be evaluated today
+	 */
+	public ValData getBegin () {
+		return (beginExpr != null) ? currentBounds().begin : begin;
+	}
+	
+	/**
+	 * Returns the end of a range.
+	 * A date relative to today is the value for the current date.
+	 * 
+	 * @return the end value or null if not a range or for a relative date
+	 * that can not be evaluated today
+	 */
+	public ValData getEnd () {
+		return (beginExpr != null) ? currentBounds().end : end;
+	}
+	
 	/**
 	 * @return the pattern
 	 */
@@ -173,7 +305,7 @@ public class ValItem {
 	/**
 	 * @param pattern the pattern to set
 	 */
-	public void setPattern (boolean pattern) {
+	void setPattern (boolean pattern) {
 		this.pattern = pattern;
 	}
 	
@@ -187,4 +319,32 @@ public class ValItem {
 		return s;
 	}
 	
+	/**
+	 * The values of the date expressions of an item on a given day.
+	 * The values are null if an expression is not valid on that day,
+	 * such as {@code today.day.31} in a month of 30 days.
+	 */
+	private static final class DateBounds {
+		final ADate today;
+		final ValData begin;
+		final ValData end;
+		
+		DateBounds (ADate today, ValDateExpr beginDate, ValDateExpr endDate) {
+			ValData first = null;
+			ValData last = null;
+			try {
+				first = new ValData(ValType.DATE, beginDate.evaluate(today)).boxValue();
+				if (endDate != null) {
+					last = new ValData(ValType.DATE, endDate.evaluate(today)).boxValue();
+				}
+			} catch (IllegalArgumentException ex) {
+				first = null;
+				last = null;
+			}
+			this.today = today;
+			this.begin = first;
+			this.end = last;
+		}
+	}
+	
 }
@@ -21,43 +21,56 @@ public class ValParser {
 	
 	private static final String FAIL = "$FAIL$";
 	
-	private TokenSource  	source;
+	private TokenChars  	source;
 	private final String 	delimiters = " \t\n\'|=:;";
-	private ValBase	  		valBase;
 	private ValDef	   		def;
-	private ValItem	  		item;
 	private List<ValDef> 	defList	= new ArrayList<ValDef>(20);
+	private ValSchema		schema;
+	private StringBuilder	text	= new StringBuilder(64);
 	 
-	 public boolean parse (String valText, ValBase valBase) {
-		 this.valBase = valBase;
-		 source = new TokenString(valText, delimiters);
-		 String token = nextToken();
-		 if (token.equalsIgnoreCase("values")) {
+	 /**
+	  * Parses the validation text.
+	  * The items of each definition with a type are compiled as soon as the
+	  * definition is complete. A definition without a type takes the type of
+	  * its variable; its items are compiled when the schema is resolved
+	  * against a model.
+	  * 
+	  * @param valText the validation text
+	  * @return true if there are no errors
+	  */
+	 public boolean parse (String valText) {
+		 source = new TokenChars(valText, delimiters);
+		 CharSequence token = nextToken();
+		 if (token != null && token.toString().equalsIgnoreCase("values")) {
 			 token = nextToken();
 		 }
-		 if (token.equals(":")) {
+		 if (is(token, ':')) {
 			 token = nextToken();
 		 }
 		 while (token != null) {
-			 if (token.equals(FAIL)) {
+			 if (token == FAIL) {
 				 return false;
 			 }
 			 def = new ValDef();
-			 def.setName(token);
+			 def.setName(token.toString());
 			 token = parseDefinition();
 			 if (token == null) {
 				 break;
 			 }
-			 if (token.equals(FAIL)) {
+			 if (token == FAIL) {
 				 return false;
 			 }
 			 defList.add(def);
-			 if (token.equals(";")) {
+			 if (is(token, ';')) {
 				 token = nextToken();
 			 } else {
 				 token = parseItems();
 			 }
+			 if (def.getType() != null && ! def.compile()) {
+				 return false;
+			 }
 		 }
+		 schema = new ValSchema(defList);
 		 return true;
 	 }
 	 
@@ -65,19 +78,25 @@ public class ValParser {
 		 return defList;
 	 }
 	 
-	 private String parseDefinition () {
-		 String token = null;
+	 /**
+	  * Returns the compiled schema produced by the last successful parse.
+	  * 
+	  * @return the compiled schema or null
+	  */
+	 public ValSchema getSchema () {
+		 return schema;
+	 }
+	 
+	 private CharSequence parseDefinition () {
+		 CharSequence token = null;
 		 for (token = nextToken(); token != null; token = nextToken()) {
-			 if (token.equals("=") || token.equals(";")) {
-				 if (! valBase.postDefinition(def)) {
-					 return FAIL;
-				 }
-				 if (token.equals(";")) {
-					 def.defaultItems();
+			 if (is(token, '=') || is(token, ';')) {
+				 if (is(token, ';')) {
+					 def.setDefaults(true);
 				 }
 				 break;
 			 }
-			 if (! def.parse(token)) {
+			 if (! def.parse(token.toString())) {
 				 System.out.println("ERROR - Invalid definition token: " + token +
 						 " \"=\" expected");
 				 return FAIL;
@@ -86,45 +105,53 @@ public class ValParser {
 		 return token;
 	 }
 	    
-	 private String parseItems () {
-		 String token = nextToken();
+	 private CharSequence parseItems () {
+		 CharSequence token = nextToken();
 		 while (token != null) {
-			 if (token.equals(";")) {
+			 if (is(token, ';')) {
 				 return nextToken();
 			 }
-			 item = new ValItem();
-			 String text = fullItem(token);
-			 item.setText(text);
-			 if (! item.parse(def.getType())) {
-				 return FAIL;
-			 }
+			 ValItem item = new ValItem();
+			 item.setText(fullItem(token));
 			 def.addItem(item);
 			 token = nextToken();
 		 }
 		 return null;
 	 }
 	 
-	 private String fullItem (String start) {
-		 String text = start;
-		 String token = nextToken();
+	 /**
+	  * Joins the tokens of an item up to the next "|" or ";".
+	  * The tokens are views of the validation text so they are
+	  * appended to a single buffer rather than concatenated.
+	  */
+	 private String fullItem (CharSequence start) {
+		 text.setLength(0);
+		 text.append(start);
+		 CharSequence token = nextToken();
 		 while (token != null) {
-			 if (token.equals("|")) {
-				 return text;
+			 if (is(token, '|')) {
+				 break;
 			 }
-			 else if (token.equals(";")) {
+			 else if (is(token, ';')) {
 				 source.push();
-				 return text;
+				 break;
 			 }
-			 text += token;
+			 text.append(token);
 			 token = nextToken();
 		 }
-		 return text;
+		 return text.toString();
 	 }
 	 
-	 private String nextToken () {
-		 String token = source.next();
-		 Debug.verbose("token: " + token);
+	 private CharSequence nextToken () {
+		 CharSequence token = source.nextSequence();
+		 if (Debug.isVerbose()) {
+			 Debug.verbose("token: " + token);
+		 }
 		 return token;
 	 }
 	 
+	 private static boolean is (CharSequence token, char c) {
+		 return token != null && token.length() == 1 && token.charAt(0) == c;
+	 }
+	 
 }
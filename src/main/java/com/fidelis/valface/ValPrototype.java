@@ -7,22 +7,44 @@
 package com.fidelis.valface;
 
 import java.lang.reflect.Field;
-import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 import com.fidelis.argface.ArgReflect;
 
 /**
  * ValFace Prototype implementation.
+ * <p>
+ * The schema resolved for a model class and parsed schema is kept with
+ * the bindings of its variables. Creating another prototype for a model of
+ * the same class with the same validation text takes both from the plan,
+ * without looking for any getter, field or setter of the model.
+ * Each class keeps the plans of at most {@link ValSchemaCache#DEFAULT_MAX_SIZE}
+ * parsed schemas, evicting the least recently used.
  * 
  * @version 1.0.0
  * @author Leo Hinterlang
  */
 public class ValPrototype extends ValBase implements ValFace {
 	
-	private ArgReflect	reflect;
+	private static final ClassValue<Map<ValSchema, Plan>> plans =
+			new ClassValue<Map<ValSchema, Plan>>() {
+		protected Map<ValSchema, Plan> computeValue (Class<?> type) {
+			return new LinkedHashMap<ValSchema, Plan>(16, 0.75f, true) {
+				private static final long serialVersionUID = 1L;
+				protected boolean removeEldestEntry (Map.Entry<ValSchema, Plan> eldest) {
+					return size() > ValSchemaCache.DEFAULT_MAX_SIZE;
+				}
+			};
+		}
+	};
+	
+	private Object			model;
+	private ArgReflect		reflect;
+	private ValBinding[]	bindings = new ValBinding[0];
 	
 	protected ValPrototype () {
-		reflect = new ArgReflect();
-		reflect.setPrivateAccess(true);
 	}
 	
 	public static ValPrototype create () {
@@ -48,68 +70,92 @@ public class ValPrototype extends ValBase implements ValFace {
 	}
 	
 	private boolean parseValText (Object vi) {
-		reflect.setObject(vi);
+		model = vi;
 		return parseValText();
 	}
 	
-	protected boolean modelPostDefinition (ValDef def) {
+	private ArgReflect reflect () {
+		if (reflect == null) {
+			reflect = new ArgReflect();
+			reflect.setPrivateAccess(true);
+			reflect.setObject(model);
+		}
+		return reflect;
+	}
+	
+	protected ValSchema modelSchema (ValSchema template) {
+		if (model == null) {
+			return super.modelSchema(template);
+		}
 		
-		// Variable name specified.
-		String varName = def.getVarName();
-		if (varName != null) {
-			
-			// Find getter for return type.
-			Class<?> typeClass = null;
-			Method getter = reflect.findGetter(varName, null);
-			if (getter != null) {
-				typeClass = getter.getReturnType();
-			}
-			
-			// No getter, try variable field.
-			else {
-				Field field = reflect.findField(varName, null);
-				if (field != null) {
-					typeClass = field.getType();
-					def.setVarField(field);
-				}
-			}
-			
-			// Variable type undetermined.
-			if (typeClass == null) {
-				System.out.println("Named variable not found: " + varName);
-			}
-			
-			// Set the definition data type.
-			else {
-				String typeName = typeClass.getSimpleName();
-				ValData varData = new ValData(typeName, null);
-				ValType varType = varData.getType();
-				if (varType == null) {
-					System.out.println("Unknown data type: " + typeName);
-				} else {
-					def.setVarData(varData);
-				}
-				
-				// Find setter method. (Optional)
-				Method setter = reflect.findSetter(varName, typeClass);
-				if (setter != null) {
-					def.setVarSetter(setter);
+		// Take the schema and bindings from the plan for this class and template.
+		Map<ValSchema, Plan> classPlans = plans.get(model.getClass());
+		Plan plan;
+		synchronized (classPlans) {
+			plan = classPlans.get(template);
+		}
+		if (plan != null) {
+			bindings = plan.bindings;
+			return plan.schema;
+		}
+		ValSchema schema = super.modelSchema(template);
+		if (schema != null) {
+			synchronized (classPlans) {
+				if (! classPlans.containsKey(template)) {
+					classPlans.put(template, new Plan(schema, bindings));
 				}
 			}
 		}
-		return true;
+		return schema;
+	}
+	
+	/**
+	 * Returns the number of plans kept for a model class.
+	 */
+	static int getPlanCount (Class<?> type) {
+		Map<ValSchema, Plan> classPlans = plans.get(type);
+		synchronized (classPlans) {
+			return classPlans.size();
+		}
 	}
 	
-	protected boolean modelSetValue (ValDef def, Object value) {
-		Method setter = def.getVarSetter();
-		Field field = def.getVarField();
-		if (setter != null) {
-			return reflect.setValue(setter, value);
+	protected ValType modelBind (int index, ValDef def) {
+		if (index >= bindings.length) {
+			bindings = Arrays.copyOf(bindings, index + 1);
 		}
-		else if (field != null) {
-			return reflect.setValue(field, value);
+		
+		// Find the binding resolved for this class and variable.
+		String varName = def.getVarName();
+		ValBinding binding = ValBinding.get(reflect(), varName);
+		Class<?> typeClass = binding.getTypeClass();
+		
+		// Variable type undetermined or variable not accessible.
+		if (binding.getError() != null) {
+			System.out.println(binding.getError());
+			return null;
+		}
+		bindings[index] = binding;
+		
+		// Return the variable data type.
+		String typeName = typeClass.getSimpleName();
+		ValType varType = new ValData(typeName, null).getType();
+		if (varType == null) {
+			System.out.println("Unknown data type: " + typeName);
 		}
-		return true;
+		return varType;
+	}
+	
+	protected boolean modelSetValue (int index, ValDef def, Object value) {
+		ValBinding binding = bindings[index];
+		
+		// A variable with a getter and no setter is not written.
+		if (! binding.isWritable()) {
+			return true;
+		}
+		
+		// A date is converted only if the variable is a Calendar or Date.
+		value = ValData.toClass(value, binding.getTypeClass());
+		return binding.setValue(model, value);
 	}
 	
 	protected ValType modelGetType (String varName) {
@@ -117,15 +163,28 @@ public class ValPrototype extends ValBase implements ValFace {
 	}
 	
 	ValType findFieldType (String fieldName) {
-		Field field = reflect.findField(fieldName, null);
+		Field field = reflect().findField(fieldName, null);
 		if (field == null) {
 			System.out.println("Field not found: " + fieldName);
 			return null;
 		}
 		Class<?> c = field.getType();
 		String typeName = c.getSimpleName();
-		System.out.println("Field: " + fieldName + " is type: " + typeName);
 		return ValType.getType(typeName);
 	}
 
+	/**
+	 * Schema resolved for a model class and parsed schema, with the
+	 * bindings of its variables.
+	 */
+	private static final class Plan {
+		private final ValSchema		schema;
+		private final ValBinding[]	bindings;
+		
+		private Plan (ValSchema schema, ValBinding[] bindings) {
+			this.schema = schema;
+			this.bindings = bindings;
+		}
+	}
+
 }
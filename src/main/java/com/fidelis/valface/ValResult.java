@@ -0,0 +1,257 @@
+/**
+ *+
+ *	ValResult.java
+ *	1.0.0  2026-10-17  Leo Hinterlang
+ *-
+ */
+package com.fidelis.valface;
+
+/**
+ * Result of a single validation run.
+ * A result is produced by {@link ValSchema#validate(com.fidelis.argface.ArgFace)}
+ * and belongs to the caller. It records, for each definition of the schema,
+ * whether a value was supplied, whether it was valid and the parsed value.
+ * Each value may be fetched by validation name or by the slot that
+ * {@link ValSchema#indexOf(String)} returns for the name.
+ *
+ * @version 1.0.0
+ * @author Leo Hinterlang
+ */
+public class ValResult {
+	
+	private final ValSchema schema;
+	private final ValData[] data;
+	private final boolean[] present;
+	private boolean valid = true;
+	
+	/**
+	 * Creates an empty result for the given schema.
+	 *
+	 * @param schema the validation schema
+	 */
+	ValResult (ValSchema schema) {
+		this.schema = schema;
+		this.data = new ValData[schema.size()];
+		this.present = new boolean[schema.size()];
+	}
+	
+	void setValid (int index, ValData value) {
+		present[index] = true;
+		data[index] = value;
+	}
+	
+	void setInvalid (int index) {
+		present[index] = true;
+		valid = false;
+	}
+	
+	/**
+	 * Returns true if none of the supplied values were invalid.
+	 *
+	 * @return true if all supplied values are valid
+	 */
+	public boolean isValid () {
+		return valid;
+	}
+	
+	/**
+	 * Returns true if the named value was supplied and is valid.
+	 *
+	 * @param name the validation name
+	 * @return true if the named value is valid
+	 */
+	public boolean isValid (String name) {
+		return getData(name) != null;
+	}
+	
+	/**
+	 * Returns true if the value in a slot was supplied and is valid.
+	 *
+	 * @param index the definition index
+	 * @return true if the value is valid
+	 */
+	public boolean isValid (int index) {
+		return data[index] != null;
+	}
+	
+	/**
+	 * Returns true if a value was supplied for the named definition.
+	 * The value may or may not be valid.
+	 *
+	 * @param name the validation name
+	 * @return true if a value was supplied
+	 */
+	public boolean isPresent (String name) {
+		int index = schema.indexOf(name);
+		if (index < 0) {
+			return false;
+		}
+		return present[index];
+	}
+	
+	/**
+	 * Returns true if a value was supplied for the definition in a slot.
+	 * The value may or may not be valid.
+	 *
+	 * @param index the definition index
+	 * @return true if a value was supplied
+	 */
+	public boolean isPresent (int index) {
+		return present[index];
+	}
+	
+	/**
+	 * Returns the validated data for the named definition.
+	 *
+	 * @param name the validation name
+	 * @return the validated data or null if missing or invalid
+	 */
+	public ValData getData (String name) {
+		int index = schema.indexOf(name);
+		if (index < 0) {
+			return null;
+		}
+		return data[index];
+	}
+	
+	/**
+	 * Returns the validated data for the definition at the given index.
+	 *
+	 * @param index the definition index
+	 * @return the validated data or null if missing or invalid
+	 */
+	public ValData getData (int index) {
+		return data[index];
+	}
+	
+	/**
+	 * Returns the validated value object for the named definition.
+	 *
+	 * @param name the validation name
+	 * @return the value object or null if missing or invalid
+	 */
+	public Object getValue (String name) {
+		ValData value = getData(name);
+		if (value == null) {
+			return null;
+		}
+		return value.getValue();
+	}
+	
+	/**
+	 * Returns the validated value object for the definition in a slot.
+	 *
+	 * @param index the definition index
+	 * @return the value object or null if missing or invalid
+	 */
+	public Object getValue (int index) {
+		ValData value = data[index];
+		if (value == null) {
+			return null;
+		}
+		return value.getValue();
+	}
+	
+	/**
+	 * Returns the named value as an int, without boxing.
+	 * The value is converted as {@link ValBase#getInteger(String)} converts it.
+	 *
+	 * @param name the validation name
+	 * @param defaultValue the value returned if there is no int value
+	 * @return the int value or the default if missing, invalid, not numeric
+	 * or out of range
+	 */
+	public int getInt (String name, int defaultValue) {
+		return toInt(getData(name), defaultValue);
+	}
+	
+	/**
+	 * Returns the value in a slot as an int, without boxing.
+	 *
+	 * @param index the definition index
+	 * @param defaultValue the value returned if there is no int value
+	 * @return the int value or the default if missing, invalid, not numeric
+	 * or out of range
+	 */
+	public int getInt (int index, int defaultValue) {
+		return toInt(data[index], defaultValue);
+	}
+	
+	/**
+	 * Returns the named value as a long, without boxing.
+	 *
+	 * @param name the validation name
+	 * @param defaultValue the value returned if there is no long value
+	 * @return the long value or the default if missing, invalid or not numeric
+	 */
+	public long getLongValue (String name, long defaultValue) {
+		return toLong(getData(name), defaultValue);
+	}
+	
+	/**
+	 * Returns the value in a slot as a long, without boxing.
+	 *
+	 * @param index the definition index
+	 * @param defaultValue the value returned if there is no long value
+	 * @return the long value or the default if missing, invalid or not numeric
+	 */
+	public long getLongValue (int index, long defaultValue) {
+		return toLong(data[index], defaultValue);
+	}
+	
+	/**
+	 * Returns the named value as a double, without boxing.
+	 *
+	 * @param name the validation name
+	 * @param defaultValue the value returned if there is no double value
+	 * @return the double value or the default if missing, invalid or not numeric
+	 */
+	public double getDoubleValue (String name, double defaultValue) {
+		return toDouble(getData(name), defaultValue);
+	}
+	
+	/**
+	 * Returns the value in a slot as a double, without boxing.
+	 *
+	 * @param index the definition index
+	 * @param defaultValue the value returned if there is no double value
+	 * @return the double value or the default if missing, invalid or not numeric
+	 */
+	public double getDoubleValue (int index, double defaultValue) {
+		return toDouble(data[index], defaultValue);
+	}
+	
+	private static int toInt (ValData value, int defaultValue) {
+		if (value != null && value.getType().isNumeric()) {
+			long number = value.longValue();
+			if (ValType.INT.checkRange(number)) {
+				return (int) number;
+			}
+		}
+		return defaultValue;
+	}
+	
+	private static long toLong (ValData value, long defaultValue) {
+		if (value != null && value.getType().isNumeric()) {
+			return value.longValue();
+		}
+		return defaultValue;
+	}
+	
+	private static double toDouble (ValData value, double defaultValue) {
+		if (value != null && value.getType().isNumeric()) {
+			return value.doubleValue();
+		}
+		return defaultValue;
+	}
+	
+	/**
+	 * Returns the schema that produced this result.
+	 *
+	 * @return the validation schema
+	 */
+	public ValSchema getSchema () {
+		return schema;
+	}
+	
+}
@@ -0,0 +1,458 @@
+/**
+ *+
+ *	ValSchema.java
+ *	1.0.0  2026-10-17  Leo Hinterlang
+ *-
+ */
+package com.fidelis.valface;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.fidelis.argface.ArgFace;
+import com.fidelis.argface.Debug;
+
+/**
+ * Compiled validation schema.
+ * A schema is the product of parsing the validation text. It holds the
+ * validation definitions together with their compiled items and is never
+ * modified once the parser has produced it. Validation does not write to
+ * the schema; each run produces its own {@link ValResult}. A single schema
+ * may therefore be shared by any number of threads without locking.
+ * <p>
+ * Each definition has a slot, its index in definition order. A name is
+ * resolved to its slot with a hash index built when the schema is created.
+ * Callers that fetch many values may resolve the names once with
+ * {@link #indexOf(String)} and then use the slot methods of {@link ValResult}.
+ * A slot is the same in a schema and in each schema resolved from it.
+ * <p>
+ * Many records may be validated at once with the {@code validateBatch}
+ * methods, which return a {@link ValBatch} holding the validity of each
+ * value as bit sets and the parsed values as primitive columns.
+ *
+ * @version 1.0.0
+ * @author Leo Hinterlang
+ */
+public final class ValSchema {
+	
+	private final List<ValDef> defList;
+	private final String[] names;
+	private final HashMap<String, Integer> slots;
+	private final boolean resolved;
+	private final ConcurrentHashMap<String, ValSchema> resolvedMap;
+	
+	/**
+	 * Creates a new schema from the definitions produced by the parser.
+	 *
+	 * @param defList the validation definitions
+	 */
+	ValSchema (List<ValDef> defList) {
+		this.defList = Collections.unmodifiableList(defList);
+		this.names = new String[defList.size()];
+		this.slots = new HashMap<String, Integer>(defList.size() * 2);
+		boolean typed = true;
+		for (int index = 0; index < names.length; index++) {
+			ValDef def = defList.get(index);
+			names[index] = def.getName();
+			if (! slots.containsKey(names[index])) {
+				slots.put(names[index], index);
+			}
+			if (def.getType() == null) {
+				typed = false;
+			}
+		}
+		this.resolved = typed;
+		this.resolvedMap = typed ? null : new ConcurrentHashMap<String, ValSchema>();
+	}
+	
+	/**
+	 * Compiles the validation text into a schema.
+	 * There is no model associated with the schema so each definition
+	 * must specify its type.
+	 *
+	 * @param valText the validation text
+	 * @return the compiled schema or null if there are errors
+	 */
+	public static ValSchema compile (String valText) {
+		ValSchema schema = parse(valText);
+		if (schema == null) {
+			return null;
+		}
+		for (ValDef def : schema.defList) {
+			if (def.getType() == null) {
+				System.out.println("ERROR - No type specified for: " + def.getName());
+				return null;
+			}
+		}
+		return schema;
+	}
+	
+	/**
+	 * Parses the validation text into a schema that may still contain
+	 * definitions without a type. Such a schema must be resolved against
+	 * the types of a model before it can be used for validation.
+	 *
+	 * @param valText the validation text
+	 * @return the parsed schema or null if there are errors
+	 */
+	static ValSchema parse (String valText) {
+		ValParser parser = new ValParser();
+		if (! parser.parse(valText)) {
+			return null;
+		}
+		return parser.getSchema();
+	}
+	
+	/**
+	 * Compiles the validation text from an array of Strings into a schema.
+	 *
+	 * @param valText the validation text array
+	 * @return the compiled schema or null if there are errors
+	 */
+	public static ValSchema compile (String[] valText) {
+		return compile(ValBase.arrayToString(valText));
+	}
+	
+	/**
+	 * Returns true if every definition of this schema has a type.
+	 * Only a resolved schema can be used for validation.
+	 *
+	 * @return true if the schema is resolved
+	 */
+	public boolean isResolved () {
+		return resolved;
+	}
+	
+	/**
+	 * Resolves the definitions without a type.
+	 * The types are supplied in definition order, one for each definition
+	 * that has no type of its own. The definitions that do have a type are
+	 * shared with the resolved schema. A resolved schema is kept for each
+	 * distinct set of types so that later calls with the same types return
+	 * the same instance. This schema is not modified.
+	 *
+	 * @param types the types of the untyped definitions
+	 * @return the resolved schema or null if there are errors
+	 */
+	public ValSchema resolve (ValType[] types) {
+		if (resolved) {
+			return this;
+		}
+		StringBuilder sb = new StringBuilder();
+		for (ValType type : types) {
+			sb.append(type).append(' ');
+		}
+		String key = sb.toString();
+		ValSchema schema = resolvedMap.get(key);
+		if (schema != null) {
+			return schema;
+		}
+		List<ValDef> list = new ArrayList<ValDef>(defList.size());
+		int n = 0;
+		for (ValDef def : defList) {
+			if (def.getType() == null) {
+				if (n >= types.length || types[n] == null) {
+					System.out.println("ERROR - No type specified for: " + def.getName());
+					return null;
+				}
+				def = def.resolve(types[n++]);
+				if (def == null) {
+					return null;
+				}
+			}
+			list.add(def);
+		}
+		schema = new ValSchema(list);
+		ValSchema prior = resolvedMap.putIfAbsent(key, schema);
+		return prior == null ? schema : prior;
+	}
+	
+	/**
+	 * Validates the values supplied by an {@code ArgFace}.
+	 * Every definition is checked against the value of the same name.
+	 *
+	 * @param argFace the source of the values
+	 * @return the result of this validation run
+	 * @throws IllegalStateException if the schema is not resolved
+	 */
+	public ValResult validate (ArgFace argFace) {
+		checkResolved();
+		ValResult result = new ValResult(this);
+		for (int index = 0; index < names.length; index++) {
+			validate(index, argFace.value(names[index]), result);
+		}
+		return result;
+	}
+	
+	/**
+	 * Validates the values of a map keyed by the validation name.
+	 * Every definition is checked against the value of the same name.
+	 *
+	 * @param values the values keyed by validation name
+	 * @return the result of this validation run
+	 * @throws IllegalStateException if the schema is not resolved
+	 */
+	public ValResult validate (Map<String, String> values) {
+		checkResolved();
+		ValResult result = new ValResult(this);
+		for (int index = 0; index < names.length; index++) {
+			validate(index, values.get(names[index]), result);
+		}
+		return result;
+	}
+	
+	/**
+	 * Validates values supplied in slot order.
+	 * The value at each index is checked against the definition of that slot;
+	 * no names are looked up. A null value, or a missing one at the end of a
+	 * shorter array, is not supplied.
+	 *
+	 * @param values the values indexed by slot
+	 * @return the result of this validation run
+	 * @throws IllegalStateException if the schema is not resolved
+	 */
+	public ValResult validate (String[] values) {
+		checkResolved();
+		ValResult result = new ValResult(this);
+		int count = Math.min(values.length, names.length);
+		for (int index = 0; index < count; index++) {
+			validate(index, values[index], result);
+		}
+		return result;
+	}
+	
+	/**
+	 * Validates a batch of records whose values are in slot order.
+	 * The value at each index of a record is checked against the definition
+	 * of that slot, as {@link #validate(String[])} checks it.
+	 *
+	 * @param records the records, each with its values indexed by slot
+	 * @return the result of this batch
+	 * @throws IllegalStateException if the schema is not resolved
+	 */
+	public ValBatch validateBatch (String[][] records) {
+		int[] columns = new int[names.length];
+		for (int index = 0; index < columns.length; index++) {
+			columns[index] = index;
+		}
+		return validateBatch(records, columns);
+	}
+	
+	/**
+	 * Validates a batch of records with a mapping from column to slot.
+	 * The value in each column of a record is checked against the definition
+	 * in the slot for the column. A column mapped to -1 is skipped, so the
+	 * slots returned by {@link #indexOf(String...)} for the names of a header
+	 * row may be used as the mapping. A null value, or a missing one at the
+	 * end of a shorter record, is not supplied.
+	 * <p>
+	 * Each slot may be mapped by one column only, so no more columns than
+	 * there are definitions are mapped to a slot.
+	 *
+	 * @param records the records, each with its values indexed by column
+	 * @param columns the slot for each column or -1
+	 * @return the result of this batch
+	 * @throws IllegalStateException if the schema is not resolved
+	 * @throws IllegalArgumentException if a column is mapped to a slot that is
+	 * not a definition index or to a slot already mapped by another column
+	 */
+	public ValBatch validateBatch (String[][] records, int[] columns) {
+		checkColumns(columns);
+		ValBatch batch = createBatch(records.length);
+		ValData scratch = new ValData(ValType.UNKNOWN, null);
+		for (String[] values : records) {
+			int record = batch.addRecord();
+			int count = Math.min(values.length, columns.length);
+			for (int column = 0; column < count; column++) {
+				int slot = columns[column];
+				if (slot >= 0) {
+					validate(record, slot, values[column], batch, scratch);
+				}
+			}
+		}
+		return batch;
+	}
+	
+	/**
+	 * Checks a mapping from column to slot before any record is validated.
+	 */
+	private void checkColumns (int[] columns) {
+		int[] mapped = new int[names.length];
+		Arrays.fill(mapped, -1);
+		for (int column = 0; column < columns.length; column++) {
+			int slot = columns[column];
+			if (slot < -1 || slot >= names.length) {
+				throw new IllegalArgumentException("Invalid slot for column " + column
+						+ ": " + slot + " (-1 .. " + (names.length - 1) + ")");
+			}
+			if (slot >= 0) {
+				if (mapped[slot] >= 0) {
+					throw new IllegalArgumentException("Slot " + slot + " for column " + column
+							+ " is already mapped by column " + mapped[slot]);
+				}
+				mapped[slot] = column;
+			}
+		}
+	}
+	
+	/**
+	 * Validates a batch of records keyed by the validation name.
+	 * Every definition is checked against the value of the same name,
+	 * as {@link #validate(Map)} checks it.
+	 *
+	 * @param records the records, each with its values keyed by validation name
+	 * @return the result of this batch
+	 * @throws IllegalStateException if the schema is not resolved
+	 */
+	public ValBatch validateBatch (Iterable<? extends Map<String, String>> records) {
+		ValBatch batch = createBatch(0);
+		ValData scratch = new ValData(ValType.UNKNOWN, null);
+		for (Map<String, String> values : records) {
+			int record = batch.addRecord();
+			for (int slot = 0; slot < names.length; slot++) {
+				validate(record, slot, values.get(names[slot]), batch, scratch);
+			}
+		}
+		return batch;
+	}
+	
+	private ValBatch createBatch (int capacity) {
+		checkResolved();
+		return new ValBatch(this, capacity);
+	}
+	
+	/**
+	 * Checks that every definition has a type before values are validated.
+	 * A schema parsed from text without a model, as {@link ValSchemaCache}
+	 * may hold, has no type for a definition that names only a variable.
+	 *
+	 * @throws IllegalStateException if the schema is not resolved
+	 */
+	private void checkResolved () throws IllegalStateException {
+		if (! resolved) {
+			throw new IllegalStateException("Schema is not resolved");
+		}
+	}
+	
+	/**
+	 * Validates a single value of a batch and records the outcome.
+	 * Every value is parsed into the same scratch {@code ValData} and
+	 * its parsed value is copied into the columns of the batch.
+	 *
+	 * @param record the record index
+	 * @param slot the definition index
+	 * @param val the value or null if not supplied
+	 * @param batch the result of this batch
+	 * @param scratch the {@code ValData} reused for each value
+	 */
+	private void validate (int record, int slot, String val, ValBatch batch, ValData scratch) {
+		if (val == null) {
+			return;
+		}
+		ValData data = defList.get(slot).validate(val, scratch);
+		if (data == null) {
+			batch.setInvalid(record, slot);
+		} else {
+			batch.setValid(record, slot, data);
+		}
+	}
+	
+	/**
+	 * Validates a single value and records the outcome in the result.
+	 *
+	 * @param index the definition index
+	 * @param val the value or null if not supplied
+	 * @param result the result of this validation run
+	 */
+	private void validate (int index, String val, ValResult result) {
+		ValDef def = defList.get(index);
+		String name = def.getName();
+		if (val == null) {
+			Debug.verbose("No value for: " + name);
+			return;
+		}
+		ValData data = def.validate(val);
+		if (data == null) {
+			Debug.verbose("Invalid value \"" + val + "\" for " + name);
+			result.setInvalid(index);
+		} else {
+			Debug.verbose("Value \"" + val + "\" for " + name + " is valid");
+			result.setValid(index, data);
+		}
+	}
+	
+	/**
+	 * Returns the slot of the named definition.
+	 * If more than one definition has the name, the first one is found.
+	 *
+	 * @param name the validation name
+	 * @return the definition index or -1 if not found
+	 */
+	public int indexOf (String name) {
+		Integer slot = slots.get(name);
+		return (slot == null) ? -1 : slot;
+	}
+	
+	/**
+	 * Returns the slots of the named definitions.
+	 *
+	 * @param names the validation names
+	 * @return the definition indexes, -1 for each name not found
+	 */
+	public int[] indexOf (String... names) {
+		int[] indexes = new int[names.length];
+		for (int n = 0; n < names.length; n++) {
+			indexes[n] = indexOf(names[n]);
+		}
+		return indexes;
+	}
+	
+	/**
+	 * Returns the validation name of the definition in a slot.
+	 *
+	 * @param index the definition index
+	 * @return the validation name
+	 */
+	public String getName (int index) {
+		return names[index];
+	}
+	
+	/**
+	 * Returns the named definition.
+	 *
+	 * @param name the validation name
+	 * @return the definition or null if not found
+	 */
+	public ValDef getDef (String name) {
+		int index = indexOf(name);
+		if (index < 0) {
+			return null;
+		}
+		return defList.get(index);
+	}
+	
+	/**
+	 * Returns the definitions of this schema.
+	 * The list can not be modified.
+	 *
+	 * @return the validation definitions
+	 */
+	public List<ValDef> getDefList () {
+		return defList;
+	}
+	
+	/**
+	 * Returns the number of definitions in this schema.
+	 *
+	 * @return the number of definitions
+	 */
+	public int size () {
+		return defList.size();
+	}
+	
+}
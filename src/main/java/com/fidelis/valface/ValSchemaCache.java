@@ -0,0 +1,167 @@
+/**
+ *+
+ *	ValSchemaCache.java
+ *	1.0.0  2026-10-17  Leo Hinterlang
+ *-
+ */
+package com.fidelis.valface;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cache of parsed validation schemas keyed by the validation text.
+ * Parsing the validation text tokenizes the text and compiles every
+ * validation item. A service that creates a {@code ValPrototype} for each
+ * request from one of a handful of constant texts does this work only the
+ * first time a text is seen. The schemas are immutable so one instance is
+ * shared by every caller. The least recently used schema is evicted once
+ * the cache holds the maximum number of entries. Text that fails to parse
+ * is not cached.
+ * <p>
+ * A cached schema is as parsed. If a definition names only a variable it
+ * has no type, and the schema must be resolved with the types of the model
+ * before it validates any values.
+ *
+ * @version 1.0.0
+ * @author Leo Hinterlang
+ */
+public class ValSchemaCache {
+	
+	/** The default maximum number of cached schemas. */
+	public static final int DEFAULT_MAX_SIZE = 64;
+	
+	private static final ValSchemaCache shared = new ValSchemaCache(DEFAULT_MAX_SIZE);
+	
+	private final Map<String, ValSchema> map;
+	private int		maxSize;
+	private long	hits;
+	private long	misses;
+	private long	evictions;
+	
+	/**
+	 * Creates a new cache holding at most the given number of schemas.
+	 *
+	 * @param maxSize the maximum number of cached schemas
+	 */
+	public ValSchemaCache (int maxSize) {
+		setMaxSize(maxSize);
+		map = new LinkedHashMap<String, ValSchema>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+			protected boolean removeEldestEntry (Map.Entry<String, ValSchema> eldest) {
+				if (size() > ValSchemaCache.this.maxSize) {
+					++evictions;
+					return true;
+				}
+				return false;
+			}
+		};
+	}
+	
+	/**
+	 * Returns the process-wide cache used by {@link ValBase}.
+	 *
+	 * @return the shared cache
+	 */
+	public static ValSchemaCache getShared () {
+		return shared;
+	}
+	
+	/**
+	 * Returns the schema for the validation text.
+	 * The text is parsed on a miss. Parsing takes place outside the lock so
+	 * that other texts may be looked up in the meantime; when two threads
+	 * parse the same text the first schema stored is returned to both.
+	 *
+	 * @param valText the validation text
+	 * @return the parsed schema or null if there are errors
+	 */
+	public ValSchema get (String valText) {
+		synchronized (this) {
+			ValSchema schema = map.get(valText);
+			if (schema != null) {
+				++hits;
+				return schema;
+			}
+			++misses;
+		}
+		ValSchema schema = ValSchema.parse(valText);
+		if (schema == null) {
+			return null;
+		}
+		synchronized (this) {
+			ValSchema prior = map.get(valText);
+			if (prior != null) {
+				return prior;
+			}
+			map.put(valText, schema);
+		}
+		return schema;
+	}
+	
+	/**
+	 * Removes all cached schemas. The counters are not reset.
+	 */
+	public synchronized void clear () {
+		map.clear();
+	}
+	
+	/**
+	 * Returns the number of cached schemas.
+	 *
+	 * @return the number of cached schemas
+	 */
+	public synchronized int size () {
+		return map.size();
+	}
+	
+	/**
+	 * Returns the number of lookups that found a cached schema.
+	 *
+	 * @return the hit count
+	 */
+	public synchronized long getHits () {
+		return hits;
+	}
+	
+	/**
+	 * Returns the number of lookups that had to parse the text.
+	 *
+	 * @return the miss count
+	 */
+	public synchronized long getMisses () {
+		return misses;
+	}
+	
+	/**
+	 * Returns the number of schemas evicted to make room for others.
+	 *
+	 * @return the eviction count
+	 */
+	public synchronized long getEvictions () {
+		return evictions;
+	}
+	
+	/**
+	 * Returns the maximum number of cached schemas.
+	 *
+	 * @return the maximum size
+	 */
+	public synchronized int getMaxSize () {
+		return maxSize;
+	}
+	
+	/**
+	 * Sets the maximum number of cached schemas.
+	 * Excess entries are evicted as new schemas are added.
+	 *
+	 * @param maxSize the maximum size, at least one
+	 */
+	public synchronized void setMaxSize (int maxSize) {
+		if (maxSize < 1) {
+			throw new IllegalArgumentException("Invalid cache size: " + maxSize);
+		}
+		this.maxSize = maxSize;
+	}
+	
+}
@@ -17,10 +17,11 @@ import com.fidelis.argface.Debug;
  */
 public class ValTimeParser {
 	
-	private static final ValTimeParser INSTANCE = new ValTimeParser();
+	private final boolean strict;
 	
 	private String timeSpec;
 	private String failMessage;
+	private long number;
 	
 	private String[] parts;
 	private int partIndex;
@@ -28,10 +29,57 @@ public class ValTimeParser {
 	
 	private ATime aTime;
 	
+	/**
+	 * Returns an {@code ATime} representation for a time string.
+	 * The parse state is held by a parser created for this call only,
+	 * so any number of threads may parse times at the same time.
+	 * 
+	 * @param timeSpec the time specification
+	 * @return the time
+	 * @throws IllegalArgumentException for parsing and semantic errors
+	 */
 	public static ATime parse (String timeSpec) throws IllegalArgumentException {
-		return INSTANCE.parseTime(timeSpec);
+		return new ValTimeParser().parseTime(timeSpec);
 	}
 	
+	/**
+	 * Returns an {@code ATime} representation for a time string without throwing.
+	 * An invalid specification is reported by returning null rather than by
+	 * an exception, since rejecting a value is the common case when validating
+	 * untrusted input.
+	 * 
+	 * @param timeSpec the time specification
+	 * @return the time or null if not valid
+	 */
+	public static ATime tryParse (String timeSpec) {
+		return new ValTimeParser(false).parseTime(timeSpec);
+	}
+	
+	/**
+	 * Creates a parser that throws an exception for an invalid specification.
+	 */
+	public ValTimeParser () {
+		this(true);
+	}
+	
+	/**
+	 * Creates a parser.
+	 * 
+	 * @param strict true to throw an exception for an invalid specification
+	 */
+	private ValTimeParser (boolean strict) {
+		this.strict = strict;
+	}
+	
+	/**
+	 * Parses a time string using this parser.
+	 * A parser holds the state of the parse in progress and must not be
+	 * used by more than one thread at a time.
+	 * 
+	 * @param timeSpec the time specification
+	 * @return the time or null if the parser is not strict and the time is not valid
+	 * @throws IllegalArgumentException for parsing and semantic errors when strict
+	 */
 	public ATime parseTime (String timeSpec) throws IllegalArgumentException {
 		
 		// Copy original specification.
@@ -46,39 +94,42 @@ public class ValTimeParser {
 		
 		// Parse initial parts.
 		while (nextPart()) {
+			boolean ok;
 			
 			// Now with possible modifiers.
 			if (part.equals("now")) {
-				modifiers();
+				ok = modifiers();
 			}
 			
 			// Noon.
 			else if (part.equals("noon")) {
 				aTime = ATime.of(12, 0);
-				modifiers();
+				ok = modifiers();
 			}
 			
 			// Midnight.
 			else if (part.equals("midnight")) {
 				aTime = ATime.of(0, 0);
-				modifiers();
+				ok = modifiers();
 			}
 			
 			// Try parsing a time string.
 			else {
 				String timeString = composeTime();
-				if (timeString == null) {
-					invalidTime(null);
-				}
-				aTime = ATime.parse(timeString);
-				modifiers();
+				aTime = strict ? ATime.parse(timeString) : ATime.tryParse(timeString);
+				ok = (aTime != null) && modifiers();
+			}
+			if (! ok) {
+				return null;
 			}
 		}
-		Debug.verbose("Result time: " + aTime);
+		if (Debug.isVerbose()) {
+			Debug.verbose("Result time: " + aTime);
+		}
 		return aTime;
 	}
 	
-	private String composeTime () throws IllegalArgumentException {
+	private String composeTime () {
 		String timeString = part;
 		if (nextPart()) {
 			
@@ -93,39 +144,40 @@ public class ValTimeParser {
 		return timeString;
 	}
 	
-	private void modifiers () throws IllegalArgumentException {
+	private boolean modifiers () throws IllegalArgumentException {
 		
 		// Modifiers loop.
 		while (nextPart()) {
+			boolean ok = true;
 			
 			// Plus modifier.
 			if (part.equals("plus")) {
-				plusModifier();
+				ok = plusModifier();
 			}
 			
 			// Minus modifier.
 			else if (part.equals("minus")) {
-				minusModifier();
+				ok = minusModifier();
 			}
 			
 			// Hour modifier.
 			else if (part.equals("hour")) {
-				hourModifier();
+				ok = hourModifier();
 			}
 			
 			// Minute modifier.
 			else if (part.equals("minute")) {
-				minuteModifier();
+				ok = minuteModifier();
 			}
 			
 			// Second modifier.
 			else if (part.equals("second")) {
-				secondModifier();
+				ok = secondModifier();
 			}
 			
 			// Nano modifier.
 			else if (part.equals("nano")) {
-				nanoModifier();
+				ok = nanoModifier();
 			}
 			
 			// AM modifier.
@@ -140,49 +192,59 @@ public class ValTimeParser {
 			
 			// Unrecognized modifier.
 			else {
-				invalidTime(null);
+				ok = invalidTime(null);
+			}
+			if (! ok) {
+				return false;
 			}
 		}
+		return true;
 	}
 	
-	private void plusModifier () throws IllegalArgumentException {
+	private boolean plusModifier () throws IllegalArgumentException {
 		setFailMessage("Bad \"plus\" modifier");
-		long number = getLongNumber();
-		completeNumberUnits(number);
+		return getLongNumber() && completeNumberUnits(number);
 	}
 	
-	private void minusModifier () throws IllegalArgumentException {
+	private boolean minusModifier () throws IllegalArgumentException {
 		setFailMessage("Bad \"minus\" modifier");
-		long number = getLongNumber();
-		completeNumberUnits(-number);
+		return getLongNumber() && completeNumberUnits(-number);
 	}
 	
-	private void hourModifier () throws IllegalArgumentException {
+	private boolean hourModifier () throws IllegalArgumentException {
 		setFailMessage("Bad \"hour\" modifier");
-		int number = getNumber();
-		check(number, 0, 23);
-		aTime = aTime.withHour(number);
+		if (! getNumber() || ! check(0, 23)) {
+			return false;
+		}
+		aTime = aTime.withHour((int) number);
+		return true;
 	}
 	
-	private void minuteModifier () throws IllegalArgumentException {
+	private boolean minuteModifier () throws IllegalArgumentException {
 		setFailMessage("Bad \"minute\" modifier");
-		int number = getNumber();
-		check(number, 0, 59);
-		aTime = aTime.withMinute(number);
+		if (! getNumber() || ! check(0, 59)) {
+			return false;
+		}
+		aTime = aTime.withMinute((int) number);
+		return true;
 	}
 	
-	private void secondModifier () throws IllegalArgumentException {
+	private boolean secondModifier () throws IllegalArgumentException {
 		setFailMessage("Bad \"second\" modifier");
-		int number = getNumber();
-		check(number, 0, 59);
-		aTime = aTime.withSecond(number);
+		if (! getNumber() || ! check(0, 59)) {
+			return false;
+		}
+		aTime = aTime.withSecond((int) number);
+		return true;
 	}
 	
-	private void nanoModifier () throws IllegalArgumentException {
+	private boolean nanoModifier () throws IllegalArgumentException {
 		setFailMessage("Bad \"nano\" modifier");
-		int number = getNumber();
-		check(number, 0, 999999999);
-		aTime = aTime.withNano(number);
+		if (! getNumber() || ! check(0, 999999999)) {
+			return false;
+		}
+		aTime = aTime.withNano((int) number);
+		return true;
 	}
 	
 	private void amModifier () {
@@ -201,7 +263,19 @@ public class ValTimeParser {
 		}
 	}
 	
-	private void invalidTime (String text) throws IllegalArgumentException {
+	/**
+	 * Reports an invalid time. When strict, an exception is thrown.
+	 * Otherwise false is returned so that the parse can be abandoned
+	 * without an exception.
+	 * 
+	 * @param text the detail message or null
+	 * @return false
+	 * @throws IllegalArgumentException when strict
+	 */
+	private boolean invalidTime (String text) throws IllegalArgumentException {
+		if (! strict) {
+			return false;
+		}
 		String msg = "Invalid time specification: " + timeSpec;
 		if (text != null) {
 			msg += "\n    " + text;
@@ -216,52 +290,61 @@ public class ValTimeParser {
 	/**
 	 * Retrieve the number specifier.
 	 * 
+	 * @return true if the number is valid
 	 * @throws IllegalArgumentException
 	 */
-	private int getNumber () throws IllegalArgumentException {
-		nextPartOrFail("<number>");
-		return getNumber(part);
+	private boolean getNumber () throws IllegalArgumentException {
+		return nextPartOrFail("<number>") && getNumber(part);
 	}
 	
 	/**
-	 * Convert the number specifier to an Integer.
+	 * Convert the number specifier to an int.
 	 * 
 	 * @param numberSpec the number specifier
+	 * @return true if the number is valid
 	 * @throws IllegalArgumentException
 	 */
-	private int getNumber (String numberSpec) throws IllegalArgumentException {
-		try {
-			return Integer.valueOf(numberSpec);
-		} catch (NumberFormatException ex) {
-			throw new IllegalArgumentException(
-					failMessage + ": invalid <number>: " + numberSpec);
+	private boolean getNumber (String numberSpec) throws IllegalArgumentException {
+		number = ValDigits.parseInt(numberSpec);
+		if (number == ValDigits.NONE) {
+			return invalidNumber(numberSpec);
 		}
+		return true;
 	}
 	
-	private long getLongNumber () throws IllegalArgumentException {
-		nextPartOrFail("<number>");
-		return getLongNumber(part);
+	private boolean getLongNumber () throws IllegalArgumentException {
+		return nextPartOrFail("<number>") && getLongNumber(part);
+	}
+	
+	private boolean getLongNumber (String part) throws IllegalArgumentException {
+		if (! ValDigits.isLong(part)) {
+			return invalidNumber(part);
+		}
+		number = Long.parseLong(part);
+		return true;
 	}
 	
-	private long getLongNumber (String part) throws IllegalArgumentException {
-		try {
-			return Long.valueOf(part);
-		} catch (NumberFormatException ex) {
+	private boolean invalidNumber (String numberSpec) throws IllegalArgumentException {
+		if (strict) {
 			throw new IllegalArgumentException(
-					failMessage + ": invalid <number>: " + part);
+					failMessage + ": invalid <number>: " + numberSpec);
 		}
+		return false;
 	}
 	
 	/**
 	 * Completes the plus/minus modifiers according to the number and units.
 	 * Format: .number.units
 	 * Units: hour[s] | minute[s] | second[s] | nano[s]
-	 * If the units are missing or is invalid, an exception is thrown.
+	 * If the units are missing or is invalid, the parse fails.
 	 * 
+	 * @return true if the units are valid
 	 * @throws IllegalArgumentException
 	 */
-	private void completeNumberUnits (long number) throws IllegalArgumentException {
-		nextPartOrFail("<units>");
+	private boolean completeNumberUnits (long number) throws IllegalArgumentException {
+		if (! nextPartOrFail("<units>")) {
+			return false;
+		}
 		if (plurals(part, "hour")) {
 			aTime = aTime.plusHours(number);
 		}
@@ -275,8 +358,9 @@ public class ValTimeParser {
 			aTime = aTime.plusNanos(number);
 		}
 		else {
-			invalidTime(failMessage + ": invalid units: " + part);
+			return invalidTime(failMessage + ": invalid units: " + part);
 		}
+		return true;
 	}
 	
 	/**
@@ -293,26 +377,32 @@ public class ValTimeParser {
 		return units.equals(text + "s");
 	}
 	
-	private void check (int number, int min, int max) throws IllegalArgumentException {
+	private boolean check (int min, int max) throws IllegalArgumentException {
 		if (min > number || number > max) {
+			if (! strict) {
+				return false;
+			}
 			String msg = String.format("%s: %s out of range (%d .. %d)",
 					failMessage, part, min, max);
-			invalidTime(msg);
+			return invalidTime(msg);
 		}
+		return true;
 	}
 	
 	/**
 	 * Returns the next part of the original input text or fails.
-	 * If there is no next part, this method will throw an exception.
+	 * If there is no next part, this method fails.
 	 * The "failMessage" and the given "missing" string are used to
-	 * generate the exception message.
+	 * generate the failure message.
 	 * 
 	 * @param missing the expected missing item name
+	 * @return true if there is a next part
 	 */
-	private void nextPartOrFail (String missing) {
+	private boolean nextPartOrFail (String missing) {
 		if (! nextPart()) {
-			invalidTime(failMessage + ": missing " + missing);
+			return invalidTime(failMessage + ": missing " + missing);
 		}
+		return true;
 	}
 	
 	/**
@@ -327,7 +417,9 @@ public class ValTimeParser {
 	private boolean nextPart () {
 		if (partIndex < parts.length) {
 			part = parts[partIndex].toLowerCase();
-			Debug.verbose("part[" + partIndex + "] : " + part);
+			if (Debug.isVerbose()) {
+				Debug.verbose("part[" + partIndex + "] : " + part);
+			}
 			++partIndex;
 			return true;
 		}
@@ -31,7 +31,8 @@ public enum ValType {
 	BIGDEC		("BigDecimal",	true,	false,	999,	999),
 	STRING		("String",		false,	false,	0,		0),
 	DATE		("Date",		false,	false,	0,		0),
-	TIME		("Time",		false,	false,	0,		0);
+	TIME		("Time",		false,	false,	0,		0),
+	DATETIME	("DateTime",	false,	false,	0,		0);
 	
 	private final String name;
 	private final boolean numeric;
@@ -51,8 +52,10 @@ public enum ValType {
 	public static ValType getType (String name) {
 		if (name.equalsIgnoreCase("integer")) {
 			name = "int";
-		} else if (name.endsWith("Calendar")) {
+		} else if (name.endsWith("Calendar") || name.equals("ADate")) {
 			name = "Date";
+		} else if (name.endsWith("DateTime")) {
+			name = "DateTime";
 		} else if (name.endsWith("Time")) {
 			name = "Time";
 		}
@@ -79,6 +82,7 @@ public enum ValType {
 		case STRING:	return " ";
 		case DATE:		return Calendar.getInstance();
 		case TIME:		return ATime.now();
+		case DATETIME:	return ADateTime.of(ADate.now(), ATime.now());
 		default:		return null;
 		}
 	}
@@ -0,0 +1,133 @@
+/**
+ *+
+ *	AClockTest.java
+ *	1.0.0  2026-10-17  Leo Hinterlang
+ *-
+ */
+package com.fidelis.valface;
+
+import static org.junit.Assert.*;
+
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.TimeZone;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestName;
+
+/**
+ * AClockTest
+ *
+ * @version 1.0.0
+ * @author Leo Hinterlang
+ *
+ */
+public class AClockTest {
+	
+	private boolean passed;
+	
+	@Rule public TestName testName = new TestName();
+	
+	@Before
+	public void setUp () throws Exception {
+		String test = testName.getMethodName();
+		System.out.printf("Testing: " + test);
+		for (int n = test.length(); n < 30; n++) {
+			System.out.print('.');
+		}
+		passed = false;
+	}
+	
+	@After
+	public void tearDown () throws Exception {
+		AClock.set(null);
+		System.out.println(passed ? " passed" : " failed ***");
+	}
+	
+	@Test
+	public void testSystemZones () {
+		String[] zones = {
+			"UTC", "America/New_York", "Europe/London", "Australia/Lord_Howe", "Asia/Kolkata",
+			"Pacific/Apia", "America/St_Johns"
+		};
+		long start = ADateTime.of(1960, 1, 1, 0, 0).toEpochNano() / 1000000L;
+		long step = 37 * 60 * 1000L + 1237;
+		for (String id : zones) {
+			TimeZone zone = TimeZone.getTimeZone(id);
+			AClock.SystemClock clock = new AClock.SystemClock(zone);
+			GregorianCalendar cal = new GregorianCalendar(zone);
+			for (long millis = start, n = 0; n < 60000; n++, millis += step * ((n % 5 == 0) ? -1 : 3)) {
+				cal.setTimeInMillis(millis);
+				ADate date = clock.today(millis);
+				ATime time = clock.time(millis);
+				String text = id + " " + millis;
+				assertEquals(text, cal.get(Calendar.YEAR), date.getYear());
+				assertEquals(text, cal.get(Calendar.MONTH) + 1, date.getMonth());
+				assertEquals(text, cal.get(Calendar.DAY_OF_MONTH), date.getDay());
+				assertEquals(text, cal.get(Calendar.HOUR_OF_DAY), time.getHour());
+				assertEquals(text, cal.get(Calendar.MINUTE), time.getMinute());
+				assertEquals(text, cal.get(Calendar.SECOND), time.getSecond());
+				assertEquals(text, cal.get(Calendar.MILLISECOND) * 1000000, time.getNano());
+			}
+		}
+		passed = true;
+	}
+	
+	@Test
+	public void testSystemNow () {
+		for (int n = 0; n < 3; n++) {
+			Calendar cal = Calendar.getInstance();
+			ADate date = ADate.now();
+			if (cal.get(Calendar.DAY_OF_MONTH) == Calendar.getInstance().get(Calendar.DAY_OF_MONTH)) {
+				assertEquals(ADate.from(cal).toString(), date.toString());
+				break;
+			}
+		}
+		ATime before = ATime.from(Calendar.getInstance());
+		ATime time = ATime.now();
+		ATime after = ATime.from(Calendar.getInstance());
+		if (before.compareTo(after) <= 0) {
+			assertTrue(time.compareTo(before) >= 0 && time.compareTo(after) <= 0);
+		}
+		passed = true;
+	}
+	
+	@Test
+	public void testFixed () {
+		ADate date = ADate.of(2014, 9, 18);
+		ATime time = ATime.of(15, 30);
+		AClock.set(AClock.fixed(date, time));
+		assertTrue(date.equals(ADate.now()));
+		assertTrue(time.equals(ATime.now()));
+		AClock.set(null);
+		assertSame(AClock.system(), AClock.get());
+		try {
+			AClock.fixed(date, null);
+			fail("Exception expected");
+		} catch (IllegalArgumentException ex) {
+			// expected
+		}
+		passed = true;
+	}
+	
+	@SuppressWarnings("deprecation")
+	@Test
+	public void testNowTestSet () {
+		AClock fixed = AClock.fixed(ADate.of(2000, 1, 1), ATime.of(1, 2));
+		AClock.set(fixed);
+		ADate.nowTestSet(ADate.of(1889, 5, 31));
+		ATime.nowTestSet(ATime.of(12, 0));
+		assertEquals("1889-05-31", ADate.now().toString());
+		assertEquals("12:00", ATime.now().toString());
+		ADate.nowTestClear();
+		assertEquals("2000-01-01", ADate.now().toString());
+		assertEquals("12:00", ATime.now().toString());
+		ATime.nowTestClear();
+		assertSame(fixed, AClock.get());
+		passed = true;
+	}
+	
+}
@@ -0,0 +1,105 @@
+/**
+ *+
+ *	ADateArrayTest.java
+ *	1.0.0  2026-10-17  Leo Hinterlang
+ *-
+ */
+package com.fidelis.valface;
+
+import static org.junit.Assert.*;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestName;
+
+/**
+ * ADateArrayTest
+ *
+ * @version 1.0.0
+ * @author Leo Hinterlang
+ *
+ */
+public class ADateArrayTest {
+	
+	private boolean passed;
+	
+	@Rule public TestName testName = new TestName();
+	
+	@Before
+	public void setUp () throws Exception {
+		String test = testName.getMethodName();
+		System.out.printf("Testing: " + test);
+		for (int n = test.length(); n < 30; n++) {
+			System.out.print('.');
+		}
+		passed = false;
+	}
+	
+	@After
+	public void tearDown () throws Exception {
+		System.out.println(passed ? " passed" : " failed ***");
+	}
+	
+	@Test
+	public void testAddGet () {
+		ADateArray array = new ADateArray(2);
+		ADate date = ADate.of(0, 1, 1);
+		for (int n = 0; n < 5000; n++) {
+			array.add(date);
+			date = date.plusDays(n % 97 * 7 + 1);
+		}
+		assertEquals(5000, array.size());
+		date = ADate.of(0, 1, 1);
+		for (int n = 0; n < array.size(); n++) {
+			assertEquals(date.toString(), array.get(n).toString());
+			assertEquals(date.getYear(), array.getYear(n));
+			assertEquals(date.getMonth(), array.getMonth(n));
+			assertEquals(date.getDay(), array.getDay(n));
+			assertEquals(date.getDays(), array.getDays(n));
+			date = date.plusDays(n % 97 * 7 + 1);
+		}
+		array.setDays(0, ADate.MAX_DAYS);
+		assertEquals("9999-12-31", array.get(0).toString());
+		try {
+			array.addDays(ADate.MAX_DAYS + 1);
+			fail("Exception expected");
+		} catch (IllegalArgumentException ex) {
+			// expected
+		}
+		try {
+			array.get(5000);
+			fail("Exception expected");
+		} catch (IndexOutOfBoundsException ex) {
+			// expected
+		}
+		array.clear();
+		assertEquals(0, array.size());
+		passed = true;
+	}
+	
+	@Test
+	public void testSortSearch () {
+		ADateArray array = new ADateArray();
+		String[] dates = { "2014-09-18", "1889-05-31", "1963-11-22", "0000-01-01", "9999-12-31", "2000-02-29" };
+		for (String date : dates) {
+			array.add(ADate.parse(date));
+		}
+		assertEquals(1, array.compare(0, 1));
+		assertEquals(-1, array.compare(1, 0));
+		assertEquals(0, array.compare(2, 2));
+		array.sort();
+		for (int n = 1; n < array.size(); n++) {
+			assertTrue(array.get(n - 1).compareTo(array.get(n)) < 0);
+		}
+		assertEquals("1963-11-22", array.get(2).toString());
+		assertEquals(2, array.binarySearch(ADate.parse("1963-11-22")));
+		assertEquals(-4, array.binarySearch(ADate.parse("1963-11-23")));
+		int[] days = array.toDaysArray();
+		assertEquals(dates.length, days.length);
+		assertEquals(ADate.MIN_DAYS, days[0]);
+		passed = true;
+	}
+	
+}
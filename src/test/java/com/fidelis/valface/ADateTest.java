@@ -8,8 +8,11 @@ package com.fidelis.valface;
 
 import static org.junit.Assert.*;
 
+import java.nio.charset.Charset;
+import java.util.BitSet;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.Random;
 
 import org.junit.After;
 import org.junit.Before;
@@ -66,14 +69,14 @@ public class ADateTest {
 		
 		// Enable test value for "now".
 		today = ADate.of(2010, 10, 31);
-		ADate.nowTestSet(today);
+		AClock.set(AClock.fixed(today, ATime.now()));
 		ADate now = ADate.now();
 		assertEquals(2010, now.getYear());
 		assertEquals(10, now.getMonth());
 		assertEquals(31, now.getDay());
 		
 		// Disable test value for "now".
-		ADate.nowTestClear();
+		AClock.set(null);
 		ADate newToday = ADate.now();
 		assertEquals(todayYear, newToday.getYear());
 		assertEquals(todayMonth, newToday.getMonth());
@@ -84,6 +87,7 @@ public class ADateTest {
 	/**
 	 * Test method for {@link com.fidelis.valface.ADate#nowTestSet(com.fidelis.valface.ADate)}.
 	 */
+	@SuppressWarnings("deprecation")
 	@Test
 	public void testNowTestSet () {
 		ADate date = ADate.of(1941, 12, 7);
@@ -107,6 +111,7 @@ public class ADateTest {
 	/**
 	 * Test method for {@link com.fidelis.valface.ADate#nowTestClear()}.
 	 */
+	@SuppressWarnings("deprecation")
 	@Test
 	public void testNowTestClear () {
 		ADate date = ADate.of(1889, 5, 31);
@@ -127,6 +132,52 @@ public class ADateTest {
 		passed = true;
 	}
 
+	/**
+	 * Test method for {@link com.fidelis.valface.AClock#set(AClock)} with a fixed clock.
+	 */
+	@Test
+	public void testNowFixedClock () {
+		ADate date = ADate.of(1941, 12, 7);
+		ADate today = ADate.now();
+		int ty = today.getYear();
+		int tm = today.getMonth();
+		int td = today.getDay();
+		AClock.set(AClock.fixed(date, ATime.now()));
+		ADate now = ADate.now();
+		assertEquals(1941, now.getYear());
+		assertEquals(12, now.getMonth());
+		assertEquals(7, now.getDay());
+		AClock.set(null);
+		ADate newToday = ADate.now();
+		assertEquals(ty, newToday.getYear());
+		assertEquals(tm, newToday.getMonth());
+		assertEquals(td, newToday.getDay());
+		passed = true;
+	}
+
+	/**
+	 * Test method for {@link com.fidelis.valface.AClock#set(AClock)} restoring the system clock.
+	 */
+	@Test
+	public void testNowSystemClock () {
+		ADate date = ADate.of(1889, 5, 31);
+		ADate today = ADate.now();
+		int ty = today.getYear();
+		int tm = today.getMonth();
+		int td = today.getDay();
+		AClock.set(AClock.fixed(date, ATime.now()));
+		ADate now = ADate.now();
+		assertEquals(1889, now.getYear());
+		assertEquals(5, now.getMonth());
+		assertEquals(31, now.getDay());
+		AClock.set(null);
+		ADate newToday = ADate.now();
+		assertEquals(ty, newToday.getYear());
+		assertEquals(tm, newToday.getMonth());
+		assertEquals(td, newToday.getDay());
+		passed = true;
+	}
+
 	/**
 	 * Test method for {@link com.fidelis.valface.ADate#of(int, int, int)}.
 	 */
@@ -204,6 +255,11 @@ public class ADateTest {
 			fail("Exception expected");
 		} catch (IllegalArgumentException ex) {
 		}
+		assertTrue(ADate.parse("1985.02.13").equals(ADate.tryParse("1985.02.13")));
+		assertNull(ADate.tryParse("2013-99-01"));
+		assertNull(ADate.tryParse("2013-02-29"));
+		assertNull(ADate.tryParse("2013-1x-01"));
+		assertNull(ADate.tryParse("2013"));
 		passed = true;
 	}
 
@@ -356,6 +412,22 @@ public class ADateTest {
 		assertEquals(2009, other.getYear());
 		assertEquals(2, other.getMonth());
 		assertEquals(27, other.getDay());
+		other = date.plusDays(-733100);
+		assertEquals("0000-12-31", other.toString());
+		long[] outside = { 3000000, -800000, Long.MAX_VALUE, Long.MIN_VALUE };
+		for (long n : outside) {
+			try {
+				date.plusDays(n);
+				fail("Exception expected");
+			} catch (IllegalArgumentException ex) {
+			}
+		}
+		try {
+			ADate.of(9999, 12, 31).plusDays(1);
+			fail("Exception expected");
+		} catch (IllegalArgumentException ex) {
+			assertEquals("Invalid year specified: 10000 (0 .. 9999)", ex.getMessage());
+		}
 		passed = true;
 	}
 
@@ -760,6 +832,46 @@ public class ADateTest {
 		assertEquals(1963, other.getYear());
 		assertEquals(11, other.getMonth());
 		assertEquals(22, other.getDay());
+		other = ADate.fromDays(36525);
+		assertEquals("0099-12-31", other.toString());
+		assertEquals(1, ADate.of(0, 1, 1).getDays());
+		int days = 0;
+		for (int year = 0; year <= 9999; year++) {
+			for (int month = 1; month <= 12; month++) {
+				for (int day = 1; day <= ADate.lengthOfMonth(year, month); day++) {
+					date = ADate.of(year, month, day);
+					assertEquals(++days, date.getDays());
+					assertTrue(date.equals(ADate.fromDays(days)));
+				}
+			}
+		}
+		passed = true;
+	}
+	
+	/**
+	 * Test method for {@link com.fidelis.valface.ADate#toDays(int, int, int)}.
+	 */
+	@Test
+	public void testToDays () {
+		assertEquals(690095, ADate.toDays(1889, 5, 31));
+		assertEquals(ADate.MIN_DAYS, ADate.toDays(0, 1, 1));
+		assertEquals(ADate.MAX_DAYS, ADate.toDays(9999, 12, 31));
+		int[][] invalid = { { 10000, 1, 1 }, { -1, 12, 31 }, { 2014, 13, 1 }, { 2014, 2, 29 }, { 2012, 4, 0 } };
+		for (int[] fields : invalid) {
+			try {
+				ADate.toDays(fields[0], fields[1], fields[2]);
+				fail("Exception expected");
+			} catch (IllegalArgumentException ex) {
+				// expected
+			}
+		}
+		ADate date = ADate.of(2000, 2, 29);
+		int days = date.getDays();
+		assertEquals(0, date.compareToDays(days));
+		assertEquals(1, date.compareToDays(days - 1));
+		assertEquals(-1, date.compareToDays(days + 1));
+		assertEquals(1, date.compareToDays(Integer.MIN_VALUE));
+		assertEquals(-1, date.compareToDays(Integer.MAX_VALUE));
 		passed = true;
 	}
 
@@ -773,5 +885,151 @@ public class ADateTest {
 		assertEquals("1776-07-04", s);
 		passed = true;
 	}
+	
+	@Test
+	public void testParseRange () {
+		String buffer = "x2014-09-18,1941.12.7;20130308y";
+		assertEquals("2014-09-18", ADate.parse(buffer, 1, 11).toString());
+		assertEquals("1941-12-07", ADate.parse(buffer, 12, 21).toString());
+		assertEquals("2013-03-08", ADate.tryParse(new StringBuilder(buffer), 22, 30).toString());
+		assertNull(ADate.tryParse(buffer, 0, 11));
+		try {
+			ADate.parse(buffer, 0, 11);
+			fail("Exception expected");
+		} catch (IllegalArgumentException ex) {
+			assertEquals("Invalid date String: x2014-09-18", ex.getMessage());
+		}
+		try {
+			ADate.parse(buffer, 22, 32);
+			fail("Exception expected");
+		} catch (IndexOutOfBoundsException ex) {
+			// expected
+		}
+		passed = true;
+	}
+	
+	@Test
+	public void testParseSplit () {
+		String[] pieces = {
+			"2014", "09", "9", "18", "0", "00", "31", "29", "-", "-", ".", "+", "x", " ", "1",
+			"12", "9999", "10000", "\uff11", "20130308", "2000", "02"
+		};
+		Random random = new Random(1889);
+		for (int n = 0; n < 100000; n++) {
+			String text = fuzz(random, pieces, 7);
+			String buffer = "--" + text + "..";
+			int end = 2 + text.length();
+			assertEquals(text, splitParse(text, true), rangeParse(buffer, 2, end, true));
+			assertEquals(text, splitParse(text, false), rangeParse(buffer, 2, end, false));
+		}
+		passed = true;
+	}
+	
+	/**
+	 * Joins up to count random pieces.
+	 */
+	static String fuzz (Random random, String[] pieces, int count) {
+		StringBuilder sb = new StringBuilder();
+		for (int n = random.nextInt(count + 1); n > 0; n--) {
+			sb.append(pieces[random.nextInt(pieces.length)]);
+		}
+		return sb.toString();
+	}
+	
+	/**
+	 * Parses a date from a range and describes the result.
+	 */
+	static String rangeParse (CharSequence text, int start, int end, boolean strict) {
+		try {
+			ADate date = strict ? ADate.parse(text, start, end) : ADate.tryParse(text, start, end);
+			return String.valueOf(date);
+		} catch (IllegalArgumentException ex) {
+			return ex.getMessage();
+		}
+	}
+	
+	/**
+	 * Parses a date with String.split and Integer.parseInt as
+	 * ADate.parse once did and describes the result.
+	 */
+	static String splitParse (String dateString, boolean strict) {
+		String[] parts;
+		if (dateString.contains("-")) {
+			parts = dateString.split("\\-");
+		} else if (dateString.contains(".")) {
+			parts = dateString.split("\\.");
+		} else if (dateString.length() >= 8) {
+			parts = new String[] {
+				dateString.substring(0, 4), dateString.substring(4, 6), dateString.substring(6, 8)
+			};
+		} else {
+			parts = new String[0];
+		}
+		int[] values = new int[3];
+		try {
+			if (parts.length != 3) {
+				throw new NumberFormatException();
+			}
+			for (int n = 0; n < 3; n++) {
+				values[n] = Integer.parseInt(parts[n]);
+			}
+		} catch (NumberFormatException ex) {
+			return strict ? "Invalid date String: " + dateString : "null";
+		}
+		try {
+			return ADate.of(values[0], values[1], values[2]).toString();
+		} catch (IllegalArgumentException ex) {
+			return strict ? ex.getMessage() : "null";
+		}
+	}
+	
+	@Test
+	public void testParseDays () {
+		String[] pieces = { "2014", "-09", "-9", "-18", "-31", "29", ".", "02", "20130308", "x", "0" };
+		Random random = new Random(1776);
+		int count = 5000;
+		CharSequence[] values = new CharSequence[count];
+		StringBuilder line = new StringBuilder();
+		int[] starts = new int[count];
+		int[] ends = new int[count];
+		for (int n = 0; n < count; n++) {
+			String value = (n == 7) ? "" : (n % 10 == 0) ? ADate.fromDays(1 + random.nextInt(ADate.MAX_DAYS)).toString()
+					: fuzz(random, pieces, 5);
+			values[n] = value;
+			starts[n] = line.length();
+			line.append(value);
+			ends[n] = line.length();
+			line.append(',');
+		}
+		values[7] = null;
+		int[] days = new int[count];
+		BitSet invalid = new BitSet();
+		invalid.set(1);
+		int failures = ADate.parseDays(values, days, invalid);
+		assertEquals(failures, invalid.cardinality());
+		assertTrue(failures > 0 && failures < count);
+		assertTrue(invalid.get(7));
+		for (int n = 0; n < count; n++) {
+			ADate date = (values[n] == null) ? null : ADate.tryParse(values[n].toString());
+			assertEquals(date == null, invalid.get(n));
+			assertEquals((date == null) ? 0 : date.getDays(), days[n]);
+		}
+		values[7] = "";
+		failures = ADate.parseDays(values, days, invalid);
+		int[] charDays = new int[count];
+		BitSet charInvalid = new BitSet();
+		assertEquals(failures, ADate.parseDays(line.toString().toCharArray(), starts, ends, count, charDays, charInvalid));
+		assertArrayEquals(days, charDays);
+		assertEquals(invalid, charInvalid);
+		int[] byteDays = new int[count];
+		BitSet byteInvalid = new BitSet();
+		byte[] bytes = line.toString().getBytes(Charset.forName("ISO-8859-1"));
+		assertEquals(failures, ADate.parseDays(bytes, starts, ends, count, byteDays, byteInvalid));
+		assertArrayEquals(days, byteDays);
+		assertEquals(invalid, byteInvalid);
+		assertEquals(ADate.of(2014, 9, 18).getDays(), ADate.parseDays("on 2014-09-18", 3, 13));
+		assertEquals(0, ADate.parseDays("2014-02-29", 0, 10));
+		passed = true;
+	}
 
 }
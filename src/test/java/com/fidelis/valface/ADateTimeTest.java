@@ -10,6 +10,7 @@ import static org.junit.Assert.*;
 
 import java.util.Calendar;
 import java.util.Date;
+import java.util.Random;
 
 import org.junit.After;
 import org.junit.AfterClass;
@@ -899,6 +900,83 @@ public class ADateTimeTest {
 		passed = true;
 	}
 
+	/**
+	 * Test method for {@link com.fidelis.valface.ADateTime#toEpochNano()}.
+	 */
+	@Test
+	public void testEpochNano () {
+		assertEquals(0L, ADateTime.of(1970, 1, 1, 0, 0).toEpochNano());
+		assertEquals(-1L, ADateTime.of(1969, 12, 31, 23, 59, 59, 999999999).toEpochNano());
+		assertEquals(86400000000001L, ADateTime.of(1970, 1, 2, 0, 0, 0, 1).toEpochNano());
+		ADateTime max = ADateTime.of(2262, 4, 11, 23, 47, 16, 854775807);
+		ADateTime min = ADateTime.of(1677, 9, 21, 0, 12, 43, 145224192);
+		assertEquals(Long.MAX_VALUE, max.toEpochNano());
+		assertEquals(Long.MIN_VALUE, min.toEpochNano());
+		assertEquals(max.toString(), ADateTime.ofEpochNano(Long.MAX_VALUE).toString());
+		assertEquals(min.toString(), ADateTime.ofEpochNano(Long.MIN_VALUE).toString());
+		ADateTime[] outside = {
+			max.plusNanos(1), min.minusNanos(1), ADateTime.of(0, 1, 1, 0, 0), ADateTime.of(9999, 12, 31, 23, 59)
+		};
+		for (ADateTime dt : outside) {
+			try {
+				dt.toEpochNano();
+				fail(dt.toString());
+			} catch (IllegalArgumentException ex) {
+			}
+			assertEquals(dt.toString(), dt.isAfter(max) ? 1 : -1, dt.compareToEpochNano(0));
+		}
+		long[] values = {
+			0, 1, -1, 86399999999999L, -86400000000000L, -86400000000001L, 1234567890123456789L,
+			-1234567890123456789L, Long.MAX_VALUE, Long.MIN_VALUE, Long.MAX_VALUE - 1, Long.MIN_VALUE + 1
+		};
+		for (long a : values) {
+			ADateTime dt = ADateTime.ofEpochNano(a);
+			assertEquals(a, dt.toEpochNano());
+			for (long b : values) {
+				assertEquals(a + " " + b, Long.signum(Long.valueOf(a).compareTo(b)),
+						Long.signum(dt.compareToEpochNano(b)));
+				assertEquals(a + " " + b, Long.signum(dt.compareTo(ADateTime.ofEpochNano(b))),
+						Long.signum(dt.compareToEpochNano(b)));
+			}
+		}
+		passed = true;
+	}
+	
+	/**
+	 * Tests the plus and minus methods for hours through nanoseconds against
+	 * arithmetic on the epoch nanosecond values.
+	 */
+	@Test
+	public void testPlusMinusEpochNano () {
+		ADateTime midnight = ADateTime.of(2000, 1, 1, 0, 0);
+		assertEquals("1999-12-31T00:00", midnight.minusHours(24).toString());
+		assertEquals("1999-12-31T00:00", midnight.minusMinutes(24 * 60).toString());
+		assertEquals("1999-12-30T23:59:59.999999999", midnight.minusNanos(86400000000001L).toString());
+		assertEquals("2000-01-02T00:00", midnight.plusSeconds(86400).toString());
+		Random random = new Random(2014);
+		long span = 200L * 365 * 86400000000000L;
+		for (int n = 0; n < 100000; n++) {
+			long epochNano = (long) (random.nextDouble() * span) - span / 2;
+			ADateTime dt = ADateTime.ofEpochNano(epochNano);
+			long amount = random.nextInt(2000001) - 1000000;
+			assertEquals(epochNano + amount * 3600000000000L, dt.plusHours(amount).toEpochNano());
+			assertEquals(epochNano - amount * 3600000000000L, dt.minusHours(amount).toEpochNano());
+			assertEquals(epochNano + amount * 60000000000L, dt.plusMinutes(amount).toEpochNano());
+			assertEquals(epochNano - amount * 60000000000L, dt.minusMinutes(amount).toEpochNano());
+			assertEquals(epochNano + amount * 1000000000L, dt.plusSeconds(amount).toEpochNano());
+			assertEquals(epochNano - amount * 1000000000L, dt.minusSeconds(amount).toEpochNano());
+			long nanos = (long) (random.nextDouble() * span / 4) - span / 8;
+			ADateTime other = dt.plusNanos(nanos);
+			assertEquals(epochNano + nanos, other.toEpochNano());
+			assertEquals(epochNano - nanos, dt.minusNanos(nanos).toEpochNano());
+			assertEquals(Long.signum(-nanos), dt.compareTo(other));
+			assertEquals(nanos == 0, dt.equals(other));
+			assertEquals(dt.toADate().getDays(), dt.getDays());
+			assertEquals(dt.toString(), ADateTime.fromDays(dt.getDays(), dt.toNanoOfDay()).toString());
+		}
+		passed = true;
+	}
+	
 	/**
 	 * Test method for {@link com.fidelis.valface.ADateTime#toString()}.
 	 */
@@ -914,5 +992,69 @@ public class ADateTimeTest {
 		assertEquals(dt.toString(), "1889-05-31T10:20");
 		passed = true;
 	}
+	
+	@Test
+	public void testParseRange () {
+		String buffer = "2014-09-18T20:30:40.50,19301225t040302.01";
+		assertEquals("2014-09-18T20:30:40.500", ADateTime.parse(buffer, 0, 22).toString());
+		assertEquals("1930-12-25T04:03:02.010", ADateTime.tryParse(new StringBuilder(buffer), 23, 41).toString());
+		assertNull(ADateTime.tryParse(buffer, 0, 41));
+		try {
+			ADateTime.parse(buffer, 0, 10);
+			fail("Exception expected");
+		} catch (IllegalArgumentException ex) {
+			assertEquals("Invalid date-time specification: 2014-09-18", ex.getMessage());
+		}
+		passed = true;
+	}
+	
+	@Test
+	public void testParseSplit () {
+		String[] pieces = {
+			"2014-09-18", "20151122", "2000-1-7", "2014-02-30", "20:30:40.50", "212223.24", "20", "25",
+			"T", "t", "T", "x", ":", "-"
+		};
+		Random random = new Random(2014);
+		for (int n = 0; n < 100000; n++) {
+			String text = ADateTest.fuzz(random, pieces, 4);
+			String buffer = "tt" + text + "TT";
+			int end = 2 + text.length();
+			assertEquals(text, splitParse(text, true), rangeParse(buffer, 2, end, true));
+			assertEquals(text, splitParse(text, false), rangeParse(buffer, 2, end, false));
+		}
+		passed = true;
+	}
+	
+	/**
+	 * Parses a date-time from a range and describes the result.
+	 */
+	private static String rangeParse (CharSequence text, int start, int end, boolean strict) {
+		try {
+			ADateTime dt = strict ? ADateTime.parse(text, start, end) : ADateTime.tryParse(text, start, end);
+			return String.valueOf(dt);
+		} catch (IllegalArgumentException ex) {
+			return ex.getMessage();
+		}
+	}
+	
+	/**
+	 * Parses a date-time with String.split as ADateTime.parse once did
+	 * and describes the result.
+	 */
+	private static String splitParse (String spec, boolean strict) {
+		String[] parts = spec.split("[Tt]");
+		if (parts.length != 2) {
+			return strict ? "Invalid date-time specification: " + spec : "null";
+		}
+		String date = ADateTest.splitParse(parts[0], false);
+		if (date.equals("null")) {
+			return strict ? ADateTest.splitParse(parts[0], true) : date;
+		}
+		String time = ATimeTest.splitParse(parts[1], false);
+		if (time.equals("null")) {
+			return strict ? ATimeTest.splitParse(parts[1], true) : time;
+		}
+		return date + "T" + time;
+	}
 
 }
@@ -0,0 +1,131 @@
+/**
+ *+
+ *	AFormatTest.java
+ *	1.0.0  2026-10-17  Leo Hinterlang
+ *-
+ */
+package com.fidelis.valface;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestName;
+
+/**
+ * AFormatTest
+ *
+ * @version 1.0.0
+ * @author Leo Hinterlang
+ *
+ */
+public class AFormatTest {
+	
+	private boolean passed;
+	
+	@Rule public TestName testName = new TestName();
+	
+	@Before
+	public void setUp () throws Exception {
+		String test = testName.getMethodName();
+		System.out.printf("Testing: " + test);
+		for (int n = test.length(); n < 30; n++) {
+			System.out.print('.');
+		}
+		passed = false;
+	}
+	
+	@After
+	public void tearDown () throws Exception {
+		System.out.println(passed ? " passed" : " failed ***");
+	}
+	
+	@Test
+	public void testDateFields () {
+		AFormat fmt = ADate.compileFormat("Year year yr Month month mo Day day da days");
+		StringBuilder sb = new StringBuilder();
+		for (int days = ADate.MIN_DAYS; days <= ADate.MAX_DAYS; days += 997) {
+			ADate date = ADate.fromDays(days);
+			String expected = String.format("%d %04d %02d %d %02d %02d %d %02d %02d %d",
+					date.getYear(), date.getYear(), date.getYear() % 100,
+					date.getMonth(), date.getMonth(), date.getMonth(),
+					date.getDay(), date.getDay(), date.getDay(), days);
+			sb.setLength(0);
+			fmt.formatTo(date, sb);
+			assertEquals(expected, sb.toString());
+		}
+		passed = true;
+	}
+	
+	@Test
+	public void testTimeFields () {
+		AFormat fmt = ATime.compileFormat("Hour hour HH hh Minute mm Second ss Nano nano milli micro nn1.nn2.nn3");
+		StringBuilder sb = new StringBuilder();
+		for (long nanos = 0; nanos < 86400000000000L; nanos += 7654321987L) {
+			ATime time = ATime.ofNanoOfDay(nanos);
+			int nano = time.getNano();
+			String nine = String.format("%09d", nano);
+			String expected = String.format("%d %d %02d %02d %d %02d %d %02d %d %09d %03d %06d %s.%s.%s",
+					time.getHour(), time.getHour() % 12, time.getHour(), time.getHour() % 12,
+					time.getMinute(), time.getMinute(), time.getSecond(), time.getSecond(),
+					nano, nano, nano / 1000000, nano / 1000,
+					nine.substring(0, 3), nine.substring(3, 6), nine.substring(6, 9));
+			sb.setLength(0);
+			fmt.formatTo(time, sb);
+			assertEquals(expected, sb.toString());
+		}
+		passed = true;
+	}
+	
+	@Test
+	public void testDateTime () throws IOException {
+		ADateTime dt = ADateTime.of(2013, 3, 8, 20, 4, 6, 123456789);
+		AFormat fmt = ADateTime.compileFormat("dow mon Day, year <at> hh:mm:ss.milli ampm");
+		assertEquals("Fri Mar 8, 2013 at 08:04:06.123 pm", fmt.format(dt));
+		StringWriter out = new StringWriter();
+		out.write('[');
+		fmt.formatTo(dt, out);
+		out.write(']');
+		assertEquals("[Fri Mar 8, 2013 at 08:04:06.123 pm]", out.toString());
+		assertEquals("Friday, March 08", ADateTime.compileFormat("dowName, monthName da").format(dt));
+		assertEquals("2013-03-08 20:04", dt.format("year-mo-da HH:mm"));
+		passed = true;
+	}
+	
+	@Test
+	public void testLiterals () {
+		ADate date = ADate.of(2014, 9, 18);
+		ATime time = ATime.of(9, 5);
+		assertEquals("<year> 2014 HH", ADate.compileFormat("<<year>> year HH").format(date));
+		assertEquals("year 09 >", ATime.compileFormat("year HH >").format(time));
+		assertEquals("", ADate.compileFormat("").format(date));
+		assertEquals("xyz", ADate.compileFormat("<xyz").format(date));
+		assertEquals("mm-da", ADate.compileFormat("mm-da").getPattern());
+		passed = true;
+	}
+	
+	@Test
+	public void testWrongValue () {
+		try {
+			ADateTime.compileFormat("year HH").format(ADate.of(2014, 9, 18));
+			fail("Exception expected");
+		} catch (IllegalArgumentException ex) {
+			// expected
+		}
+		try {
+			ADateTime.compileFormat("year HH").format(ATime.of(12, 0));
+			fail("Exception expected");
+		} catch (IllegalArgumentException ex) {
+			// expected
+		}
+		assertEquals("2014", ADateTime.compileFormat("year").format(ADate.of(2014, 9, 18)));
+		assertEquals("12", ADateTime.compileFormat("HH").format(ATime.of(12, 0)));
+		passed = true;
+	}
+	
+}
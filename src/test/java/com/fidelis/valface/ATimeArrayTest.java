@@ -0,0 +1,105 @@
+/**
+ *+
+ *	ATimeArrayTest.java
+ *	1.0.0  2026-10-17  Leo Hinterlang
+ *-
+ */
+package com.fidelis.valface;
+
+import static org.junit.Assert.*;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestName;
+
+/**
+ * ATimeArrayTest
+ *
+ * @version 1.0.0
+ * @author Leo Hinterlang
+ *
+ */
+public class ATimeArrayTest {
+	
+	private boolean passed;
+	
+	@Rule public TestName testName = new TestName();
+	
+	@Before
+	public void setUp () throws Exception {
+		String test = testName.getMethodName();
+		System.out.printf("Testing: " + test);
+		for (int n = test.length(); n < 30; n++) {
+			System.out.print('.');
+		}
+		passed = false;
+	}
+	
+	@After
+	public void tearDown () throws Exception {
+		System.out.println(passed ? " passed" : " failed ***");
+	}
+	
+	@Test
+	public void testAddGet () {
+		ATimeArray array = new ATimeArray(2);
+		ATime time = ATime.of(0, 0);
+		for (int n = 0; n < 5000; n++) {
+			array.add(time);
+			time = time.plusNanos(n * 12345678901L + 1);
+		}
+		assertEquals(5000, array.size());
+		time = ATime.of(0, 0);
+		for (int n = 0; n < array.size(); n++) {
+			assertEquals(time.toString(), array.get(n).toString());
+			assertEquals(time.getHour(), array.getHour(n));
+			assertEquals(time.getMinute(), array.getMinute(n));
+			assertEquals(time.getSecond(), array.getSecond(n));
+			assertEquals(time.getNano(), array.getNano(n));
+			assertEquals(time.toNanoOfDay(), array.getNanoOfDay(n));
+			time = time.plusNanos(n * 12345678901L + 1);
+		}
+		array.set(0, ATime.of(23, 59, 59, 999999999));
+		assertEquals("23:59:59.999999999", array.get(0).toString());
+		try {
+			array.addNanoOfDay(-1);
+			fail("Exception expected");
+		} catch (IllegalArgumentException ex) {
+			// expected
+		}
+		try {
+			array.setNanoOfDay(-1, 0);
+			fail("Exception expected");
+		} catch (IndexOutOfBoundsException ex) {
+			// expected
+		}
+		array.clear();
+		assertEquals(0, array.size());
+		passed = true;
+	}
+	
+	@Test
+	public void testSortSearch () {
+		ATimeArray array = new ATimeArray();
+		String[] times = { "12:30", "00:00", "23:59:59.999999999", "08:15:30", "12:30:00.000000001" };
+		for (String time : times) {
+			array.add(ATime.parse(time));
+		}
+		assertEquals(1, array.compare(0, 1));
+		assertEquals(-1, array.compare(0, 4));
+		assertEquals(0, array.compare(3, 3));
+		array.sort();
+		for (int n = 1; n < array.size(); n++) {
+			assertTrue(array.get(n - 1).compareTo(array.get(n)) < 0);
+		}
+		assertEquals(2, array.binarySearch(ATime.parse("12:30")));
+		assertEquals(-3, array.binarySearch(ATime.parse("12:00")));
+		long[] nanos = array.toNanoOfDayArray();
+		assertEquals(times.length, nanos.length);
+		assertEquals(0L, nanos[0]);
+		passed = true;
+	}
+	
+}
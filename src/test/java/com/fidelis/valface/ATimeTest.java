@@ -8,9 +8,12 @@ package com.fidelis.valface;
 
 import static org.junit.Assert.*;
 
+import java.nio.charset.Charset;
 import java.text.DateFormat;
+import java.util.BitSet;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.Random;
 
 import org.junit.After;
 import org.junit.Before;
@@ -180,6 +183,35 @@ public class ATimeTest {
 		assertEquals(987654321, time.getNano());
 		passed = true;
 	}
+	
+	/**
+	 * Test method for {@link com.fidelis.valface.ATime#toNanoOfDay(int, int, int, int)}.
+	 */
+	@Test
+	public void testToNanoOfDayFields () {
+		long nanos = (14 * 3600 + 37 * 60 + 49) * 1000000000L + 987654321L;
+		assertEquals(nanos, ATime.toNanoOfDay(14, 37, 49, 987654321));
+		assertEquals(nanos, ATime.of(14, 37, 49, 987654321).toNanoOfDay());
+		assertEquals(0L, ATime.toNanoOfDay(0, 0, 0, 0));
+		assertEquals(86399999999999L, ATime.toNanoOfDay(23, 59, 59, 999999999));
+		try {
+			ATime.toNanoOfDay(24, 0, 0, 0);
+			fail("Exception expected");
+		} catch (IllegalArgumentException ex) {
+			// expected
+		}
+		try {
+			ATime.toNanoOfDay(12, 0, 0, -1);
+			fail("Exception expected");
+		} catch (IllegalArgumentException ex) {
+			// expected
+		}
+		ATime time = ATime.ofNanoOfDay(nanos);
+		assertEquals(0, time.compareToNanoOfDay(nanos));
+		assertEquals(1, time.compareToNanoOfDay(nanos - 1));
+		assertEquals(-1, time.compareToNanoOfDay(nanos + 1));
+		passed = true;
+	}
 
 	/**
 	 * Test method for {@link com.fidelis.valface.ATime#ofSecondOfDay(long)}.
@@ -550,6 +582,41 @@ public class ATimeTest {
 		passed = true;
 	}
 	
+	/**
+	 * Tests the plus methods and comparisons against arithmetic on the
+	 * nanosecond of day values.
+	 */
+	@Test
+	public void testNanoOfDayArithmetic () {
+		long day = 86400000000000L;
+		assertEquals("12:34:56", ATime.parse("12:34:56").minusHours(48).toString());
+		assertEquals(0, ATime.parse("12:34:56").compareTo(ATime.of(12, 34, 56)));
+		assertTrue(ATime.parse("12:34:56").equals(ATime.of(12, 34, 56)));
+		Random random = new Random(2014);
+		for (int n = 0; n < 100000; n++) {
+			long nanoOfDay = (long) (random.nextDouble() * day);
+			ATime time = ATime.ofNanoOfDay(nanoOfDay);
+			assertEquals(nanoOfDay, time.toNanoOfDay());
+			long amount = random.nextLong() / 1000000000000L;
+			assertEquals(Math.floorMod(nanoOfDay + (amount % 24) * 3600000000000L, day),
+					time.plusHours(amount).toNanoOfDay());
+			assertEquals(Math.floorMod(nanoOfDay + (amount % 1440) * 60000000000L, day),
+					time.plusMinutes(amount).toNanoOfDay());
+			assertEquals(Math.floorMod(nanoOfDay + (amount % 86400) * 1000000000L, day),
+					time.plusSeconds(amount).toNanoOfDay());
+			long nanos = random.nextLong();
+			ATime other = time.plusNanos(nanos);
+			assertEquals(Math.floorMod(nanoOfDay + nanos % day, day), other.toNanoOfDay());
+			assertEquals(Long.signum(nanoOfDay - other.toNanoOfDay()), time.compareTo(other));
+			assertEquals(nanoOfDay < other.toNanoOfDay(), time.isBefore(other));
+			assertEquals(nanoOfDay > other.toNanoOfDay(), time.isAfter(other));
+			assertEquals(time.toString(), ATime.parse(time.toString()).toString());
+			assertEquals(0, time.compareTo(ATime.of(time.getHour(), time.getMinute(), time.getSecond(),
+					time.getNano())));
+		}
+		passed = true;
+	}
+	
 	/**
 	 * Test method for {@link com.fidelis.valface.ATime#toCalendar()}.
 	 */
@@ -690,10 +757,18 @@ public class ATimeTest {
 		doParse("23:59:60.999999999", -1, 0, 0, 0);
 		doParse("23:59:59.9999999991", -1, 0, 0, 0);
 		doParse("18:", -1, 0, 0, 0);
+		doParse("18:3x", -1, 0, 0, 0);
+		doParse("12:00:00.12x", -1, 0, 0, 0);
 		passed = true;
 	}
 	
 	private void doParse (String dateString, int h, int m, int s, int n) {
+		ATime tried = ATime.tryParse(dateString);
+		assertEquals(dateString, h < 0, tried == null);
+		if (tried != null) {
+			assertEquals(h * 3600000000000L + m * 60000000000L + s * 1000000000L + n,
+					tried.toNanoOfDay());
+		}
 		try {
 			ATime time = ATime.parse(dateString);
 			if (h < 0) {
@@ -728,4 +803,159 @@ public class ATimeTest {
 		passed = true;
 	}
 	
+	
+	@Test
+	public void testParseRange () {
+		String buffer = "[10:30:45.123456789|103045.5|23]";
+		assertEquals("10:30:45.123456789", ATime.parse(buffer, 1, 19).toString());
+		assertEquals("10:30:45.500", ATime.parse(buffer, 20, 28).toString());
+		assertEquals("23:00", ATime.tryParse(new StringBuilder(buffer), 29, 31).toString());
+		assertNull(ATime.tryParse(buffer, 1, 20));
+		try {
+			ATime.parse(buffer, 0, 19);
+			fail("Exception expected");
+		} catch (IllegalArgumentException ex) {
+			assertEquals("Invalid time String: [10:30:45.123456789", ex.getMessage());
+		}
+		try {
+			ATime.parse(buffer, -1, 4);
+			fail("Exception expected");
+		} catch (IndexOutOfBoundsException ex) {
+			// expected
+		}
+		passed = true;
+	}
+	
+	@Test
+	public void testParseSplit () {
+		String[] pieces = {
+			"10", "30", "45", "5", "0", "23", "24", "60", ":", ":", ".", ".", "+", "-", "x",
+			"123", "456789", "1234567890", "\uff11", "103045"
+		};
+		Random random = new Random(1963);
+		for (int n = 0; n < 100000; n++) {
+			String text = ADateTest.fuzz(random, pieces, 6);
+			String buffer = "::" + text + "..";
+			int end = 2 + text.length();
+			assertEquals(text, splitParse(text, true), rangeParse(buffer, 2, end, true));
+			assertEquals(text, splitParse(text, false), rangeParse(buffer, 2, end, false));
+		}
+		passed = true;
+	}
+	
+	/**
+	 * Parses a time from a range and describes the result.
+	 */
+	static String rangeParse (CharSequence text, int start, int end, boolean strict) {
+		try {
+			ATime time = strict ? ATime.parse(text, start, end) : ATime.tryParse(text, start, end);
+			return String.valueOf(time);
+		} catch (IllegalArgumentException ex) {
+			return ex.getMessage();
+		}
+	}
+	
+	/**
+	 * Parses a time with String.split, substring and Integer.parseInt as
+	 * ATime.parse once did and describes the result.
+	 */
+	static String splitParse (String timeString, boolean strict) {
+		String h = "0";
+		String m = "0";
+		String s = null;
+		String n = "0";
+		boolean status = true;
+		if (timeString.contains(":")) {
+			String[] parts = timeString.split("\\:");
+			if (parts.length >= 2) {
+				h = parts[0];
+				m = parts[1];
+			}
+			if (parts.length == 3) {
+				s = parts[2];
+			}
+			status = parts.length == 2 || parts.length == 3;
+		} else {
+			int len = timeString.length();
+			if (len >= 2) {
+				h = timeString.substring(0, 2);
+			}
+			if (len >= 4) {
+				m = timeString.substring(2, 4);
+			}
+			if (len >= 6) {
+				s = timeString.substring(4);
+			}
+		}
+		if (s == null) {
+			s = "0";
+		} else if (s.indexOf('.') > 0) {
+			n = s.substring(s.indexOf('.') + 1);
+			s = s.substring(0, s.indexOf('.'));
+		}
+		int[] values = new int[4];
+		try {
+			if (! status || ! n.matches("[0-9]{1,9}")) {
+				throw new NumberFormatException();
+			}
+			values[0] = Integer.parseInt(h);
+			values[1] = Integer.parseInt(m);
+			values[2] = Integer.parseInt(s);
+			values[3] = Integer.parseInt((n + "00000000").substring(0, 9));
+		} catch (NumberFormatException ex) {
+			return strict ? "Invalid time String: " + timeString : "null";
+		}
+		try {
+			return ATime.of(values[0], values[1], values[2], values[3]).toString();
+		} catch (IllegalArgumentException ex) {
+			return strict ? ex.getMessage() : "null";
+		}
+	}
+	
+	@Test
+	public void testParseNanoOfDay () {
+		String[] pieces = { "10", ":30", ":45", ".5", "23", "60", "123", ":", "x", "0", "103045.123456789" };
+		Random random = new Random(1492);
+		int count = 5000;
+		CharSequence[] values = new CharSequence[count];
+		StringBuilder line = new StringBuilder();
+		int[] starts = new int[count];
+		int[] ends = new int[count];
+		for (int n = 0; n < count; n++) {
+			String value = (n == 3) ? "" : ADateTest.fuzz(random, pieces, 4);
+			values[n] = value;
+			starts[n] = line.length();
+			line.append(value);
+			ends[n] = line.length();
+			line.append('|');
+		}
+		values[3] = null;
+		long[] nanos = new long[count];
+		BitSet invalid = new BitSet();
+		int failures = ATime.parseNanoOfDay(values, nanos, invalid);
+		assertEquals(failures, invalid.cardinality());
+		assertTrue(failures > 0 && failures < count);
+		for (int n = 0; n < count; n++) {
+			ATime time = (values[n] == null) ? null : ATime.tryParse(values[n].toString());
+			assertEquals(time == null, invalid.get(n));
+			assertEquals((time == null) ? -1 : time.toNanoOfDay(), nanos[n]);
+		}
+		values[3] = "";
+		failures = ATime.parseNanoOfDay(values, nanos, invalid);
+		long[] charNanos = new long[count];
+		BitSet charInvalid = new BitSet();
+		assertEquals(failures, ATime.parseNanoOfDay(line.toString().toCharArray(), starts, ends, count, charNanos, charInvalid));
+		assertArrayEquals(nanos, charNanos);
+		assertEquals(invalid, charInvalid);
+		long[] byteNanos = new long[count];
+		BitSet byteInvalid = new BitSet();
+		byte[] bytes = line.toString().getBytes(Charset.forName("ISO-8859-1"));
+		assertEquals(failures, ATime.parseNanoOfDay(bytes, starts, ends, count, byteNanos, byteInvalid));
+		assertArrayEquals(nanos, byteNanos);
+		assertEquals(invalid, byteInvalid);
+		assertEquals(ATime.of(10, 30).toNanoOfDay(), ATime.parseNanoOfDay("at 10:30", 3, 8));
+		assertEquals(-1, ATime.parseNanoOfDay("24:00", 0, 5));
+		passed = true;
+	}
+
 }
@@ -0,0 +1,371 @@
+/**
+ *+
+ *	TokenCharsTest.java
+ *	1.0.0  Oct 17, 2026  Leo Hinterlang
+ *-
+ */
+package com.fidelis.valface;
+
+import static org.junit.Assert.*;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestName;
+
+/**
+ * TokenCharsTest
+ *
+ * @version 1.0.0
+ * @author Leo Hinterlang
+ *
+ */
+public class TokenCharsTest {
+	
+	private boolean passed;
+	
+	 @Rule public TestName testName = new TestName();
+
+	 @Before
+	 public void before () {
+		 String test = testName.getMethodName();
+		 System.out.printf("Testing: " + test);
+		 for (int n = test.length(); n < 30; n++) {
+			 System.out.print('.');
+		 }
+		 passed = false;
+	 }
+	 
+	 @After
+	 public void after () {
+		 System.out.println(passed ? " passed" : " failed ***");
+	 }
+
+	/**
+	 * Test method for {@link com.fidelis.valface.TokenChars#TokenChars(java.lang.CharSequence, java.lang.String)}.
+	 */
+	@Test
+	public void testTokenChars () {
+		TokenChars source = new TokenChars("tok1 tok2 tok3", " \t\n");
+		assertNotNull(source);
+		assertTrue(source.isFilterLineBreaks());
+		assertTrue(source.isTrimSpaces());
+		passed = true;
+	}
+
+	/**
+	 * Test method for {@link com.fidelis.valface.TokenChars#isFilterLineBreaks()}.
+	 */
+	@Test
+	public void testIsFilterLineBreaks () {
+		TokenChars source = new TokenChars("x y z\na b c", " \n");
+		assertTrue(source.isFilterLineBreaks());
+		for (String token = source.next(); token != null; token = source.next()) {
+			assertFalse(token.equals("\n"));
+		}
+		source = new TokenChars("one two three\nfour five six", " \n");
+		source.setFilterLineBreaks(false);
+		assertFalse(source.isFilterLineBreaks());
+		boolean nl = false;
+		for (String token = source.next(); token != null; token = source.next()) {
+			if (token.equals("\n")) {
+				nl = true;
+			}
+		}
+		assertTrue(nl);
+		assertFalse(source.isFilterLineBreaks());
+		passed = true;
+	}
+
+	/**
+	 * Test method for {@link com.fidelis.valface.TokenChars#setFilterLineBreaks(boolean)}.
+	 */
+	@Test
+	public void testSetFilterLineBreaks () {
+		testIsFilterLineBreaks();
+	}
+
+	/**
+	 * Test method for {@link com.fidelis.valface.TokenChars#isTrimSpaces()}.
+	 */
+	@Test
+	public void testIsTrimSpaces () {
+		TokenChars source = new TokenChars("me you  them ", " ");
+		assertTrue(source.isTrimSpaces());
+		for (String token = source.next(); token != null; token = source.next()) {
+			assertFalse(token.equals(" "));
+		}
+		source = new TokenChars("mine yours  theirs ", " ");
+		source.setTrimSpaces(false);
+		boolean spaces = false;
+		for (String token = source.next(); token != null; token = source.next()) {
+			if (token.equals(" ")) {
+				spaces = true;
+			}
+		}
+		assertTrue(spaces);
+		passed = true;
+	}
+
+	/**
+	 * Test method for {@link com.fidelis.valface.TokenChars#setTrimSpaces(boolean)}.
+	 */
+	@Test
+	public void testSetTrimSpaces () {
+		testIsTrimSpaces();
+	}
+
+	/**
+	 * Test method for {@link com.fidelis.valface.TokenChars#close()}.
+	 */
+	@Test
+	public void testClose () {
+		TokenChars source = new TokenChars("a b c", " ");
+		assertTrue(source.open());
+		int tokenCount = 0;
+		for (String token = source.next(); token != null; token = source.next()) {
+			++tokenCount;
+		}
+		source.close();
+		assertEquals(tokenCount, 3);
+		passed = true;
+	}
+
+	/**
+	 * Test method for {@link com.fidelis.valface.TokenChars#getToken()}.
+	 */
+	@Test
+	public void testGetToken () {
+		TokenChars source = new TokenChars("one two three four", " ");
+		for (String token = source.next(); token != null; token = source.next()) {
+			String tok = source.getToken();
+			assertEquals(tok, token);
+			source.push();
+			tok = source.getToken();
+			assertEquals(tok, token);
+			source.pop();
+		}
+		passed = true;
+	}
+
+	/**
+	 * Test method for {@link com.fidelis.valface.TokenChars#next()}.
+	 */
+	@Test
+	public void testNext () {
+		TokenChars source = new TokenChars("one two three:30 four", " :");
+		int tokenCount = 0;
+		for (String token = source.next(); token != null; token = source.next()) {
+			++tokenCount;
+			switch (tokenCount) {
+			case 1:	assertEquals(token, "one");
+					break;
+			case 2:	assertEquals(token, "two");
+					source.push();
+					break;
+			case 3:	assertEquals(token, "two");
+					break;
+			case 4:	assertEquals(token, "three");
+					break;
+			case 5:	assertEquals(token, ":");
+					break;
+			case 6:	assertEquals(token, "30");
+					break;
+			case 7:	assertEquals(token, "four");
+					break;
+			default:	fail("end of tokens");
+					break;
+			}
+		}
+		passed = true;
+	}
+
+	/**
+	 * Test method for {@link com.fidelis.valface.TokenChars#open()}.
+	 */
+	@Test
+	public void testOpen () {
+		testClose();
+	}
+
+	/**
+	 * Test method for {@link com.fidelis.valface.TokenChars#peek()}.
+	 */
+	@Test
+	public void testPeek () {
+		TokenChars source = new TokenChars("one two three", " ");
+		int tokenCount = 0;
+		String tok = null;
+		for (String token = source.next(); token != null; token = source.next()) {
+			++tokenCount;
+			switch (tokenCount) {
+			case 1:	assertEquals(token, "one");
+					tok = source.peek();
+					assertEquals(tok, "two");
+					break;
+			case 2:	assertEquals(token, "two");
+					tok = source.peek();
+					assertEquals(tok, "three");
+					break;
+			case 3:	assertEquals(token, "three");
+					tok = source.peek();
+					assertNull(tok);
+					break;
+			default:	fail("end of tokens");
+						break;
+			}
+		}
+		passed = true;
+	}
+
+	/**
+	 * Test method for {@link com.fidelis.valface.TokenChars#pop()}.
+	 */
+	@Test
+	public void testPop () {
+		TokenChars source = new TokenChars("red green orange", " ");
+		int tokenCount = 0;
+		String tok = null;
+		for (String token = source.next(); token != null; token = source.next()) {
+			++tokenCount;
+			switch (tokenCount) {
+			case 1:	assertEquals("red", token);
+					source.push("black");
+					break;
+			case 2:	assertEquals("black", token);
+					tok = source.pop();
+					assertNull(tok);
+					source.push("white");
+					tok = source.pop();
+					assertEquals("white", tok);
+					break;
+			case 3:	assertEquals("green", token);
+					source.push("yellow");
+					source.push("blue");
+					break;
+			case 4:	assertEquals("blue", token);
+					tok = source.pop();
+					assertEquals("yellow", tok);
+					break;
+			case 5:	assertEquals("orange", token);
+					break;
+			default:	fail("no more tokens");
+						break;
+			}
+		}
+		passed = true;
+	}
+
+	/**
+	 * Test method for {@link com.fidelis.valface.TokenChars#push(java.lang.String)}.
+	 */
+	@Test
+	public void testPushString () {
+		testPop();
+	}
+
+	/**
+	 * Test method for {@link com.fidelis.valface.TokenChars#push()}.
+	 */
+	@Test
+	public void testPush () {
+		TokenChars source = new TokenChars("x y:10 z", " :");
+		int tokenCount = 0;
+		String tok = null;
+		for (String token = source.next(); token != null; token = source.next()) {
+			++tokenCount;
+			switch (tokenCount) {
+			case 1:	assertEquals("x", token);
+					source.push();
+					break;
+			case 2:	assertEquals("x", token);
+					source.push("a");
+					source.push();
+					break;
+			case 3:	assertEquals("x", token);
+					break;
+			case 4:	assertEquals("a", token);
+					break;
+			case 5:	assertEquals("y", token);
+					break;
+			case 6:	assertEquals(":", token);
+					tok = source.next();
+					assertEquals("10", tok);
+					source.push("20");
+					break;
+			case 7:	assertEquals("20", token);
+					break;
+			case 8:	assertEquals("z", token);
+					source.push();
+					break;
+			case 9:	assertEquals("z", token);
+					break;
+			default:	fail("end of tokens");
+						break;
+			}
+		}
+		passed = true;
+	}
+	
+	/**
+	 * Test method for {@link com.fidelis.valface.TokenChars#nextSequence()}.
+	 */
+	@Test
+	public void testNextSequence () {
+		char[] chars = "xx<name> int = 1 .. 9 | 0xFF;yy".toCharArray();
+		TokenChars source = new TokenChars(chars, 2, chars.length - 4, " =|;");
+		String[] expect = { "<name>", "int", "=", "1", "..", "9", "|", "0xFF", ";" };
+		int n = 0;
+		for (CharSequence token = source.nextSequence(); token != null; token = source.nextSequence()) {
+			assertEquals(expect[n], token.toString());
+			assertEquals(expect[n].length(), token.length());
+			assertEquals(expect[n].charAt(0), token.charAt(0));
+			assertEquals(expect[n], source.getToken());
+			++n;
+		}
+		assertEquals(expect.length, n);
+		passed = true;
+	}
+	
+	/**
+	 * Compares the tokens with those of {@code TokenString}.
+	 */
+	@Test
+	public void testSameAsTokenString () {
+		String delimiters = " \t\n\'|=:;";
+		String[] texts = {
+			"Values:\n<name> someString ignoreCase = one | two | three;\n",
+			"Values:\r\n<value> int number = 1 .. 99 | 101,000 | 0xFF;\r\n",
+			"<date> Date = @yyyy-MM-dd | today .. today + 30 days ;",
+			"<q> String = 'quoted text' | \"double \\\" quoted\"tail | ab'cd ;",
+			"<u> String = \u00e9t\u00e9 | na\u00efve ;",
+			"  \t \n ",
+			"'unterminated",
+			"\"unterminated at end"
+		};
+		for (String text : texts) {
+			for (int option = 0; option < 4; option++) {
+				TokenString expect = new TokenString(text, delimiters);
+				TokenChars actual = new TokenChars(text, delimiters);
+				expect.setFilterLineBreaks((option & 1) == 0);
+				actual.setFilterLineBreaks((option & 1) == 0);
+				expect.setTrimSpaces((option & 2) == 0);
+				actual.setTrimSpaces((option & 2) == 0);
+				int count = 0;
+				for (String token = expect.next(); token != null; token = expect.next()) {
+					assertEquals(text, token, actual.next());
+					assertEquals(text, expect.getToken(), actual.getToken());
+					if (++count % 3 == 0 && ! token.startsWith("<")) {
+						expect.push();
+						actual.push();
+						assertEquals(text, expect.next(), actual.next());
+					}
+				}
+				assertNull(text, actual.next());
+			}
+		}
+		passed = true;
+	}
+	
+}
@@ -0,0 +1,231 @@
+/**
+ *+
+ *	ValBindingTest.java
+ *	1.0.0  2026-10-17  Leo Hinterlang
+ *-
+ */
+package com.fidelis.valface;
+
+import static org.junit.Assert.*;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestName;
+
+import com.fidelis.argface.ArgReflect;
+
+/**
+ * ValBindingTest
+ *
+ * @version 1.0.0
+ * @author Leo Hinterlang
+ *
+ */
+public class ValBindingTest {
+	
+	private boolean passed;
+	
+	@Rule public TestName testName = new TestName();
+	
+	@SuppressWarnings ("unused")
+	private static class Base {
+		private long inherited;
+	}
+	
+	@SuppressWarnings ("unused")
+	private static class Model extends Base {
+		private int count;
+		private String word;
+		private double ratio;
+		private boolean ratioSet;
+		private short fixed = 7;
+		private static final int limit = 3;
+		private static int total;
+		private static String label;
+		private int checked;
+		private int broken;
+		
+		private void setRatio (double ratio) {
+			this.ratio = ratio;
+			ratioSet = true;
+		}
+		
+		private static void setLabel (String label) {
+			Model.label = "[" + label + "]";
+		}
+		
+		private void setChecked (int checked) {
+			if (checked < 0) {
+				throw new IllegalArgumentException("negative");
+			}
+			this.checked = checked;
+		}
+		
+		private void setBroken (int broken) {
+			throw new AssertionError("broken");
+		}
+		
+		public short getFixed () {
+			return fixed;
+		}
+	}
+	
+	@Before
+	public void setUp () throws Exception {
+		String test = testName.getMethodName();
+		System.out.printf("Testing: " + test);
+		for (int n = test.length(); n < 30; n++) {
+			System.out.print('.');
+		}
+		passed = false;
+	}
+	
+	@After
+	public void tearDown () throws Exception {
+		System.out.println(passed ? " passed" : " failed ***");
+	}
+	
+	private static ArgReflect reflect (Object model) {
+		ArgReflect reflect = new ArgReflect();
+		reflect.setPrivateAccess(true);
+		reflect.setObject(model);
+		return reflect;
+	}
+	
+	@Test
+	public void testSetValue () {
+		Model model = new Model();
+		ArgReflect reflect = reflect(model);
+		ValBinding count = ValBinding.get(reflect, "count");
+		assertEquals(int.class, count.getTypeClass());
+		assertTrue(count.setValue(model, 42));
+		assertEquals(42, model.count);
+		
+		ValBinding word = ValBinding.get(reflect, "word");
+		assertEquals(String.class, word.getTypeClass());
+		assertTrue(word.setValue(model, "two"));
+		assertEquals("two", model.word);
+		assertFalse(word.setValue(model, 3));
+		assertEquals("two", model.word);
+		
+		ValBinding ratio = ValBinding.get(reflect, "ratio");
+		assertEquals(double.class, ratio.getTypeClass());
+		assertTrue(ratio.setValue(model, 1.25));
+		assertEquals(1.25, model.ratio, 0.0);
+		assertTrue(model.ratioSet);
+		
+		ValBinding inherited = ValBinding.get(reflect, "inherited");
+		assertEquals(long.class, inherited.getTypeClass());
+		assertTrue(inherited.setValue(model, 9L));
+		assertEquals(9L, ((Base) model).inherited);
+		
+		// A getter without a setter gives the type and nothing is written.
+		ValBinding fixed = ValBinding.get(reflect, "fixed");
+		assertEquals(short.class, fixed.getTypeClass());
+		assertNull(fixed.getError());
+		assertFalse(fixed.isWritable());
+		assertFalse(fixed.setValue(model, (short) 3));
+		assertEquals(7, model.fixed);
+		
+		// A field that can not be written is reported, not skipped.
+		ValBinding limit = ValBinding.get(reflect, "limit");
+		assertNotNull(limit.getError());
+		assertFalse(limit.isWritable());
+		assertFalse(limit.setValue(model, 4));
+		
+		ValBinding missing = ValBinding.get(reflect, "missing");
+		assertNull(missing.getTypeClass());
+		assertEquals("Named variable not found: missing", missing.getError());
+		assertNull(count.getError());
+		assertTrue(count.isWritable());
+		passed = true;
+	}
+	
+	@Test
+	public void testStatic () {
+		Model model = new Model();
+		ArgReflect reflect = reflect(model);
+		ValBinding total = ValBinding.get(reflect, "total");
+		assertNull(total.getError());
+		assertTrue(total.setValue(model, 12));
+		assertEquals(12, Model.total);
+		
+		ValBinding label = ValBinding.get(reflect, "label");
+		assertNull(label.getError());
+		assertTrue(label.setValue(model, "top"));
+		assertEquals("[top]", Model.label);
+		
+		ValPrototype vp = ValPrototype.create("Values: <total> total = 1 .. 99;", model);
+		assertNotNull(vp);
+		passed = true;
+	}
+	
+	@Test
+	public void testSetterThrows () {
+		Model model = new Model();
+		ArgReflect reflect = reflect(model);
+		ValBinding checked = ValBinding.get(reflect, "checked");
+		assertTrue(checked.setValue(model, 5));
+		assertFalse(checked.setValue(model, -1));
+		assertEquals(5, model.checked);
+		assertFalse(checked.setValue(model, null));
+		
+		ValBinding broken = ValBinding.get(reflect, "broken");
+		try {
+			broken.setValue(model, 1);
+			fail("Error not thrown");
+		} catch (AssertionError err) {
+			assertEquals("broken", err.getMessage());
+		}
+		passed = true;
+	}
+	
+	@Test
+	public void testShared () {
+		Model first = new Model();
+		Model second = new Model();
+		ValBinding binding = ValBinding.get(reflect(first), "count");
+		assertSame(binding, ValBinding.get(reflect(second), "count"));
+		assertNotSame(binding, ValBinding.get(reflect(first), "word"));
+		binding.setValue(second, 5);
+		assertEquals(0, first.count);
+		assertEquals(5, second.count);
+		passed = true;
+	}
+	
+	@Test
+	public void testPlan () {
+		String[] valText = {
+			"Values:",
+				"<count> count = 1 .. 9;",
+				"<word> word = one | two;"
+		};
+		ValPrototype first = ValPrototype.create(valText, new Model());
+		ValPrototype second = ValPrototype.create(valText, new Model());
+		assertNotNull(first);
+		assertNotNull(second);
+		assertSame(first.getSchema(), second.getSchema());
+		assertNull(second.findFieldType("missing"));
+		assertEquals(ValType.INT, second.findFieldType("count"));
+		
+		// A model that can not be bound is not planned.
+		String badText = "Values: <count> missing = 1 .. 9;";
+		assertNull(ValPrototype.create(badText, new Model()));
+		assertNull(ValPrototype.create(badText, new Model()));
+		
+		// A variable that can not be written is not bound, one with only a getter is.
+		assertNull(ValPrototype.create("Values: <limit> limit = 1 .. 9;", new Model()));
+		assertNotNull(ValPrototype.create("Values: <fixed> fixed = 1 .. 9;", new Model()));
+		
+		// The plans of a class are bounded.
+		int limit = ValSchemaCache.DEFAULT_MAX_SIZE;
+		for (int n = 1; n <= limit + 1; n++) {
+			assertNotNull(ValPrototype.create("Values: <count> count = 0 .. " + n + ";", new Model()));
+		}
+		assertEquals(limit, ValPrototype.getPlanCount(Model.class));
+		passed = true;
+	}
+	
+}
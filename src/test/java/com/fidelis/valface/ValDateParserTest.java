@@ -11,7 +11,9 @@ import static java.util.Calendar.MONTH;
 import static java.util.Calendar.YEAR;
 import static org.junit.Assert.*;
 
+import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.List;
 
 import org.junit.After;
 import org.junit.Before;
@@ -368,6 +370,143 @@ public class ValDateParserTest {
 		assertTrue(passed);
 	}
 	
+	@Test
+	public void testReentrantParse () {
+		AClock.set(AClock.fixed(ADate.parse("2014-09-18"), ATime.now()));
+		try {
+			List<String> specs = new ArrayList<String>();
+			addSpecs(specs, basicDates, 2);
+			addSpecs(specs, modifiers, 2);
+			addSpecs(specs, dateStrings, 2);
+			addSpecs(specs, basicExceptions, 1);
+			addSpecs(specs, modExceptions, 1);
+			List<String> expect = new ArrayList<String>();
+			for (String spec : specs) {
+				expect.add(parseResult(spec));
+			}
+			
+			// Parsed again in reverse order, no spec sees the state of another.
+			for (int n = specs.size() - 1; n >= 0; n--) {
+				assertEquals(specs.get(n), expect.get(n), parseResult(specs.get(n)));
+			}
+		} finally {
+			AClock.set(null);
+		}
+		passed = true;
+	}
+	
+	@Test
+	public void testTryParse () {
+		AClock.set(AClock.fixed(ADate.parse("2014-09-18"), ATime.now()));
+		try {
+			List<String> specs = new ArrayList<String>();
+			addSpecs(specs, basicDates, 2);
+			addSpecs(specs, modifiers, 2);
+			addSpecs(specs, dateStrings, 2);
+			addSpecs(specs, basicExceptions, 1);
+			addSpecs(specs, modExceptions, 1);
+			addSpecs(specs, dateExceptions, 1);
+			specs.add("today.year.99999");
+			specs.add("today.plus.99999999999.days");
+			for (String spec : specs) {
+				String expect = parseResult(spec);
+				Calendar result = ValDateParser.tryParse(spec);
+				if (expect.startsWith("error: ")) {
+					assertNull(spec, result);
+				} else {
+					assertEquals(spec, expect, String.format("%tF", result));
+				}
+			}
+		} finally {
+			AClock.set(null);
+		}
+		passed = true;
+	}
+	
+	@Test
+	public void testCompile () {
+		ATime noon = ATime.of(12, 0);
+		AClock.set(AClock.fixed(ADate.parse("2014-09-18"), noon));
+		try {
+			for (boolean traditional : new boolean[] { false, true }) {
+				ValDateParser.setTraditional(traditional);
+				List<String> specs = new ArrayList<String>();
+				addSpecs(specs, basicDates, 2);
+				addSpecs(specs, modifiers, 2);
+				addSpecs(specs, dateStrings, 2);
+				addSpecs(specs, traditionalDates, 2);
+				specs.add("today.day.31");
+				specs.add("last.month.end.plus.1.month");
+				List<ValDateExpr> exprs = new ArrayList<ValDateExpr>();
+				for (String spec : specs) {
+					ValDateExpr expr = ValDateParser.tryCompile(spec);
+					
+					// A relative spec compiles even if it is not valid today.
+					if (expr == null || ! expr.isRelative()) {
+						assertEquals(spec, parseResult(spec).startsWith("error: "), expr == null);
+					}
+					exprs.add(expr);
+				}
+				assertTrue(parseResult("today.day.31").startsWith("error: "));
+				assertNotNull(exprs.get(specs.indexOf("today.day.31")));
+				ADate day = ADate.parse("2011-12-25");
+				for (int n = 0; n < 120; n++) {
+					day = day.plusDays(n % 7 * 5 + 3);
+					AClock.set(AClock.fixed(day, noon));
+					for (int i = 0; i < specs.size(); i++) {
+						ValDateExpr expr = exprs.get(i);
+						if (expr == null) {
+							continue;
+						}
+						String expect = parseResult(specs.get(i));
+						String result;
+						try {
+							result = expr.evaluate(day).toString();
+						} catch (IllegalArgumentException ex) {
+							result = "error: " + ex.getMessage();
+						}
+						assertEquals(specs.get(i) + " " + day, expect, result);
+						if (! expect.startsWith("error: ")) {
+							assertTrue(expr.evaluate().equals(expr.evaluate(day)));
+						}
+					}
+				}
+			}
+			assertFalse(ValDateParser.compile("2014.plus.8.months").isRelative());
+			assertTrue(ValDateParser.compile("end.next.year").isRelative());
+			assertTrue(ValDateParser.compile("today.year.2000.month.5.day.1").isRelative());
+			assertNull(ValDateParser.tryCompile("today.bad"));
+			try {
+				ValDateParser.compile("today.bad");
+				fail("Exception expected");
+			} catch (IllegalArgumentException ex) {
+				// expected
+			}
+		} finally {
+			ValDateParser.setTraditional(false);
+			AClock.set(null);
+		}
+		passed = true;
+	}
+	
+	private void addSpecs (List<String> specs, String[] dateSet, int step) {
+		for (int n = 0; n < dateSet.length; n += step) {
+			if (dateSet[n].equals("setToday")) {
+				continue;
+			}
+			specs.add(dateSet[n]);
+		}
+	}
+	
+	private static String parseResult (String spec) {
+		try {
+			Calendar result = ValDateParser.parse(spec);
+			return String.format("%tF", result);
+		} catch (IllegalArgumentException ex) {
+			return "error: " + ex.getMessage();
+		}
+	}
+	
 	private boolean testDateSet (String[] dateSet) {
 		
 		// Begin with actual date for today.
@@ -459,11 +598,11 @@ public class ValDateParserTest {
 		else {
 			setTodayFlag = false;
 			if (text.equals("today")) {
-				ADate.nowTestClear();
+				AClock.set(null);
 				return true;
 			}
 			ADate newToday = ADate.parse(text);
-			ADate.nowTestSet(newToday);
+			AClock.set(AClock.fixed(newToday, ATime.now()));
 			info("Today set to ----", ADate.now().toCalendar());
 			return true;
 		}
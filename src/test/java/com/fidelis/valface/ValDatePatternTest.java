@@ -0,0 +1,146 @@
+/**
+ *+
+ *	ValDatePatternTest.java
+ *	1.0.0  2026-10-17  Leo Hinterlang
+ *-
+ */
+package com.fidelis.valface;
+
+import static org.junit.Assert.*;
+
+import java.text.DateFormat;
+import java.text.ParsePosition;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestName;
+
+/**
+ * ValDatePatternTest
+ *
+ * @version 1.0.0
+ * @author Leo Hinterlang
+ *
+ */
+public class ValDatePatternTest {
+	
+	private static final String[] PATTERNS = {
+		"yyyy-MM-dd", "MM/dd/yy", "MM/dd/yyyy", "dd-MMM-yy", "dd-MMM-yyyy", "MMMM dd, yyyy",
+		"yyyyMMdd", "d MMM y", "MMM", "'on' dd.MM.yy", "EEE, MMM d, yyyy", "yy", "MM/yyyy", "''d''"
+	};
+	
+	private boolean passed;
+	
+	@Rule public TestName testName = new TestName();
+	
+	@Before
+	public void setUp () throws Exception {
+		String test = testName.getMethodName();
+		System.out.printf("Testing: " + test);
+		for (int n = test.length(); n < 30; n++) {
+			System.out.print('.');
+		}
+		passed = false;
+	}
+	
+	@After
+	public void tearDown () throws Exception {
+		System.out.println(passed ? " passed" : " failed ***");
+	}
+	
+	@Test
+	public void testParse () {
+		ValDatePattern iso = ValDatePattern.compile("yyyy-MM-dd");
+		assertEquals("yyyy-MM-dd", iso.getPattern());
+		assertEquals("2014-09-18", iso.parse("2014-09-18", ValType.DATE).getValue().toString());
+		assertEquals("2014-09-18", iso.parse("2014-9-18xyz", ValType.DATE).getValue().toString());
+		assertEquals("2014-09-18T00:00", iso.parse("2014-09-18", ValType.DATETIME).getValue().toString());
+		assertNull(iso.parse("2014-02-30", ValType.DATE));
+		assertNull(iso.parse("09/18/2014", ValType.DATE));
+		assertNull(iso.parse("2014-09", ValType.DATE));
+		ValDatePattern text = ValDatePattern.compile("MMMM dd, yyyy");
+		assertEquals("2014-09-18", text.parse("Sep 18, 2014", ValType.DATE).getValue().toString());
+		assertEquals("2014-09-18", text.parse("SEPTEMBER 18, 2014", ValType.DATE).getValue().toString());
+		assertNull(text.parse("Sept 18, 2014", ValType.DATE));
+		try {
+			ValDatePattern.compile("yyyy-MM-dd'");
+			fail("Exception expected");
+		} catch (IllegalArgumentException ex) {
+		}
+		passed = true;
+	}
+	
+	/**
+	 * Compares the results with those of a non-lenient {@code SimpleDateFormat}
+	 * for formatted dates, altered dates and random text.
+	 */
+	@Test
+	public void testSimpleDateFormat () {
+		String[] pieces = {
+			"2014", "09", "9", "18", "31", "02", "29", "1900", "1582", "0", "00", "46", "123456789012",
+			"-", "/", ",", " ", "\t", ".", "'", "+", "E2", "x", "\u0661", "\uff11",
+			"Sep", "september", "SEPT", "May", "Thu", "on"
+		};
+		Random random = new Random(2014);
+		for (String pattern : PATTERNS) {
+			ValDatePattern compiled = ValDatePattern.compile(pattern);
+			SimpleDateFormat format = simpleDateFormat(pattern);
+			for (int n = 0; n < 10000; n++) {
+				String val;
+				if (n % 3 == 0) {
+					val = ADateTest.fuzz(random, pieces, 6);
+				} else {
+					ADate date = ADate.fromDays(ADate.of(1500, 1, 1).getDays() + random.nextInt(250000));
+					val = format.format(date.toDate());
+					if (n % 3 == 2 && val.length() > 0) {
+						int at = random.nextInt(val.length() + 1);
+						String piece = pieces[random.nextInt(pieces.length)];
+						int cut = Math.min(val.length(), at + random.nextInt(3));
+						val = val.substring(0, at) + piece + val.substring(cut);
+					}
+				}
+				assertEquals(pattern + " [" + val + "]", expected(format, val), actual(compiled, val));
+			}
+		}
+		passed = true;
+	}
+	
+	/**
+	 * Returns a non-lenient {@code SimpleDateFormat} made as a date item once made one.
+	 */
+	private static SimpleDateFormat simpleDateFormat (String pattern) {
+		SimpleDateFormat fmt = (SimpleDateFormat) DateFormat.getDateInstance();
+		fmt.setLenient(false);
+		fmt.applyPattern(pattern);
+		return fmt;
+	}
+	
+	/**
+	 * Describes the result of a {@code SimpleDateFormat} parse.
+	 */
+	private static String expected (SimpleDateFormat format, String val) {
+		try {
+			Date date = format.parse(val, new ParsePosition(0));
+			return (date == null) ? "null" : new ValData(ValType.DATE, date).toString();
+		} catch (IllegalArgumentException ex) {
+			return ex.getMessage();
+		}
+	}
+	
+	/**
+	 * Describes the result of a compiled pattern parse.
+	 */
+	private static String actual (ValDatePattern pattern, String val) {
+		try {
+			return String.valueOf(pattern.parse(val, ValType.DATE));
+		} catch (IllegalArgumentException ex) {
+			return ex.getMessage();
+		}
+	}
+	
+}
@@ -0,0 +1,117 @@
+/**
+ *+
+ *	ValSchemaCacheTest.java
+ *	1.0.0  2026-10-17  Leo Hinterlang
+ *-
+ */
+package com.fidelis.valface;
+
+import static org.junit.Assert.*;
+
+import java.util.Collections;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestName;
+
+/**
+ * ValSchemaCacheTest
+ *
+ * @version 1.0.0
+ * @author Leo Hinterlang
+ *
+ */
+public class ValSchemaCacheTest {
+	
+	private boolean passed;
+	
+	@Rule public TestName testName = new TestName();
+	
+	private static final String textA = "Values: <a> int = 1 .. 9;";
+	private static final String textB = "Values: <b> String = one | two;";
+	private static final String textC = "Values: <c> double = 0.5 .. 1.5;";
+	
+	@SuppressWarnings ("unused")
+	private static class Model {
+		private int count;
+		private String word;
+	}
+	
+	@Before
+	public void setUp () throws Exception {
+		String test = testName.getMethodName();
+		System.out.printf("Testing: " + test);
+		for (int n = test.length(); n < 30; n++) {
+			System.out.print('.');
+		}
+		passed = false;
+	}
+	
+	@After
+	public void tearDown () throws Exception {
+		System.out.println(passed ? " passed" : " failed ***");
+	}
+	
+	@Test
+	public void testHitMiss () {
+		ValSchemaCache cache = new ValSchemaCache(4);
+		ValSchema first = cache.get(textA);
+		assertNotNull(first);
+		assertSame(first, cache.get(textA));
+		assertNotNull(cache.get(textB));
+		assertEquals(1, cache.getHits());
+		assertEquals(2, cache.getMisses());
+		assertEquals(2, cache.size());
+		assertNull(cache.get("Values: <bad> int = 1 .. x;"));
+		assertEquals(2, cache.size());
+		passed = true;
+	}
+	
+	@Test
+	public void testEviction () {
+		ValSchemaCache cache = new ValSchemaCache(2);
+		ValSchema a = cache.get(textA);
+		cache.get(textB);
+		cache.get(textA);
+		cache.get(textC);
+		assertEquals(1, cache.getEvictions());
+		assertEquals(2, cache.size());
+		assertSame(a, cache.get(textA));
+		long misses = cache.getMisses();
+		cache.get(textB);
+		assertEquals(misses + 1, cache.getMisses());
+		passed = true;
+	}
+	
+	@Test
+	public void testResolve () {
+		ValSchema template = ValSchemaCache.getShared().get(
+				"Values: <count> count = 1 .. 9; <word> word = one | two;");
+		assertNotNull(template);
+		assertFalse(template.isResolved());
+		try {
+			template.validate(Collections.singletonMap("<count>", "1"));
+			fail("Unresolved schema");
+		} catch (IllegalStateException ex) {
+		}
+		ValSchema schema = template.resolve(new ValType[] { ValType.INT, ValType.STRING });
+		assertTrue(schema.isResolved());
+		assertSame(schema, template.resolve(new ValType[] { ValType.INT, ValType.STRING }));
+		assertFalse(template.isResolved());
+		assertEquals(ValType.INT, schema.getDef("<count>").getType());
+		String[] valText = {
+			"Values:",
+				"<count> count = 1 .. 9;",
+				"<word> word = one | two;"
+		};
+		ValPrototype first = ValPrototype.create(valText, new Model());
+		ValPrototype second = ValPrototype.create(valText, new Model());
+		assertNotNull(first);
+		assertNotNull(second);
+		assertSame(first.getSchema(), second.getSchema());
+		passed = true;
+	}
+	
+}
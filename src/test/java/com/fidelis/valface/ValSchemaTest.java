@@ -0,0 +1,642 @@
+/**
+ *+
+ *	ValSchemaTest.java
+ *	1.0.0  2026-10-17  Leo Hinterlang
+ *-
+ */
+package com.fidelis.valface;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestName;
+
+/**
+ * ValSchemaTest
+ *
+ * @version 1.0.0
+ * @author Leo Hinterlang
+ *
+ */
+public class ValSchemaTest {
+	
+	private boolean passed;
+	
+	@Rule public TestName testName = new TestName();
+	
+	private static final String[] valText = {
+		"Values:",
+			"<name> String ignoreCase = one | two | three | four | five;",
+			"<value> int = 1 .. 99 | 101,000 | 301 | 4700 | 0xFF;",
+			"<regex> String = @^[a-z]\\w*$ | true | false;",
+			"<ratio> double = 0.5 .. 1.5 | 3.25;"
+	};
+	
+	private static final String[] cases = {
+		"<name>",	"one",		"valid",
+		"<name>",	"FIVE",		"valid",
+		"<name>",	"six",		"invalid",
+		"<value>",	"1",		"valid",
+		"<value>",	"100",		"invalid",
+		"<value>",	"101000",	"valid",
+		"<value>",	"0xFF",		"valid",
+		"<value>",	"abc",		"invalid",
+		"<regex>",	"abc",		"valid",
+		"<regex>",	"1abc",		"invalid",
+		"<regex>",	"true",		"valid",
+		"<ratio>",	"1.5",		"valid",
+		"<ratio>",	"1.6",		"invalid",
+		"<ratio>",	"3.25",		"valid"
+	};
+	
+	@Before
+	public void setUp () throws Exception {
+		String test = testName.getMethodName();
+		System.out.printf("Testing: " + test);
+		for (int n = test.length(); n < 30; n++) {
+			System.out.print('.');
+		}
+		passed = false;
+	}
+	
+	@After
+	public void tearDown () throws Exception {
+		System.out.println(passed ? " passed" : " failed ***");
+	}
+	
+	@Test
+	public void testCompile () {
+		ValSchema schema = ValSchema.compile(valText);
+		assertNotNull(schema);
+		assertEquals(4, schema.size());
+		assertEquals(1, schema.indexOf("<value>"));
+		assertEquals(-1, schema.indexOf("<none>"));
+		assertEquals(ValType.INT, schema.getDef("<value>").getType());
+		assertNull(ValSchema.compile("Values: <untyped> = one | two;"));
+		assertNull(ValSchema.compile("Values: <id> String = @^[A-Z]{2}(\\d{6}$ | none;"));
+		passed = true;
+	}
+	
+	@Test
+	public void testValidate () {
+		ValSchema schema = ValSchema.compile(valText);
+		for (int n = 0; n < cases.length; n += 3) {
+			checkCase(schema, cases[n], cases[n + 1], cases[n + 2].equals("valid"));
+		}
+		Map<String, String> values = new HashMap<String, String>();
+		values.put("<value>", "99");
+		ValResult result = schema.validate(values);
+		assertTrue(result.isValid());
+		assertTrue(result.isPresent("<value>"));
+		assertFalse(result.isPresent("<name>"));
+		assertEquals(Integer.valueOf(99), result.getValue("<value>"));
+		values.put("<name>", "seven");
+		result = schema.validate(values);
+		assertFalse(result.isValid());
+		assertTrue(result.isPresent("<name>"));
+		assertNull(result.getData("<name>"));
+		passed = true;
+	}
+	
+	@Test
+	public void testReadOnly () {
+		ValSchema schema = ValSchema.compile(valText);
+		assertNotNull(schema);
+		try {
+			schema.getDefList().clear();
+			fail("Definitions modified");
+		} catch (UnsupportedOperationException ex) {
+		}
+		ValDef def = schema.getDef("<name>");
+		try {
+			def.getItems().clear();
+			fail("Items modified");
+		} catch (UnsupportedOperationException ex) {
+		}
+		assertEquals(5, def.getItems().size());
+		checkCase(schema, "<name>", "one", true);
+		passed = true;
+	}
+	
+	@Test
+	public void testConcurrentValidate () throws Exception {
+		final ValSchema schema = ValSchema.compile(valText);
+		ExecutorService pool = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<Boolean>> futures = new ArrayList<Future<Boolean>>();
+			for (int t = 0; t < 16; t++) {
+				final int offset = t;
+				futures.add(pool.submit(new Callable<Boolean>() {
+					public Boolean call () {
+						for (int i = 0; i < 2000; i++) {
+							int n = ((offset + i) % (cases.length / 3)) * 3;
+							checkCase(schema, cases[n], cases[n + 1], cases[n + 2].equals("valid"));
+						}
+						return true;
+					}
+				}));
+			}
+			for (Future<Boolean> future : futures) {
+				assertTrue(future.get());
+			}
+		} finally {
+			pool.shutdown();
+		}
+		passed = true;
+	}
+	
+	@Test
+	public void testLiterals () {
+		StringBuilder sb = new StringBuilder("Values: <code> String ignoreCase = @^X\\d+$");
+		for (int n = 0; n < 2000; n++) {
+			sb.append(" | C").append(n).append("d");
+		}
+		sb.append(" | aa .. ab;");
+		ValSchema schema = ValSchema.compile(sb.toString());
+		checkCase(schema, "<code>", "C0D", "valid");
+		checkCase(schema, "<code>", "c1999d", "valid");
+		checkCase(schema, "<code>", "C2000D", "invalid");
+		checkCase(schema, "<code>", "X42", "valid");
+		checkCase(schema, "<code>", "x42", "invalid");
+		checkCase(schema, "<code>", "aab", "valid");
+		String[] words = {
+			"Stra\u00dfe", "STRASSE", "stra\u00dfe", "\u0130", "i", "I", "\u0131", "\u03a3",
+			"\u03c3", "\u03c2", "\u01c5", "\u01c4", "\u01c6", "\ud801\udc00", "\ud801\udc28", "K", "\u212a"
+		};
+		for (String a : words) {
+			for (String b : words) {
+				assertEquals(a + " " + b, a.equalsIgnoreCase(b),
+						ValDef.foldCase(a).equals(ValDef.foldCase(b)));
+			}
+		}
+		passed = true;
+	}
+	
+	@Test
+	public void testIntervals () {
+		ValSchema schema = ValSchema.compile(new String[] {
+			"Values:",
+				"<big> long = -5 .. 10 | 100 .. 200 | 150 .. 300 | 11 | 0x7FFFFFFFFFFFFFFF;",
+				"<byte> byte = -128 .. -100 | 0 | 2 | 1;",
+				"<dbl> double = 0.5 .. 1.5 | 3.25 | -2 .. -1 | -0.0;",
+				"<flt> float = 0.1 .. 0.2 | 0.2 .. 0.3;"
+		});
+		String[] values = {
+			"-6", "-5", "0", "10", "11", "12", "99", "100", "250", "300", "301",
+			"9223372036854775807", "-128", "-100", "-99", "1", "2", "3",
+			"0.0", "-0.0", "0.5", "1.5", "1.50001", "3.25", "-1.5", "-2.0001",
+			"0.1", "0.15", "0.2", "0.3", "0.30001", "NaN", "Infinity"
+		};
+		for (ValDef def : schema.getDefList()) {
+			for (String val : values) {
+				ValData data;
+				try {
+					data = ValData.parse(def.getType(), val);
+				} catch (IllegalArgumentException ex) {
+					assertNull(def.validate(val));
+					continue;
+				}
+				boolean expect = false;
+				for (ValItem item : def.getItems()) {
+					if (item.validate(val, data, def) != null) {
+						expect = true;
+					}
+				}
+				assertEquals(def.getName() + " " + val, expect, def.validate(val) != null);
+			}
+		}
+		checkCase(schema, "<big>", "11", "valid");
+		checkCase(schema, "<big>", "250", "valid");
+		checkCase(schema, "<big>", "301", "invalid");
+		checkCase(schema, "<dbl>", "-0.0", "valid");
+		checkCase(schema, "<dbl>", "0.0", "invalid");
+		checkCase(schema, "<flt>", "0.25", "valid");
+		passed = true;
+	}
+	
+	@Test
+	public void testPrimitiveParse () {
+		String[] values = {
+			"0", "-0", "+5", "127", "128", "-128", "-129", "0x7F", "0X80", "#FF",
+			"-0x80", "017", "08", "0x", "-", "", "32767", "2147483647", "2147483648",
+			"-9223372036854775808", "9223372036854775807", "9223372036854775808",
+			"101,000", "1e3", "0x1p3", "NaN", "-0.0", "3.4e39", " 12", "\u0661\u0662"
+		};
+		ValType[] types = {
+			ValType.BYTE, ValType.SHORT, ValType.INT, ValType.LONG, ValType.FLOAT, ValType.DOUBLE
+		};
+		for (ValType type : types) {
+			for (String val : values) {
+				Object expect = null;
+				try {
+					switch (type) {
+					case BYTE:		expect = Byte.decode(val);		break;
+					case SHORT:		expect = Short.decode(val);		break;
+					case INT:		expect = Integer.decode(val);	break;
+					case LONG:		expect = Long.decode(val);		break;
+					case FLOAT:		expect = Float.valueOf(val);	break;
+					default:		expect = Double.valueOf(val);	break;
+					}
+				} catch (NumberFormatException ex) {
+				}
+				ValData data;
+				try {
+					data = ValData.parse(type, val);
+				} catch (IllegalArgumentException ex) {
+					assertNull(type + " " + val, expect);
+					continue;
+				}
+				if (expect != null) {
+					assertEquals(type + " " + val, expect, data.getValue());
+				}
+				Number number = (Number) data.getValue();
+				assertEquals(type + " " + val, number.longValue(), data.longValue());
+				assertEquals(type + " " + val, number.doubleValue(), data.doubleValue(), 0.0);
+			}
+		}
+		passed = true;
+	}
+	
+	@Test
+	public void testTryParse () {
+		String[] values = {
+			"0", "-0", "+5", "-", "+", "", " 1", "12 ", "2147483647", "2147483648",
+			"-2147483648", "-2147483649", "9223372036854775807", "9223372036854775808",
+			"-9223372036854775808", "-9223372036854775809", "0x1F", "\u0661\u0662",
+			"1.", ".5", ".", "1e", "1e+", "1e-7", "1.5E10f", "1.5dd", "-Infinity",
+			"+NaN", "NaNx", "Inf", "0x1.8p1", "0x1.8", "0x.p1", "0x1p", "  2.5d  ",
+			"1_0", "1,5", "12abc"
+		};
+		for (String s : values) {
+			long expectInt = ValDigits.NONE;
+			try {
+				expectInt = Integer.parseInt(s);
+			} catch (NumberFormatException ex) {
+			}
+			assertEquals(s, expectInt, ValDigits.parseInt(s));
+			boolean expectLong = true;
+			try {
+				Long.parseLong(s);
+			} catch (NumberFormatException ex) {
+				expectLong = false;
+			}
+			assertEquals(s, expectLong, ValDigits.isLong(s));
+			boolean expectDouble = true;
+			try {
+				Double.valueOf(s);
+			} catch (NumberFormatException ex) {
+				expectDouble = false;
+			}
+			assertEquals(s, expectDouble, ValDigits.isDouble(s));
+		}
+		ValType[] types = {
+			ValType.BYTE, ValType.INT, ValType.LONG, ValType.BIGINT,
+			ValType.DOUBLE, ValType.BIGDEC, ValType.DATE, ValType.TIME, ValType.STRING
+		};
+		String[] more = { "2014-09-18", "2014-02-30", "today.bad", "12:30", "25:00", "noon.hour.x" };
+		for (ValType type : types) {
+			for (String[] set : new String[][] { values, more }) {
+				for (String s : set) {
+					ValData expect;
+					try {
+						expect = ValData.parse(type, s);
+					} catch (IllegalArgumentException ex) {
+						expect = null;
+					}
+					ValData data = ValData.tryParse(type, s);
+					assertEquals(type + " " + s, expect == null, data == null);
+					if (data != null && type.isNumeric()) {
+						assertEquals(type + " " + s, expect.getValue(), data.getValue());
+					}
+				}
+			}
+		}
+		passed = true;
+	}
+	
+	@Test
+	public void testRelativeDates () {
+		ATime noon = ATime.of(12, 0);
+		AClock.set(AClock.fixed(ADate.parse("2014-10-18"), noon));
+		try {
+			ValSchema schema = ValSchema.compile(new String[] {
+				"Values:",
+					"<recent> date = today.minus.1.week .. tomorrow;",
+					"<fixed> date = 2014-10-01 .. 2014-10-30;",
+					"<late> date = today.day.31 .. today.day.31.plus.1.day;"
+			});
+			assertNotNull(schema);
+			checkCase(schema, "<recent>", "2014-10-12", "valid");
+			checkCase(schema, "<recent>", "2014-10-25", "invalid");
+			checkCase(schema, "<fixed>", "2014-10-12", "valid");
+			checkCase(schema, "<late>", "2014-10-31", "valid");
+			AClock.set(AClock.fixed(ADate.parse("2014-11-18"), noon));
+			checkCase(schema, "<recent>", "2014-10-12", "invalid");
+			checkCase(schema, "<recent>", "2014-11-15", "valid");
+			checkCase(schema, "<fixed>", "2014-10-12", "valid");
+			checkCase(schema, "<late>", "2014-10-31", "invalid");
+			AClock.set(AClock.fixed(ADate.parse("2014-12-18"), noon));
+			checkCase(schema, "<late>", "2014-12-31", "valid");
+			checkCase(schema, "<recent>", "2014-11-15", "invalid");
+		} finally {
+			AClock.set(null);
+		}
+		passed = true;
+	}
+	
+	@Test
+	public void testRelativeDateCompile () {
+		ATime noon = ATime.of(12, 0);
+		AClock.set(AClock.fixed(ADate.parse("2014-11-18"), noon));
+		try {
+			ValSchema schema = ValSchema.compile(new String[] {
+				"Values:",
+					"<late> date = today.day.31;",
+					"<span> date = today.day.31 .. today.day.31.plus.1.day;"
+			});
+			assertNotNull(schema);
+			checkCase(schema, "<late>", "2014-11-30", "invalid");
+			checkCase(schema, "<late>", "2014-12-01", "invalid");
+			checkCase(schema, "<span>", "2014-12-01", "invalid");
+			AClock.set(AClock.fixed(ADate.parse("2014-12-18"), noon));
+			checkCase(schema, "<late>", "2014-12-31", "valid");
+			checkCase(schema, "<span>", "2015-01-01", "valid");
+			AClock.set(AClock.fixed(ADate.parse("2014-11-18"), noon));
+			assertNotNull(ValDateParser.tryCompile("today.day.31"));
+			assertNull(ValDateParser.tryCompile("today.day.32"));
+			assertNull(ValDateParser.tryCompile("2014-11-30.day.31"));
+			assertNull(ValSchema.compile("Values: <bad> date = today.month.13;"));
+			
+			// The order of a relative range does not depend on the day it is compiled.
+			String[] reversible = { "Values:", "<d> date = today.day.15 .. today;" };
+			AClock.set(AClock.fixed(ADate.parse("2026-10-10"), noon));
+			ValSchema early = ValSchema.compile(reversible);
+			assertNotNull(early);
+			checkCase(early, "<d>", "2026-10-12", "invalid");
+			AClock.set(AClock.fixed(ADate.parse("2026-10-20"), noon));
+			ValSchema late = ValSchema.compile(reversible);
+			assertNotNull(late);
+			checkCase(late, "<d>", "2026-10-17", "valid");
+			checkCase(early, "<d>", "2026-10-17", "valid");
+		} finally {
+			AClock.set(null);
+		}
+		passed = true;
+	}
+	
+	@Test
+	public void testDateTypes () {
+		ValSchema schema = ValSchema.compile(new String[] {
+			"Values:",
+				"<day> date = 2014-09-18 | 2000-01-01 .. 2000-12-31;",
+				"<stamp> datetime = 2014-09-18T08:00 .. 2014-09-18T17:30 | 2014-09-19T12:00;"
+		});
+		assertNotNull(schema);
+		checkCase(schema, "<day>", "2014-09-18", "valid");
+		checkCase(schema, "<day>", "2014-09-19", "invalid");
+		checkCase(schema, "<day>", "2000-12-31", "valid");
+		checkCase(schema, "<stamp>", "2014-09-18T08:00", "valid");
+		checkCase(schema, "<stamp>", "2014-09-18T17:30:00.000000001", "invalid");
+		checkCase(schema, "<stamp>", "2014-09-19T12:00:00", "valid");
+		checkCase(schema, "<stamp>", "2014-09-19", "invalid");
+		
+		ValData day = ValData.parse(ValType.DATE, "2014-09-18");
+		assertEquals(ADate.of(2014, 9, 18).getDays(), day.getDays());
+		assertEquals("2014-09-18", day.getValue().toString());
+		assertEquals("DATE Sep 18, 2014", day.toString());
+		ValData stamp = ValData.parse(ValType.DATETIME, "2014-09-18T10:20:30");
+		assertEquals(ATime.of(10, 20, 30).toNanoOfDay(), stamp.getNanoOfDay());
+		assertEquals("2014-09-18T10:20:30", stamp.getValue().toString());
+		assertNull(ValData.tryParse(ValType.DATETIME, "2014-09-18"));
+		assertEquals(0, day.compareTo(new ValData(ValType.DATE, ADate.of(2014, 9, 18).toCalendar())));
+		assertEquals(-1, day.compareTo(new ValData(ValType.DATE, ADate.of(2014, 9, 19))));
+		assertEquals(1, stamp.compareTo(new ValData(ValType.DATETIME, ADateTime.of(2014, 9, 18, 10, 20))));
+		
+		Object cal = ValData.toClass(day.getValue(), Calendar.class);
+		assertEquals("2014-09-18", ADate.from((Calendar) cal).toString());
+		Object date = ValData.toClass(day.getValue(), Date.class);
+		assertEquals("2014-09-18", ADate.from((Date) date).toString());
+		assertSame(day.getValue(), ValData.toClass(day.getValue(), ADate.class));
+		assertEquals("2014-09-18", ValData.toClass(stamp.getValue(), ADate.class).toString());
+		assertEquals(ValType.DATE, ValType.getType("ADate"));
+		assertEquals(ValType.DATETIME, ValType.getType("ADateTime"));
+		assertEquals(ValType.DATETIME, ValType.getType("datetime"));
+		assertEquals(ValType.TIME, ValType.getType("ATime"));
+		passed = true;
+	}
+	
+	@Test
+	public void testSlots () {
+		String[] text = new String[301];
+		text[0] = "Values:";
+		String[] names = new String[300];
+		String[] values = new String[300];
+		for (int n = 0; n < 300; n++) {
+			names[n] = "<field" + n + ">";
+			text[n + 1] = names[n] + " int = 0 .. " + (n + 1) + ";";
+			values[n] = String.valueOf((n % 3 == 0) ? n + 2 : n + 1);
+		}
+		ValSchema schema = ValSchema.compile(text);
+		assertNotNull(schema);
+		int[] slots = schema.indexOf(names);
+		for (int n = 0; n < 300; n++) {
+			assertEquals(n, slots[n]);
+			assertEquals(names[n], schema.getName(n));
+		}
+		assertEquals(-1, schema.indexOf("<field300>"));
+		values[7] = null;
+		ValResult result = schema.validate(values);
+		assertFalse(result.isValid());
+		for (int n = 0; n < 300; n++) {
+			assertEquals(names[n], n != 7, result.isPresent(n));
+			assertEquals(names[n], n % 3 != 0 && n != 7, result.isValid(n));
+			assertEquals(result.isValid(names[n]), result.isValid(n));
+			assertEquals(result.getValue(names[n]), result.getValue(n));
+		}
+		assertEquals(Integer.valueOf(300), result.getValue(299));
+		result = schema.validate(new String[] { null, "1" });
+		assertTrue(result.isValid());
+		assertFalse(result.isPresent(299));
+		
+		ValSchema parsed = ValSchema.parse("Values: <a> int = 1 .. 9; <b> = one | two; <c> String = x;");
+		ValSchema resolved = parsed.resolve(new ValType[] { ValType.STRING });
+		for (String name : new String[] { "<a>", "<b>", "<c>" }) {
+			assertEquals(parsed.indexOf(name), resolved.indexOf(name));
+		}
+		assertEquals("two", resolved.validate(new String[] { "3", "two" }).getValue(1));
+		passed = true;
+	}
+	
+	@Test
+	public void testPrimitiveValues () {
+		ValSchema schema = ValSchema.compile(
+				"Values: <i> int = 1 .. 99; <l> long = 0 .. 9,000,000,000;" +
+				" <d> double = 0.5 .. 1.5; <s> String = one | two; <x> int = 1 .. 9;");
+		assertNotNull(schema);
+		Map<String, String> values = new HashMap<String, String>();
+		values.put("<i>", "42");
+		values.put("<l>", "5000000000");
+		values.put("<d>", "1.25");
+		values.put("<s>", "two");
+		values.put("<x>", "10");
+		ValResult result = schema.validate(values);
+		assertEquals(42, result.getInt("<i>", -1));
+		assertEquals(42L, result.getLongValue("<i>", -1));
+		assertEquals(42.0, result.getDoubleValue("<i>", -1), 0.0);
+		assertEquals(-1, result.getInt("<l>", -1));
+		assertEquals(5000000000L, result.getLongValue("<l>", -1));
+		assertEquals(1, result.getInt("<d>", -1));
+		assertEquals(1.25, result.getDoubleValue("<d>", -1), 0.0);
+		assertEquals(-1, result.getInt("<s>", -1));
+		assertEquals(-1.0, result.getDoubleValue("<s>", -1), 0.0);
+		assertEquals(-1, result.getInt("<x>", -1));
+		assertEquals(-1L, result.getLongValue("<none>", -1));
+		for (String name : new String[] { "<i>", "<l>", "<d>", "<s>", "<x>" }) {
+			int slot = schema.indexOf(name);
+			assertEquals(result.getInt(name, -1), result.getInt(slot, -1));
+			assertEquals(result.getLongValue(name, -1), result.getLongValue(slot, -1));
+			assertEquals(result.getDoubleValue(name, -1), result.getDoubleValue(slot, -1), 0.0);
+		}
+		
+		// The stored values keep their types.
+		assertEquals(ValType.LONG, result.getData("<l>").getType());
+		assertEquals(ValType.DOUBLE, result.getData("<d>").getType());
+		assertEquals(Long.valueOf(5000000000L), result.getValue("<l>"));
+		passed = true;
+	}
+	
+	@Test
+	public void testBatch () {
+		ValSchema schema = ValSchema.compile(new String[] {
+			"Values:",
+				"<n> int = 1 .. 99 | 101,000 | 0xFF;",
+				"<l> long = 0 .. 9,000,000,000;",
+				"<d> double = 0.5 .. 1.5 | 3.25;",
+				"<s> String ignoreCase = one | two;",
+				"<day> Date = @MM/dd/yyyy | @yyyy-MM-dd;",
+				"<t> Time = midnight .. noon.plus.6.hours;",
+				"<stamp> DateTime = 2014-01-01T00:00 .. 2020-01-01T00:00;"
+		});
+		assertNotNull(schema);
+		String[][] choices = {
+			{ "1", "99", "100", "101,000", "0xFF", "x", null },
+			{ "0", "5000000000", "9000000001", "-1", null },
+			{ "0.5", "1.25", "3.25", "2", "nan", null },
+			{ "one", "TWO", "three", null },
+			{ "05/17/1980", "1980-05-17", "1980-02-30", "May 17", null },
+			{ "00:00", "14:15", "19:00", "noon", null },
+			{ "2016-02-29T10:20:30", "2014-01-01T00:00", "2021-01-01T00:00", "now", null }
+		};
+		Random random = new Random(25);
+		String[][] records = new String[200][];
+		List<Map<String, String>> maps = new ArrayList<Map<String, String>>();
+		for (int record = 0; record < records.length; record++) {
+			records[record] = new String[1 + random.nextInt(choices.length)];
+			Map<String, String> map = new HashMap<String, String>();
+			for (int slot = 0; slot < records[record].length; slot++) {
+				String[] values = choices[slot];
+				records[record][slot] = values[random.nextInt(values.length)];
+				map.put(schema.getName(slot), records[record][slot]);
+			}
+			maps.add(map);
+		}
+		ValBatch batch = schema.validateBatch(records);
+		ValBatch mapped = schema.validateBatch(maps);
+		assertEquals(records.length, batch.size());
+		assertEquals(records.length, mapped.size());
+		assertFalse(batch.isValid());
+		for (int record = 0; record < records.length; record++) {
+			ValResult result = schema.validate(records[record]);
+			for (ValBatch each : new ValBatch[] { batch, mapped }) {
+				assertEquals(result.isValid(), each.isValid(record));
+				assertEquals(! result.isValid(), each.getInvalidRecords().get(record));
+				for (int slot = 0; slot < choices.length; slot++) {
+					assertEquals(result.isPresent(slot), each.isPresent(record, slot));
+					assertEquals(result.isValid(slot), each.isValid(record, slot));
+					assertEquals(result.isValid(slot), each.getValid(slot).get(record));
+					assertEquals(result.getInt(slot, -1), each.getInt(record, slot, -1));
+					assertEquals(result.getLongValue(slot, -1), each.getLongValue(record, slot, -1));
+					assertEquals(result.getDoubleValue(slot, -1), each.getDoubleValue(record, slot, -1), 0.0);
+				}
+				if (result.isValid(4)) {
+					assertEquals(result.getData(4).getDays(), each.getLongColumn(4)[record]);
+				}
+				if (result.isValid(5)) {
+					assertTrue(((ATime) result.getValue(5)).equals((ATime) each.getValueColumn(5)[record]));
+				}
+				if (result.isValid(6)) {
+					assertEquals(result.getData(6).getDays(), each.getLongColumn(6)[record]);
+					assertEquals(result.getData(6).getNanoOfDay(), each.getNanoColumn(6)[record]);
+				}
+			}
+		}
+		assertNull(batch.getDoubleColumn(0));
+		assertNotNull(batch.getDoubleColumn(2));
+		assertNull(batch.getNanoColumn(4));
+		
+		// Columns of a header mapped to slots, with one that is not a definition.
+		String[] header = { "<s>", "<extra>", "<n>" };
+		ValBatch columns = schema.validateBatch(new String[][] {
+			{ "one", "ignored", "42" },
+			{ "six", "ignored" }
+		}, schema.indexOf(header));
+		assertEquals(2, columns.size());
+		assertTrue(columns.isValid(0));
+		assertEquals(42, columns.getLongColumn(0)[0]);
+		assertEquals("one", columns.getValueColumn(3)[0]);
+		assertFalse(columns.isValid(1));
+		assertFalse(columns.isPresent(1, 0));
+		assertTrue(columns.isPresent(1, 3));
+		
+		// A mapping is checked before any record, naming the bad column.
+		int[][] badColumns = {
+			{ 0, -1, schema.size() },
+			{ -2 },
+			{ 0, 1, 0 }
+		};
+		for (int[] bad : badColumns) {
+			try {
+				schema.validateBatch(records, bad);
+				fail("Invalid mapping: " + Arrays.toString(bad));
+			} catch (IllegalArgumentException ex) {
+				assertTrue(ex.getMessage(), ex.getMessage().contains("column " + (bad.length - 1)));
+			}
+		}
+		
+		try {
+			ValSchema.parse("Values: <b> = one | two;").validateBatch(records);
+			fail("Unresolved schema");
+		} catch (IllegalStateException ex) {
+		}
+		passed = true;
+	}
+	
+	private static void checkCase (ValSchema schema, String name, String val, String valid) {
+		checkCase(schema, name, val, valid.equals("valid"));
+	}
+	
+	private static void checkCase (ValSchema schema, String name, String val, boolean valid) {
+		Map<String, String> values = new HashMap<String, String>();
+		values.put(name, val);
+		ValResult result = schema.validate(values);
+		assertEquals(name + " " + val, valid, result.isValid());
+		assertEquals(name + " " + val, valid, result.isValid(name));
+	}
+	
+}
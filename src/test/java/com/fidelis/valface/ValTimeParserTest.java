@@ -8,6 +8,9 @@ package com.fidelis.valface;
 
 import static org.junit.Assert.*;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Rule;
@@ -96,6 +99,71 @@ public class ValTimeParserTest {
 		passed = testExceptions(basicExceptions);
 		assertTrue(passed);
 	}
+	
+	@Test
+	public void testReentrantParse () {
+		AClock.set(AClock.fixed(ADate.now(), ATime.parse("15:30")));
+		try {
+			List<String> specs = new ArrayList<String>();
+			for (int n = 0; n < basicTimes.length; n += 2) {
+				specs.add(basicTimes[n]);
+			}
+			for (String spec : basicExceptions) {
+				specs.add(spec);
+			}
+			specs.add("now");
+			specs.add("noon");
+			List<String> expect = new ArrayList<String>();
+			for (String spec : specs) {
+				expect.add(parseResult(spec));
+			}
+			
+			// Parsed again in reverse order, no spec sees the state of another.
+			for (int n = specs.size() - 1; n >= 0; n--) {
+				assertEquals(specs.get(n), expect.get(n), parseResult(specs.get(n)));
+			}
+		} finally {
+			AClock.set(null);
+		}
+		passed = true;
+	}
+	
+	@Test
+	public void testTryParse () {
+		AClock.set(AClock.fixed(ADate.now(), ATime.parse("15:30")));
+		try {
+			List<String> specs = new ArrayList<String>();
+			for (int n = 0; n < basicTimes.length; n += 2) {
+				specs.add(basicTimes[n]);
+			}
+			for (String spec : basicExceptions) {
+				specs.add(spec);
+			}
+			specs.add("now.plus.9223372036854775807.nanos");
+			specs.add("now.plus.9223372036854775808.nanos");
+			specs.add("noon.hour.24");
+			for (String spec : specs) {
+				String expect = parseResult(spec);
+				ATime result = ValTimeParser.tryParse(spec);
+				if (expect.startsWith("error: ")) {
+					assertNull(spec, result);
+				} else {
+					assertEquals(spec, expect, result.toString());
+				}
+			}
+		} finally {
+			AClock.set(null);
+		}
+		passed = true;
+	}
+	
+	private static String parseResult (String spec) {
+		try {
+			return ValTimeParser.parse(spec).toString();
+		} catch (IllegalArgumentException ex) {
+			return "error: " + ex.getMessage();
+		}
+	}
 
 	private boolean testTimeSet (String[] timeSet) {
 		
@@ -194,11 +262,11 @@ public class ValTimeParserTest {
 		else {
 			setNowFlag = false;
 			if (text.equals("now")) {
-				ADate.nowTestClear();
+				AClock.set(null);
 				return true;
 			}
 			ATime newNow = ATime.parse(text);
-			ATime.nowTestSet(newNow);
+			AClock.set(AClock.fixed(ADate.now(), newNow));
 			info("Now set to ----", ATime.now());
 			return true;
 		}